@@ -0,0 +1,52 @@
+package com.example.userservice.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📏 JwtVerifyBenchmark
+ *
+ * - JwtAuthenticationFilter가 요청마다 토큰을 확인하는 비용 측정
+ *   threeParses: 이전 방식 (isValidToken + getEmailFromToken + getUserIdFromToken, 호출마다 파서 생성 + 서명 검증)
+ *   singleParse: 재사용 파서로 한 번만 검증 (캐시 미스)
+ *   cachedVerify: 최근 검증한 토큰 (JwtUtil.verify 캐시 적중)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtVerifyBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Key key;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        key = jwtUtil.key();
+        token = jwtUtil.createToken(42L, "bench-user@example.com");
+        jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole blackhole) {
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token));
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject());
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().get("userId", Long.class));
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtUtil.parse(token);
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken cachedVerify() {
+        return jwtUtil.verify(token);
+    }
+}
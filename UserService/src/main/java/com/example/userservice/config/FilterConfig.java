@@ -32,7 +32,8 @@ public class FilterConfig {
         // 🎯 인증이 필요한 URL 패턴만 지정 (필요에 따라 추가 가능)
         registrationBean.addUrlPatterns(
                 "/api/users/info",   // 사용자 정보 조회
-                "/api/users/me"      // 세션 기반 사용자 정보 조회 (사용 중이면 유지)
+                "/api/users/me",     // 세션 기반 사용자 정보 조회 (사용 중이면 유지)
+                "/api/users/me/*"    // 로그인된 사용자의 정보 변경 (닉네임 등)
         );
 
         return registrationBean;
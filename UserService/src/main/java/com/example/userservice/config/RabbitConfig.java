@@ -0,0 +1,39 @@
+package com.example.userservice.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 🐰 RabbitConfig
+ * - 사용자 이벤트를 발행할 Exchange와 JSON RabbitTemplate 설정
+ * - 큐는 구독하는 서비스가 각자 만들어 바인딩합니다. (예: 채팅 노드마다 전용 큐)
+ */
+@Configuration
+public class RabbitConfig {
+
+    // 📍 사용자 이벤트 Exchange와 프로필 변경 라우팅 키
+    public static final String USER_EVENTS_EXCHANGE = "user.events";
+    public static final String PROFILE_CHANGED_ROUTING_KEY = "user.profile.changed";
+
+    /**
+     * ✅ 사용자 이벤트용 TopicExchange (구독자가 "user.#" 처럼 골라 받을 수 있도록)
+     */
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE);
+    }
+
+    /**
+     * ✅ 이벤트를 JSON으로 보내는 RabbitTemplate
+     */
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(new Jackson2JsonMessageConverter());
+        return template;
+    }
+}
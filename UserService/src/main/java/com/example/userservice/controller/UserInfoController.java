@@ -1,11 +1,16 @@
 package com.example.userservice.controller;
 
+import com.example.userservice.dto.NicknameBatchRequestDTO;
+import com.example.userservice.dto.NicknameChangeRequestDTO;
+import com.example.userservice.exception.UserNotFoundException;
 import com.example.userservice.service.UserInfoService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -13,8 +18,10 @@ import java.util.Map;
  *
  * ✅ 역할:
  * - 로그인된 사용자의 정보를 JWT 기반으로 조회합니다.
- * - 이메일 기반 닉네임 조회 API를 제공합니다 (외부 마이크로서비스 연동용).
+ * - 이메일 기반 닉네임 조회 API를 제공합니다 (외부 마이크로서비스 연동용, 단건 / 일괄).
+ * - 로그인된 사용자의 닉네임 변경 API를 제공합니다.
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -37,7 +44,7 @@ public class UserInfoController {
         try {
             Map<String, String> userInfo = userInfoService.getUserInfoFromJwt(request);
             return ResponseEntity.ok(userInfo); // 성공 시 사용자 정보 반환
-        } catch (RuntimeException e) {
+        } catch (UserNotFoundException e) {
             return ResponseEntity.status(401).body(Map.of("error", e.getMessage())); // 인증 실패 시 401
         }
     }
@@ -48,13 +55,69 @@ public class UserInfoController {
      * GET /api/users/nickname?email={email}
      * - 주어진 이메일에 해당하는 사용자의 nickname을 반환합니다.
      * - 닉네임은 DB에서 직접 조회합니다.
+     * - 존재하지 않는 이메일이면 404를 반환합니다 (호출 측 네거티브 캐시용).
+     * - DB 오류 등 다른 실패는 5xx로 응답해, 호출 측이 "없는 사용자"로 캐시하지 않도록 합니다.
      *
      * @param email 사용자 이메일
-     * @return nickname
+     * @return nickname 또는 404 Not Found
      */
     @GetMapping("/nickname")
     public ResponseEntity<String> getNicknameByEmail(@RequestParam String email) {
-        System.out.println("📩 닉네임 요청 들어옴: " + email); // ✅ 디버깅용 콘솔 로그
-        return ResponseEntity.ok(userInfoService.getNicknameByEmail(email));
+        log.debug("📩 닉네임 요청 들어옴: {}", email);
+        try {
+            return ResponseEntity.ok(userInfoService.getNicknameByEmail(email));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.notFound().build(); // 유저가 없으면 404
+        }
+    }
+
+    /**
+     * ✅ 여러 이메일의 닉네임 일괄 조회 (외부 시스템 연동용)
+     *
+     * POST /api/users/nicknames  {"emails": ["a@x.com", "b@x.com"]}
+     * - 이메일 → 닉네임 맵을 반환합니다. (DB IN 쿼리 한 번)
+     * - 응답의 키는 요청에 담긴 이메일 문자열 그대로입니다. (공백/대소문자가 달라도 같은 사용자로 찾음)
+     * - 존재하지 않는 이메일은 응답에서 빠집니다.
+     * - 이메일이 UserInfoService.MAX_NICKNAME_BATCH 개를 넘으면 400을 반환합니다.
+     *
+     * @param request 조회할 이메일 목록
+     * @return 이메일 → 닉네임 또는 400 Bad Request
+     */
+    @PostMapping("/nicknames")
+    public ResponseEntity<?> getNicknamesByEmails(@RequestBody NicknameBatchRequestDTO request) {
+        List<String> emails = request.getEmails() == null ? List.of() : request.getEmails();
+        try {
+            return ResponseEntity.ok(userInfoService.getNicknamesByEmails(emails));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * ✅ 로그인된 사용자의 닉네임 변경
+     *
+     * PATCH /api/users/me/nickname  {"nickname": "새닉네임"}
+     * - JwtAuthenticationFilter에서 인증된 사용자의 닉네임을 바꿉니다.
+     * - 변경이 커밋되면 user.profile.changed 이벤트가 발행되어 채팅 서비스 캐시가 바로 갱신됩니다.
+     * - 닉네임이 비어 있으면 400, 인증 정보가 없으면 401을 반환합니다.
+     *
+     * @param request JWT 인증 필터를 거친 요청 객체
+     * @param body 새 닉네임
+     * @return 사용자 email, 변경된 nickname
+     */
+    @PatchMapping("/me/nickname")
+    public ResponseEntity<?> changeNickname(HttpServletRequest request, @RequestBody NicknameChangeRequestDTO body) {
+        String email = (String) request.getAttribute("userEmail"); // 🔐 JwtAuthenticationFilter에서 저장한 email
+        if (email == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "JWT에 사용자 정보가 없습니다."));
+        }
+        try {
+            String nickname = userInfoService.changeNickname(email, body.getNickname());
+            return ResponseEntity.ok(Map.of("email", email, "nickname", nickname));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (UserNotFoundException e) {
+            return ResponseEntity.status(401).body(Map.of("error", e.getMessage())); // 인증된 사용자가 더 이상 없음
+        }
     }
 }
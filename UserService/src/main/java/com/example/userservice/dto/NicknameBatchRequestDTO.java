@@ -0,0 +1,19 @@
+package com.example.userservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 📋 NicknameBatchRequestDTO
+ * - 여러 사용자의 닉네임을 한 번에 조회할 때 사용하는 DTO입니다. (외부 마이크로서비스 연동용)
+ * - 응답은 이메일 → 닉네임 맵이며, 존재하지 않는 이메일은 응답에서 빠집니다.
+ */
+@Getter
+@Setter
+public class NicknameBatchRequestDTO {
+
+    /** 조회할 사용자 이메일 목록 (최대 UserInfoService.MAX_NICKNAME_BATCH 개) */
+    private List<String> emails;
+}
@@ -0,0 +1,17 @@
+package com.example.userservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ✏️ NicknameChangeRequestDTO
+ * - 로그인된 사용자가 닉네임을 바꿀 때 사용하는 DTO입니다.
+ * - 변경이 반영되면 user.profile.changed 이벤트가 발행되어 채팅 서비스의 닉네임 캐시가 바로 갱신됩니다.
+ */
+@Getter
+@Setter
+public class NicknameChangeRequestDTO {
+
+    /** 새 닉네임 (앞뒤 공백 제거, 비어 있으면 400) */
+    private String nickname;
+}
@@ -0,0 +1,26 @@
+package com.example.userservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📣 UserProfileChangedEvent
+ * - 사용자 프로필(닉네임)이 바뀌었음을 알리는 이벤트입니다.
+ * - 트랜잭션 커밋 후 RabbitMQ "user.events" Exchange에 "user.profile.changed" 라우팅 키로 JSON 발행됩니다.
+ *   (UserProfileEventPublisher, 채팅 서비스 등 닉네임을 캐시하는 쪽이 구독)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+
+    /** 사용자 ID */
+    private Long userId;
+
+    /** 사용자 이메일 (닉네임 캐시의 키) */
+    private String email;
+
+    /** 변경된 닉네임 */
+    private String nickname;
+}
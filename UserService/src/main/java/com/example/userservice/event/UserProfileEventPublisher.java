@@ -0,0 +1,32 @@
+package com.example.userservice.event;
+
+import com.example.userservice.config.RabbitConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 📤 UserProfileEventPublisher
+ * - 프로필 변경 트랜잭션이 커밋된 뒤에만 이벤트를 RabbitMQ로 발행합니다. (롤백된 변경은 알리지 않음)
+ * - 발행 실패는 변경을 되돌리지 않고 로그만 남깁니다. (구독 측 캐시는 TTL이 지나면 다시 조회)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(UserProfileChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.USER_EVENTS_EXCHANGE, RabbitConfig.PROFILE_CHANGED_ROUTING_KEY, event);
+        } catch (AmqpException e) {
+            log.warn("📤 프로필 변경 이벤트 발행 실패: userId={}", event.getUserId(), e);
+        }
+    }
+}
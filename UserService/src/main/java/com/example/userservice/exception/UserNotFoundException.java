@@ -0,0 +1,14 @@
+package com.example.userservice.exception;
+
+/**
+ * 🔍 UserNotFoundException
+ *
+ * - 이메일에 해당하는 사용자가 없을 때 발생 (DB 오류 등 다른 실패와 구분하기 위한 전용 예외)
+ * - UserInfoController에서 404(닉네임 조회) 또는 401(로그인 사용자 조회/변경)로 변환됨
+ */
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.userservice.filter;
 
 import com.example.userservice.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +17,7 @@ import java.io.IOException;
  *
  * - 매 요청마다 실행되며, Authorization 헤더에 포함된 JWT 토큰을 검증합니다.
  * - 유효한 토큰이면 사용자 정보를 request 속성에 추가합니다.
+ * - 검증과 사용자 정보 추출은 JwtUtil.verify() 한 번으로 처리합니다. (최근 검증한 토큰은 다시 파싱하지 않음)
  * - 이후 컨트롤러에서 이 정보를 활용해 인증된 사용자만 접근 가능하도록 처리할 수 있습니다.
  */
 @Component
@@ -36,16 +38,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // ✅ 2. 토큰 추출
             String token = authHeader.substring(7);
 
-            // ✅ 3. 토큰 검증
-            if (jwtUtil.isValidToken(token)) {
-                // ✅ 4. 사용자 정보 추출 및 request 속성에 저장
-                String email = jwtUtil.getEmailFromToken(token);
-                Long userId = jwtUtil.getUserIdFromToken(token);
+            try {
+                // ✅ 3. 토큰 검증 (서명 + 만료, 한 번만 파싱)
+                JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
 
-                request.setAttribute("userEmail", email);
-                request.setAttribute("userId", userId);
+                // ✅ 4. 사용자 정보 추출 및 request 속성에 저장
+                request.setAttribute("userEmail", verified.email());
+                request.setAttribute("userId", verified.userId());
+            } catch (JwtException e) {
+                // ❌ 유효하지 않은 토큰은 무시하고 다음 필터로 넘김
             }
-            // ❌ 유효하지 않은 토큰은 무시하고 다음 필터로 넘김
         }
 
         // ✅ 필터 체인 계속 진행
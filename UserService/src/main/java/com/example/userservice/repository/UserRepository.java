@@ -3,6 +3,8 @@ package com.example.userservice.repository;
 import com.example.userservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,4 +25,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional<User> 객체로 반환 (존재하지 않을 수 있으므로)
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * ✅ 여러 이메일의 사용자를 한 번에 조회 (WHERE email IN (...) 쿼리 한 번)
+     *
+     * - 닉네임 일괄 조회에 사용됩니다.
+     *
+     * @param emails 사용자 이메일 목록
+     * @return 존재하는 사용자만 담긴 목록 (순서 보장 없음)
+     */
+    List<User> findByEmailIn(Collection<String> emails);
 }
@@ -1,13 +1,21 @@
 package com.example.userservice.service;
 
 import com.example.userservice.entity.User;
+import com.example.userservice.event.UserProfileChangedEvent;
+import com.example.userservice.exception.UserNotFoundException;
 import com.example.userservice.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 👤 UserInfoService
@@ -15,12 +23,17 @@ import java.util.Map;
  * ✅ 역할:
  * - 로그인된 사용자의 정보를 JWT 기반으로 추출하고, 닉네임을 DB에서 조회합니다.
  * - 외부 서비스에서 이메일 기반 닉네임 조회가 필요할 때도 사용됩니다.
+ * - 닉네임이 바뀌면 커밋 후 user.profile.changed 이벤트를 발행합니다. (UserProfileEventPublisher)
  */
 @Service
 @RequiredArgsConstructor
 public class UserInfoService {
 
+    // ✅ 닉네임 일괄 조회 한 번에 받을 수 있는 최대 이메일 수
+    public static final int MAX_NICKNAME_BATCH = 500;
+
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * ✅ JWT 기반 사용자 정보(email, nickname) 조회
@@ -30,15 +43,14 @@ public class UserInfoService {
      *
      * @param request JWT 필터를 거친 HttpServletRequest
      * @return email, nickname을 담은 Map<String, String>
-     * @throws RuntimeException 인증 정보가 없거나 nickname 조회 실패 시 예외 발생
+     * @throws UserNotFoundException 인증 정보가 없거나 해당 사용자가 없는 경우
      */
     public Map<String, String> getUserInfoFromJwt(HttpServletRequest request) {
         String email = (String) request.getAttribute("userEmail"); // 🔐 JwtAuthenticationFilter에서 저장한 email
-        String nickname = getNicknameByEmail(email);               // 🗂️ DB에서 nickname 조회
-
-        if (email == null || nickname == null) {
-            throw new RuntimeException("JWT에 사용자 정보가 없습니다.");
+        if (email == null) {
+            throw new UserNotFoundException("JWT에 사용자 정보가 없습니다.");
         }
+        String nickname = getNicknameByEmail(email);               // 🗂️ DB에서 nickname 조회
 
         Map<String, String> result = new HashMap<>();
         result.put("email", email);
@@ -49,16 +61,84 @@ public class UserInfoService {
     /**
      * ✅ 이메일 기반 닉네임 조회
      *
-     * - 유저가 존재하지 않을 경우 예외를 던집니다.
+     * - 유저가 존재하지 않을 경우 UserNotFoundException을 던집니다. (DB 오류 등은 그대로 전파)
      * - 외부 시스템에서도 호출 가능하도록 별도 메서드로 분리되어 있습니다.
      *
      * @param email 사용자 이메일
      * @return nickname 해당 이메일을 가진 사용자의 닉네임
-     * @throws RuntimeException 존재하지 않는 이메일일 경우
+     * @throws UserNotFoundException 존재하지 않는 이메일일 경우
      */
     public String getNicknameByEmail(String email) {
         return userRepository.findByEmail(email.trim()) // 공백 제거는 안전성 위해 추가
                 .map(User::getNickname)
-                .orElseThrow(() -> new RuntimeException("해당 이메일의 유저를 찾을 수 없습니다."));
+                .orElseThrow(() -> new UserNotFoundException("해당 이메일의 유저를 찾을 수 없습니다."));
+    }
+
+    /**
+     * ✅ 여러 이메일의 닉네임 일괄 조회
+     *
+     * - 이메일마다 조회하지 않고 IN 쿼리 한 번으로 가져옵니다.
+     * - 존재하지 않는 이메일은 결과에서 빠집니다. (호출 측 네거티브 캐시용)
+     *
+     * @param emails 사용자 이메일 목록 (조회는 앞뒤 공백 제거 후, 중복 제거해 최대 MAX_NICKNAME_BATCH 개)
+     * @return 이메일 → 닉네임 (키는 요청에 담긴 문자열 그대로 → 호출 측이 보낸 값으로 바로 찾을 수 있음)
+     * @throws IllegalArgumentException 이메일 수가 상한을 넘은 경우
+     */
+    public Map<String, String> getNicknamesByEmails(List<String> emails) {
+        Set<String> requested = new LinkedHashSet<>();
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String email : emails) {
+            if (email != null && !email.isBlank()) {
+                requested.add(email);
+                distinct.add(email.trim());
+            }
+        }
+        if (distinct.size() > MAX_NICKNAME_BATCH) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 이메일은 최대 " + MAX_NICKNAME_BATCH + "개입니다.");
+        }
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+
+        // DB 비교 규칙(대소문자 무시 collation)으로 찾은 사용자를 요청한 문자열 그대로의 키로 돌려줌
+        Map<String, String> nicknames = new HashMap<>();
+        for (User user : userRepository.findByEmailIn(distinct)) {
+            nicknames.put(user.getEmail().toLowerCase(Locale.ROOT), user.getNickname());
+        }
+        Map<String, String> result = new HashMap<>();
+        for (String email : requested) {
+            String nickname = nicknames.get(email.trim().toLowerCase(Locale.ROOT));
+            if (nickname != null) {
+                result.put(email, nickname);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ✅ 닉네임 변경
+     *
+     * - 값이 실제로 바뀐 경우에만 저장하고 UserProfileChangedEvent를 발행합니다.
+     * - 이벤트는 트랜잭션 커밋 후 RabbitMQ로 나가므로, 구독 측은 DB에 반영된 값만 받습니다.
+     *
+     * @param email JWT 필터가 확인한 사용자 이메일
+     * @param nickname 새 닉네임 (앞뒤 공백 제거)
+     * @return 저장된 닉네임
+     * @throws IllegalArgumentException 닉네임이 비어 있는 경우
+     * @throws UserNotFoundException 존재하지 않는 이메일일 경우
+     */
+    @Transactional
+    public String changeNickname(String email, String nickname) {
+        if (nickname == null || nickname.isBlank()) {
+            throw new IllegalArgumentException("닉네임을 입력해 주세요.");
+        }
+        String trimmed = nickname.trim();
+        User user = userRepository.findByEmail(email.trim())
+                .orElseThrow(() -> new UserNotFoundException("해당 이메일의 유저를 찾을 수 없습니다."));
+        if (!trimmed.equals(user.getNickname())) {
+            user.setNickname(trimmed); // 🗂️ 변경 감지로 커밋 시 UPDATE
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getEmail(), trimmed));
+        }
+        return trimmed;
     }
 }
@@ -1,11 +1,20 @@
 package com.example.userservice.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 🔐 JwtUtil
@@ -13,6 +22,9 @@ import java.util.Date;
  * - JWT(Json Web Token)를 생성하고 검증하는 유틸리티 클래스입니다.
  * - 로그인 성공 시 사용자 정보를 기반으로 토큰을 발급하며,
  *   이후 요청에서 해당 토큰의 유효성 및 사용자 정보를 추출합니다.
+ * - 검증은 verify() 한 번으로 서명/만료 확인과 claim 추출을 함께 합니다. (파서는 한 번만 만들어 재사용)
+ * - 검증된 토큰은 토큰 해시(SHA-256)를 키로 만료 시각까지 캐시해, 같은 토큰의 다음 요청은 다시 파싱하지 않습니다.
+ *   캐시에는 불변 값(VerifiedToken)만 담아, 호출 측이 공유 객체를 고쳐 다른 요청에 영향을 주지 않도록 합니다.
  */
 @Component
 public class JwtUtil {
@@ -23,9 +35,23 @@ public class JwtUtil {
     // ✅ 토큰 유효 시간: 1시간 (1000ms * 60초 * 60분)
     private static final long EXPIRATION_TIME = 1000 * 60 * 60;
 
+    // ✅ 검증된 토큰 캐시 최대 항목 수 (동시에 활동하는 토큰 수 기준)
+    private static final long VERIFIED_CACHE_MAX_SIZE = 10_000;
+
     // ✅ HMAC SHA 키 객체 생성
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // ✅ 서명 검증용 파서 (생성 후 불변, 스레드 안전)
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // 🗃️ 토큰 해시 → 검증된 토큰 정보 (토큰 만료 시각에 함께 만료, 유효하지 않은 토큰은 캐시하지 않음)
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_MAX_SIZE)
+            .expireAfter(new TokenExpiry())
+            .build();
+
     /**
      * ✅ 토큰 생성
      * - subject(email)와 사용자 ID를 Claim에 담아 JWT를 생성합니다.
@@ -45,6 +71,29 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * ✅ 토큰 검증 + claim 추출 (한 번만 파싱)
+     * - 서명이 유효하고 만료되지 않았으면 이메일 / 사용자 ID / 만료 시각을 반환합니다.
+     * - 최근 검증한 토큰이면 캐시된 값을 반환합니다. (만료 시각이 지나면 캐시에서도 빠짐)
+     *
+     * @param token JWT 문자열
+     * @return 검증된 토큰 정보 (불변)
+     * @throws JwtException 서명 오류, 만료, 형식 오류 등
+     */
+    public VerifiedToken verify(String token) {
+        String tokenHash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            if (cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(tokenHash); // 캐시 만료 직전의 경계 구간 → 다시 파싱해 만료 예외로
+        }
+        VerifiedToken verified = VerifiedToken.from(parse(token));
+        verifiedTokens.put(tokenHash, verified);
+        return verified;
+    }
+
     /**
      * ✅ 토큰에서 이메일(subject) 추출
      *
@@ -52,12 +101,7 @@ public class JwtUtil {
      * @return 토큰에 포함된 이메일
      */
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key) // 서명 검증용 키 설정
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject(); // subject 필드에서 이메일 반환
+        return verify(token).email(); // subject 필드의 이메일 반환
     }
 
     /**
@@ -69,10 +113,7 @@ public class JwtUtil {
      */
     public boolean isValidToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token); // 예외 없이 파싱되면 유효
+            verify(token); // 예외 없이 파싱되면 유효
             return true;
         } catch (JwtException e) {
             return false; // 서명 오류, 만료 등 모든 예외 포함
@@ -81,17 +122,77 @@ public class JwtUtil {
 
     /**
      * ✅ 토큰에서 사용자 ID 추출
-     * - Claims에서 "userId" 필드를 꺼냅니다.
+     * - claim의 "userId" 필드 값입니다.
      *
      * @param token JWT 문자열
      * @return 사용자 ID (Long 타입)
      */
     public Long getUserIdFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("userId", Long.class); // 사용자 ID 추출
+        return verify(token).userId(); // 사용자 ID 추출
+    }
+
+    /**
+     * 🔍 캐시 없이 서명/만료 검증 (벤치마크에서 직접 호출하므로 package-private)
+     */
+    Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * 🔑 서명 키 (벤치마크가 이전 방식의 파서를 만들 때 사용하므로 package-private)
+     */
+    Key key() {
+        return key;
+    }
+
+    /**
+     * #️⃣ 캐시 키: 토큰 원문 대신 SHA-256 해시 (메모리에 토큰 원문을 남기지 않음)
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 🎫 검증된 토큰 정보 (불변 값이라 캐시에서 꺼내 여러 요청이 함께 써도 안전)
+     *
+     * @param email 토큰의 subject
+     * @param userId "userId" claim
+     * @param expiresAt 만료 시각 (exp가 없으면 null)
+     */
+    public record VerifiedToken(String email, Long userId, Instant expiresAt) {
+
+        static VerifiedToken from(Claims claims) {
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(claims.getSubject(), claims.get("userId", Long.class),
+                    expiration == null ? null : expiration.toInstant());
+        }
+    }
+
+    /**
+     * ⏱️ 캐시 항목 만료 정책: 토큰의 만료 시각(exp)까지만 유지 (exp가 없으면 토큰 유효 시간만큼)
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, VerifiedToken token, long currentTime) {
+            Instant expiresAt = token.expiresAt();
+            long millis = expiresAt == null ? EXPIRATION_TIME : expiresAt.toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenHash, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -12,7 +12,8 @@ const api = axios.create({
 
 export default api;
 
-// 📦 채팅방 목록 불러오기 API (GET /api/chat/room)
-export const fetchChatRooms = async () => {
-    return api.get('/api/chat/room');
+// 📦 채팅방 목록 불러오기 API (GET /api/chat/room, 최근 활동순 페이지)
+// - before: 이전 응답의 nextCursor (다음 페이지), 응답: { rooms, nextCursor, hasMore }
+export const fetchChatRooms = async (before) => {
+    return api.get('/api/chat/room', { params: { sort: 'recent', before, limit: 20 } });
 };
@@ -3,6 +3,10 @@ import SockJS from 'sockjs-client';
 import { Client } from '@stomp/stompjs';
 import api, { WS_URL } from "../../api/ChatApi.jsx";
 
+// 입력 중 신호 재전송 간격 / 받은 신호의 유효 시간 (ms)
+const TYPING_REFRESH = 2000;
+const TYPING_TTL = 5000;
+
 const ChatRoom = ({ roomId, userEmail, userName }) => {
     // 채팅 메시지 리스트 상태
     const [messages, setMessages] = useState([]);
@@ -20,6 +24,16 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
     // 최신 userEmail/userName 값을 유지하기 위한 Ref
     const userEmailRef = useRef(userEmail);
     const userNameRef = useRef(userName);
+    // 마지막으로 받은 메시지 순번 (재연결 시 이 이후 메시지만 받아옴)
+    const lastSeqRef = useRef(0);
+    // 첫 연결 이후의 연결인지 여부 (재연결 판별)
+    const connectedOnceRef = useRef(false);
+    // 접속 중인 사용자 수 / 목록 (email → 닉네임)
+    const [online, setOnline] = useState(0);
+    const [members, setMembers] = useState({});
+    // 입력 중인 사용자 (email → { name, until }) / 마지막으로 입력 중 신호를 보낸 시각
+    const [typers, setTypers] = useState({});
+    const typingSentAtRef = useRef(0);
 
     // props가 변경되었을 때 Ref에 최신값 업데이트
     useEffect(() => {
@@ -42,14 +56,102 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
         return el ? el.scrollHeight - el.scrollTop - el.clientHeight < 50 : false;
     };
 
+    // 순번 기준으로 새 메시지만 추가 (이미 받은 순번은 무시, 순번 없는 이전 메시지는 그대로 추가)
+    const appendMessages = (incoming) => {
+        const fresh = incoming.filter((m) => m.seq == null || m.seq > lastSeqRef.current);
+        fresh.forEach((m) => {
+            if (m.seq != null) lastSeqRef.current = m.seq;
+        });
+        if (fresh.length > 0) setMessages((prev) => [...prev, ...fresh]);
+        return fresh.length > 0;
+    };
+
+    // 마지막으로 받은 순번 이후 놓친 메시지만 받아오기 (hasMore면 이어서 요청)
+    const syncSince = async () => {
+        let hasMore = true;
+        while (hasMore) {
+            const res = await api.get(`/api/chat/room/${roomId}/messages/since`, {
+                params: { seq: lastSeqRef.current, limit: 200 },
+            });
+            appendMessages(res.data.messages);
+            hasMore = res.data.hasMore;
+        }
+    };
+
+    // 접속 현황 스냅샷 불러오기 (이후 변경분은 presence 구독으로 반영)
+    const loadPresence = async () => {
+        const res = await api.get(`/api/chat/room/${roomId}/presence`);
+        setOnline(res.data.online);
+        setMembers(Object.fromEntries(res.data.members.map((m) => [m.userEmail, m.userName])));
+    };
+
+    // 접속 현황 변경분 적용 (목록이 잘린 변경분이면 스냅샷을 다시 받음)
+    const applyPresence = (delta) => {
+        setOnline(delta.online);
+        if (delta.truncated) {
+            loadPresence();
+            return;
+        }
+        setMembers((prev) => {
+            const next = { ...prev };
+            delta.joined.forEach((m) => { next[m.userEmail] = m.userName; });
+            delta.left.forEach((m) => { delete next[m.userEmail]; });
+            return next;
+        });
+    };
+
+    // 입력 중 신호 적용 (active 신호는 TYPING_TTL 동안만 유효, 꺼짐 신호나 시간 초과로 사라짐)
+    const applySignal = (signal) => {
+        if (signal.type !== 'typing' || signal.userEmail === userEmailRef.current) return;
+        setTypers((prev) => {
+            const next = { ...prev };
+            if (signal.active) next[signal.userEmail] = { name: signal.userName, until: Date.now() + TYPING_TTL };
+            else delete next[signal.userEmail];
+            return next;
+        });
+    };
+
+    // 입력 중 신호 전송 (켜짐은 TYPING_REFRESH마다 최대 한 번, 꺼짐은 바로)
+    const publishTyping = (active) => {
+        if (!stompRef.current?.connected) return;
+        const now = Date.now();
+        if (active && now - typingSentAtRef.current < TYPING_REFRESH) return;
+        if (!active && typingSentAtRef.current === 0) return;
+        typingSentAtRef.current = active ? now : 0;
+        stompRef.current.publish({
+            destination: `/app/chat/room/${roomId}/signal`,
+            body: JSON.stringify({ userEmail: userEmailRef.current, userName: userNameRef.current, type: 'typing', active }),
+        });
+    };
+
+    // 시간이 지난 입력 중 표시 정리
+    useEffect(() => {
+        const timer = setInterval(() => {
+            setTypers((prev) => {
+                const now = Date.now();
+                const alive = Object.entries(prev).filter(([, t]) => t.until > now);
+                return alive.length === Object.keys(prev).length ? prev : Object.fromEntries(alive);
+            });
+        }, 1000);
+        return () => clearInterval(timer);
+    }, []);
+
     // 컴포넌트 마운트 시 메시지 로딩 + WebSocket 연결
     useEffect(() => {
         if (!roomId) return;
+        lastSeqRef.current = 0;
+        setOnline(0);
+        setMembers({});
+        setTypers({});
+        typingSentAtRef.current = 0;
+        connectedOnceRef.current = false;
 
-        // 기존 메시지 불러오기
-        api.get(`/api/chat/room/${roomId}/messages`)
+        // 최근 메시지 한 페이지 불러오기 (응답은 최신순이므로 화면 표시용으로 뒤집음)
+        api.get(`/api/chat/room/${roomId}/messages/page`, { params: { limit: 50 } })
             .then((res) => {
-                setMessages(res.data);
+                const loaded = [...res.data.messages].reverse();
+                setMessages(loaded);
+                lastSeqRef.current = loaded.reduce((max, m) => Math.max(max, m.seq ?? 0), lastSeqRef.current);
                 setTimeout(() => scrollToBottom(), 0); // 바로 스크롤 하단으로
             });
 
@@ -57,12 +159,20 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
         const socket = new SockJS(WS_URL);
         const stompClient = new Client({
             webSocketFactory: () => socket,
+            // 로그인 때 받은 JWT로 연결 시 한 번 인증 (이후 메시지의 보낸 사람/닉네임은 서버가 채움)
+            connectHeaders: { Authorization: `Bearer ${localStorage.getItem('token') ?? ''}` },
             reconnectDelay: 5000,
             onConnect: () => {
                 // 채팅방 주제 구독
                 stompClient.subscribe(`/topic/chat/room/${roomId}`, (msg) => {
                     const body = JSON.parse(msg.body);
-                    setMessages((prev) => [...prev, body]);
+
+                    // 순번이 건너뛰었으면 빠진 메시지부터 받아오고, 이미 받은 순번이면 무시
+                    if (body.seq != null && lastSeqRef.current > 0 && body.seq > lastSeqRef.current + 1) {
+                        syncSince();
+                        return;
+                    }
+                    if (!appendMessages([body])) return;
 
                     if (body.userEmail !== userEmailRef.current) {
                         // 다른 사람 메시지일 경우 하단 아니면 알림
@@ -72,7 +182,32 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
                         isSelfMessageRef.current = true;
                         scrollToBottom();
                     }
+                }, {
+                    // 접속 현황에 표시할 사용자 정보
+                    'x-user-email': userEmailRef.current ?? '',
+                    'x-user-name': userNameRef.current ?? '',
                 });
+
+                // 접속 현황 변경분 구독 + 현재 스냅샷 불러오기
+                stompClient.subscribe(`/topic/chat/room/${roomId}/presence`, (msg) => {
+                    applyPresence(JSON.parse(msg.body));
+                });
+                loadPresence();
+
+                // 입력 중 신호 구독
+                stompClient.subscribe(`/topic/chat/room/${roomId}/signal`, (msg) => {
+                    applySignal(JSON.parse(msg.body));
+                });
+
+                // 전송 거절(BACKPRESSURE 등) 오류 프레임 구독
+                stompClient.subscribe('/user/queue/errors', (msg) => {
+                    const error = JSON.parse(msg.body);
+                    console.warn(`메시지 전송 실패 (${error.code}): ${error.message}`);
+                });
+
+                // 재연결이면 끊겨 있던 동안의 메시지만 받아오기 (전체 이력을 다시 받지 않음)
+                if (connectedOnceRef.current) syncSince();
+                connectedOnceRef.current = true;
             },
         });
 
@@ -103,6 +238,7 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
 
         isSelfMessageRef.current = true;
         setContent('');
+        publishTyping(false);
     };
 
     // 날짜 및 시간 포맷 함수 (카카오톡 스타일)
@@ -166,6 +302,10 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
 
     return (
         <div className="chat-container">
+            {/* 접속 현황 (마우스를 올리면 접속 중인 사용자 닉네임 표시) */}
+            <div className="chat-presence" title={Object.values(members).filter(Boolean).join(', ')}>
+                🟢 {online}명 접속 중
+            </div>
             <div className="chat-messages" ref={chatMessagesRef}>
                 {messages.map((msg, i) => {
                     const isMe = msg.userEmail?.toLowerCase() === userEmail?.toLowerCase();
@@ -198,10 +338,20 @@ const ChatRoom = ({ roomId, userEmail, userName }) => {
                 )}
             </div>
 
+            {/* 입력 중인 사용자 */}
+            {Object.keys(typers).length > 0 && (
+                <div className="chat-typing">
+                    {Object.values(typers).map((t) => t.name || '누군가').join(', ')}님이 입력 중...
+                </div>
+            )}
+
             <div className="chat-input-area">
                 <input
                     value={content}
-                    onChange={(e) => setContent(e.target.value)}
+                    onChange={(e) => {
+                        setContent(e.target.value);
+                        publishTyping(e.target.value.length > 0);
+                    }}
                     onKeyDown={(e) => e.key === 'Enter' && handleSend()}
                     placeholder="메시지를 입력하세요"
                     className="chat-input"
@@ -9,17 +9,27 @@ import '../style/MainPage.css';
 const MainPage = () => {
     const navigate = useNavigate(); // 페이지 이동용
     const [rooms, setRooms] = useState([]); // 채팅방 목록 상태
+    const [nextCursor, setNextCursor] = useState(null); // 다음 페이지 커서 (없으면 null)
+
+    // ✅ 채팅방 목록 한 페이지 로딩 (before 없으면 첫 페이지)
+    const loadRooms = async (before) => {
+        try {
+            const res = await fetchChatRooms(before); // API 요청
+            const { rooms: page, nextCursor: cursor, hasMore } = res.data;
+            // 페이지를 넘기는 사이 활동 순서가 바뀐 방은 중복될 수 있으므로 id 기준으로 합침
+            setRooms((prev) => {
+                const base = before ? prev : [];
+                const seen = new Set(base.map((r) => r.id));
+                return [...base, ...page.filter((r) => !seen.has(r.id))];
+            });
+            setNextCursor(hasMore ? cursor : null);
+        } catch (err) {
+            console.error('채팅방 목록 불러오기 실패:', err);
+        }
+    };
 
     // ✅ 컴포넌트 마운트 시 채팅방 목록 로딩
     useEffect(() => {
-        const loadRooms = async () => {
-            try {
-                const res = await fetchChatRooms(); // API 요청
-                setRooms(res.data); // 채팅방 목록 상태로 설정
-            } catch (err) {
-                console.error('채팅방 목록 불러오기 실패:', err);
-            }
-        };
         loadRooms();
     }, []);
 
@@ -53,9 +63,25 @@ const MainPage = () => {
                             <div key={room.id} className="room-card" onClick={() => enterRoom(room.id)}>
                                 <h3>{room.roomName}</h3>
                                 <p className="creator-text">{room.creator}님의 채팅방</p> {/* ✅ 생성자 정보 표시 */}
+                                {/* ✅ 마지막 메시지 미리보기 + 메시지 수 */}
+                                <p className="preview-text">
+                                    {room.lastMessagePreview
+                                        ? `${room.lastMessageUserName}: ${room.lastMessagePreview}`
+                                        : '아직 메시지가 없습니다.'}
+                                </p>
+                                <p className="meta-text">
+                                    메시지 {room.messageCount}개 · {new Date(room.lastActivityAt).toLocaleString()}
+                                </p>
                             </div>
                         ))}
                     </div>
+
+                    {/* 다음 페이지가 있으면 더 보기 버튼 */}
+                    {nextCursor && (
+                        <button className="more-room-btn" onClick={() => loadRooms(nextCursor)}>
+                            더 보기
+                        </button>
+                    )}
                 </div>
             </main>
 
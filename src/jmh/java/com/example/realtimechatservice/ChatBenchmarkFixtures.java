@@ -0,0 +1,31 @@
+package com.example.realtimechatservice;
+
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🧪 ChatBenchmarkFixtures - 벤치마크 공통 입력 데이터
+ *
+ * - 모든 벤치마크가 같은 메시지를 사용해야 결과끼리 비교할 수 있음
+ */
+public final class ChatBenchmarkFixtures {
+
+    public static final String EMAIL = "sinla9302@gmail.com";
+
+    private ChatBenchmarkFixtures() {
+    }
+
+    /** 💬 한글/영문/이모지가 섞인 일반적인 길이의 채팅 메시지 */
+    public static ChatMessageDTO sampleMessage() {
+        return new ChatMessageDTO(
+                42L,
+                EMAIL,
+                "벨샹송",
+                "안녕하세요! 오늘 회의는 3시에 시작합니다. See you there 👋",
+                LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_789),
+                1_024L,
+                318L
+        );
+    }
+}
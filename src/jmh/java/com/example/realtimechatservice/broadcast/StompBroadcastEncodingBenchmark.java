@@ -0,0 +1,72 @@
+package com.example.realtimechatservice.broadcast;
+
+import com.example.realtimechatservice.ChatBenchmarkFixtures;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📏 StompBroadcastEncodingBenchmark
+ *
+ * - ChatBroadcaster.deliverLocally → SimpleBroker → 세션 전송까지 구독자 한 명당 거치는 변환 비용 측정
+ * - payload: ChatMessageDTO → JSON 바이트 (SimpMessagingTemplate과 같은 MappingJackson2MessageConverter)
+ * - frame: MESSAGE 헤더 + payload → STOMP 프레임 바이트 (StompEncoder)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StompBroadcastEncodingBenchmark {
+
+    private final StompEncoder encoder = new StompEncoder();
+    private MappingJackson2MessageConverter converter;
+    private ChatMessageDTO dto;
+    private Message<byte[]> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Spring Boot 기본 ObjectMapper와 같은 설정 (JavaTimeModule, ISO-8601 날짜)
+        converter = new MappingJackson2MessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        converter.setSerializedPayloadClass(byte[].class);
+        dto = ChatBenchmarkFixtures.sampleMessage();
+        payload = toPayload();
+    }
+
+    @Benchmark
+    public Message<?> payload() {
+        return toPayload();
+    }
+
+    @Benchmark
+    public byte[] frame() {
+        return encoder.encode(toFrame(payload.getPayload()));
+    }
+
+    @Benchmark
+    public byte[] payloadAndFrame() {
+        return encoder.encode(toFrame(toPayload().getPayload()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Message<byte[]> toPayload() {
+        return (Message<byte[]>) converter.toMessage(dto, null);
+    }
+
+    /** 📨 SimpleBroker가 구독자에게 보내는 MESSAGE 프레임 구성 */
+    private static Message<byte[]> toFrame(byte[] body) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(ChatBroadcaster.ROOM_TOPIC_PREFIX + 42);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setMessageId("n2x4bkkt-1");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.realtimechatservice.codec;
+
+import com.example.realtimechatservice.ChatBenchmarkFixtures;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📏 ChatMessageCodecBenchmark
+ *
+ * - 기존 Jackson2JsonMessageConverter와 바이너리 코덱의 메시지당 인코딩/디코딩 CPU 시간 비교
+ * - roundTrip: 발행(인코딩) + 소비(디코딩) 전체 구간
+ * - 메시지당 바이트 수는 Trial 시작 시 콘솔에 출력됨
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatMessageCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    private MessageConverter converter;
+    private ChatMessageDTO dto;
+    private Message encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = "json".equals(codec)
+                ? new Jackson2JsonMessageConverter()
+                : new ChatMessageConverter(List.of(new BinaryChatMessageCodec()), new BinaryChatMessageCodec());
+        dto = ChatBenchmarkFixtures.sampleMessage();
+        encoded = converter.toMessage(dto, new MessageProperties());
+        encoded.getMessageProperties().setInferredArgumentType(ChatMessageDTO.class);
+        System.out.printf("%n[%s] %d bytes/message%n", codec, encoded.getBody().length);
+    }
+
+    @Benchmark
+    public Message encode() {
+        return converter.toMessage(dto, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.fromMessage(encoded);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        Message message = converter.toMessage(dto, new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(ChatMessageDTO.class);
+        return converter.fromMessage(message);
+    }
+}
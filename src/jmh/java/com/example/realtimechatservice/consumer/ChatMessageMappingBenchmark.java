@@ -0,0 +1,31 @@
+package com.example.realtimechatservice.consumer;
+
+import com.example.realtimechatservice.ChatBenchmarkFixtures;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import com.example.realtimechatservice.entity.ChatMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📏 ChatMessageMappingBenchmark
+ *
+ * - ChatMessageConsumer가 메시지마다 수행하는 DTO → 엔티티(ChatMessage.builder()) 변환 비용 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatMessageMappingBenchmark {
+
+    private ChatMessageDTO dto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dto = ChatBenchmarkFixtures.sampleMessage();
+    }
+
+    @Benchmark
+    public ChatMessage toEntity() {
+        return ChatMessageConsumer.toEntity(dto);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.ChatBenchmarkFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📏 NicknameUrlBenchmark
+ *
+ * - UserNicknameService가 캐시 미스마다 UriComponentsBuilder로 요청 URL을 만드는 비용 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NicknameUrlBenchmark {
+
+    private UserNicknameService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new UserNicknameService("http://localhost:8123", 1, Duration.ofMinutes(10),
+                Duration.ofSeconds(30), Duration.ofMillis(2), 100, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String nicknameUrl() {
+        return service.nicknameUrl(ChatBenchmarkFixtures.EMAIL);
+    }
+}
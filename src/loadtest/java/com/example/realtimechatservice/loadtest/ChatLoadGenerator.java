@@ -0,0 +1,308 @@
+package com.example.realtimechatservice.loadtest;
+
+import com.example.realtimechatservice.broadcast.ChatBroadcaster;
+import com.example.realtimechatservice.broadcast.RoomFrameCoalescer;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 🚀 ChatLoadGenerator - SockJS/STOMP 세션을 대량으로 열고 정해진 속도로 메시지를 보내며 지연 시간을 측정
+ *
+ * - 세션 i는 방 (i % rooms) + 1 을 구독하고, 같은 방으로 메시지를 보냄
+ * - 메시지 본문에 "보내기로 예정된 시각"(nanoTime)을 담고, 구독자가 받은 시각과의 차이를 기록
+ *   → 전송이 밀려도 예정 시각 기준이므로 지연이 과소 측정되지 않음 (coordinated omission 방지)
+ * - 송신/수신 모두 이 JVM 안에서 일어나므로 nanoTime을 그대로 비교할 수 있음
+ * - 세션 i는 "user-i@loadtest.local" 사용자로 서명한 JWT를 CONNECT 헤더에 담아 연결 (닉네임 조회는 연결 때 한 번)
+ */
+class ChatLoadGenerator {
+
+    // 📍 메시지 본문 prefix (뒤에 예정 전송 시각)
+    private static final String PAYLOAD_PREFIX = "lt:";
+
+    // 📏 기록 가능한 최대 지연 (초과분은 최대값으로 기록)
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoadTestOptions options;
+    private final String url;
+    private final WebSocketStompClient stompClient;
+    private final Key jwtKey;
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final int[] roomSubscribers;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong measuredSent = new AtomicLong();
+    private final AtomicLong expectedDeliveries = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong measuredReceived = new AtomicLong();
+    private final AtomicLong errorFrames = new AtomicLong();
+    private final AtomicLong transportErrors = new AtomicLong();
+
+    // 이 시각 이후 예정된 메시지만 지연 시간에 기록 (워밍업 제외)
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    ChatLoadGenerator(LoadTestOptions options, String url) {
+        this.options = options;
+        this.url = url;
+
+        MappingJackson2MessageConverter converter =
+                new MappingJackson2MessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        this.stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        this.stompClient.setMessageConverter(converter);
+        this.jwtKey = Keys.hmacShaKeyFor(options.jwtSecret().getBytes(StandardCharsets.UTF_8));
+
+        this.roomSubscribers = new int[options.rooms() + 1];
+        for (int i = 0; i < options.sessions(); i++) {
+            roomSubscribers[roomOf(i)]++;
+        }
+    }
+
+    /**
+     * ▶️ 연결 → 워밍업 → 측정 → 잔여 수신 대기 순서로 실행
+     */
+    LoadReport run() throws InterruptedException {
+        StompSession[] sessions = connectAll();
+
+        System.out.printf("▶️ 워밍업 %ds, 측정 %ds (%d msg/s)%n",
+                options.warmup().toSeconds(), options.duration().toSeconds(), options.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        measureFromNanos = measureFrom;
+
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        boolean measuring = false;
+        long nextReport = measureFrom + TimeUnit.SECONDS.toNanos(5);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long k = 0;
+
+        while (true) {
+            long intended = start + k * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long now = System.nanoTime();
+            if (intended > now) {
+                LockSupport.parkNanos(Math.min(intended - now, TimeUnit.MILLISECONDS.toNanos(1)));
+                continue;
+            }
+            if (!measuring && intended >= measureFrom) {
+                measuring = true;
+                recorder.reset();
+            }
+            int sessionIndex = (int) (k % sessions.length);
+            if (send(sessions[sessionIndex], sessionIndex, intended) && measuring) {
+                measuredSent.incrementAndGet();
+                expectedDeliveries.addAndGet(roomSubscribers[roomOf(sessionIndex)]);
+            }
+            k++;
+
+            if (now >= nextReport) {
+                Histogram interval = recorder.getIntervalHistogram();
+                total.add(interval);
+                printProgress(interval);
+                nextReport += TimeUnit.SECONDS.toNanos(5);
+            }
+        }
+        long sendEnd = System.nanoTime();
+
+        // ⏳ 잔여 메시지 수신 대기 (최대 10초, 새로 받는 메시지가 없으면 조기 종료)
+        long expected = expectedDeliveries.get();
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        long last = -1;
+        while (System.nanoTime() < drainDeadline && measuredReceived.get() < expected && measuredReceived.get() != last) {
+            last = measuredReceived.get();
+            Thread.sleep(500);
+        }
+        total.add(recorder.getIntervalHistogram());
+
+        for (StompSession session : sessions) {
+            session.disconnect();
+        }
+        stompClient.stop();
+
+        double measuredSeconds = (sendEnd - measureFrom) / 1e9;
+        return new LoadReport(options, measuredSent.get(), expected,
+                measuredReceived.get(), errorFrames.get(), transportErrors.get(), measuredSeconds, total);
+    }
+
+    /**
+     * 🔌 모든 세션 연결 및 구독 (동시 연결 시도 수 제한)
+     */
+    private StompSession[] connectAll() throws InterruptedException {
+        System.out.printf("🔌 %s 에 세션 %d개 연결 중 (방 %d개)%n", url, options.sessions(), options.rooms());
+        StompSession[] sessions = new StompSession[options.sessions()];
+        Semaphore inFlight = new Semaphore(options.connectConcurrency());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[options.sessions()];
+        long started = System.nanoTime();
+
+        for (int i = 0; i < sessions.length; i++) {
+            inFlight.acquire();
+            int index = i;
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + token(i));
+            futures[i] = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new SessionHandler())
+                    .whenComplete((session, ex) -> inFlight.release())
+                    .thenAccept(session -> {
+                        if (options.batchSubscribe()) {
+                            session.subscribe(ChatBroadcaster.ROOM_TOPIC_PREFIX + roomOf(index)
+                                    + RoomFrameCoalescer.BATCH_DESTINATION_SUFFIX, new RoomBatchFrameHandler());
+                        } else {
+                            session.subscribe(ChatBroadcaster.ROOM_TOPIC_PREFIX + roomOf(index), new RoomFrameHandler());
+                        }
+                        session.subscribe("/user/queue/errors", new ErrorFrameHandler());
+                        sessions[index] = session;
+                    });
+        }
+        CompletableFuture.allOf(futures).join();
+
+        // 구독 프레임이 서버에 반영될 시간을 잠시 줌
+        Thread.sleep(1000);
+        System.out.printf("✅ 연결 완료 (%.1fs)%n", (System.nanoTime() - started) / 1e9);
+        return sessions;
+    }
+
+    /** @return 전송 성공 여부 */
+    private boolean send(StompSession session, int sessionIndex, long intendedNanos) {
+        ChatMessageDTO dto = new ChatMessageDTO(
+                (long) roomOf(sessionIndex),
+                emailOf(sessionIndex),
+                null,
+                PAYLOAD_PREFIX + intendedNanos,
+                null,
+                null,
+                null
+        );
+        try {
+            session.send("/app/chat/room/" + roomOf(sessionIndex), dto);
+            sent.incrementAndGet();
+            return true;
+        } catch (RuntimeException e) {
+            transportErrors.incrementAndGet();
+            return false;
+        }
+    }
+
+    private void onMessage(ChatMessageDTO dto) {
+        received.incrementAndGet();
+        String content = dto.getContent();
+        if (content == null || !content.startsWith(PAYLOAD_PREFIX)) {
+            return;
+        }
+        long intended = Long.parseLong(content, PAYLOAD_PREFIX.length(), content.length(), 10);
+        if (intended >= measureFromNanos) {
+            recorder.recordValue(Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS));
+            measuredReceived.incrementAndGet();
+        }
+    }
+
+    private int roomOf(int sessionIndex) {
+        return sessionIndex % options.rooms() + 1;
+    }
+
+    private static String emailOf(int sessionIndex) {
+        return "user-" + sessionIndex + "@loadtest.local";
+    }
+
+    /** 🔐 UserService JwtUtil.createToken과 같은 형식의 세션 사용자 토큰 */
+    private String token(int sessionIndex) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(emailOf(sessionIndex))
+                .claim("userId", (long) sessionIndex)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TimeUnit.HOURS.toMillis(1)))
+                .signWith(jwtKey)
+                .compact();
+    }
+
+    private void printProgress(Histogram interval) {
+        System.out.printf("  sent=%d received=%d errors=%d | p50=%.2fms p99=%.2fms max=%.2fms%n",
+                sent.get(), received.get(), errorFrames.get() + transportErrors.get(),
+                interval.getValueAtPercentile(50) / 1e6,
+                interval.getValueAtPercentile(99) / 1e6,
+                interval.getMaxValue() / 1e6);
+    }
+
+    private class SessionHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            transportErrors.incrementAndGet();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            transportErrors.incrementAndGet();
+        }
+    }
+
+    private class RoomFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ChatMessageDTO.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            onMessage((ChatMessageDTO) payload);
+        }
+    }
+
+    private class RoomBatchFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ChatMessageDTO[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            for (ChatMessageDTO dto : (ChatMessageDTO[]) payload) {
+                onMessage(dto);
+            }
+        }
+    }
+
+    private class ErrorFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class; // ChatErrorDTO 본문 (code, message)
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            errorFrames.incrementAndGet();
+        }
+    }
+}
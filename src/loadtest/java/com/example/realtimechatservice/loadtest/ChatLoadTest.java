@@ -0,0 +1,41 @@
+package com.example.realtimechatservice.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * 🧪 ChatLoadTest - 오프라인 종단 간 부하 테스트 진입점
+ *
+ * - ChatController → RabbitMQ → ChatMessageConsumer → 구독자 전체 경로의 처리량과 지연 시간을 측정
+ * - --target 이 없으면 임베디드 브로커 / H2 / 닉네임 스텁으로 서버를 같은 프로세스에 띄움
+ *
+ * 실행: ./gradlew loadTest -Pargs="--sessions=2000 --rooms=100 --rate=1000 --duration=60s"
+ * 설정 비교: -Pargs="... --set=chat.threads.virtual.enabled=true --set=chat.consumer.batch.enabled=true"
+ */
+public class ChatLoadTest {
+
+    public static void main(String[] args) {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int status = 0;
+
+        OfflineChatEnvironment environment = null;
+        try {
+            if (options.target() == null) {
+                environment = new OfflineChatEnvironment(options.nicknameLatency().toMillis(), options.serverProperties());
+            }
+            String url = environment != null ? environment.webSocketUrl() : options.target();
+            LoadReport report = new ChatLoadGenerator(options, url).run();
+            report.print(System.out);
+            Path file = report.write(options.reportDir());
+            System.out.println("💾 " + file.toAbsolutePath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        } finally {
+            if (environment != null) {
+                environment.close();
+            }
+        }
+        // 임베디드 브로커 등 비데몬 스레드가 남아 있어도 종료
+        System.exit(status);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.realtimechatservice.loadtest;
+
+import org.apache.qpid.server.SystemLauncher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🐰 EmbeddedAmqpBroker - RabbitMQ 대신 사용하는 인프로세스 AMQP 0-9-1 브로커 (Qpid Broker-J, 메모리 저장소)
+ *
+ * - exchange/queue/binding, publisher confirm 등 애플리케이션이 쓰는 기능을 그대로 지원
+ * - 사용자 guest/guest, 기본 가상 호스트로 접속
+ */
+class EmbeddedAmqpBroker implements AutoCloseable {
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+    private final Path workDir;
+
+    EmbeddedAmqpBroker(int port) throws Exception {
+        this.port = port;
+        this.workDir = Files.createTempDirectory("chat-loadtest-qpid");
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("type", "Memory");
+        attributes.put("initialConfigurationLocation",
+                EmbeddedAmqpBroker.class.getClassLoader().getResource("qpid-initial-config.json").toExternalForm());
+        attributes.put("startupLoggedToSystemOut", false);
+        attributes.put("context", Map.of(
+                "qpid.amqp_port", String.valueOf(port),
+                "qpid.work_dir", workDir.toString()
+        ));
+        launcher.startup(attributes);
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.realtimechatservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 📊 LoadReport - 측정 구간의 처리량과 전송 → 수신 지연 시간 분포
+ *
+ * @param sent       측정 구간에 보낸 메시지 수
+ * @param expected   측정 구간 메시지의 기대 수신 수 (메시지 × 해당 방 구독자 수)
+ * @param received   실제 수신 수
+ * @param latency    수신 지연 시간 분포 (나노초)
+ */
+record LoadReport(LoadTestOptions options,
+                  long sent,
+                  long expected,
+                  long received,
+                  long errorFrames,
+                  long transportErrors,
+                  double seconds,
+                  Histogram latency) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    void print(PrintStream out) {
+        out.println();
+        out.println("📊 결과 (측정 " + String.format("%.1f", seconds) + "s)");
+        out.printf("  sessions=%d rooms=%d target rate=%d msg/s%s%n", options.sessions(), options.rooms(), options.rate(),
+                options.batchSubscribe() ? " (batch subscribe)" : "");
+        out.printf("  sent=%d (%.1f msg/s)  received=%d / expected=%d (%.1f deliveries/s, 누락 %.2f%%)%n",
+                sent, sent / seconds, received, expected, received / seconds,
+                expected == 0 ? 0.0 : 100.0 * (expected - received) / expected);
+        out.printf("  error frames=%d transport errors=%d%n", errorFrames, transportErrors);
+        out.printf("  latency ms  p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(50), percentile(90), percentile(99), percentile(99.9),
+                latency.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * 💾 HDR 히스토그램 백분위 분포(.hgrm, ms 단위) 저장 → HdrHistogram plotter 등으로 실행 간 비교
+     */
+    Path write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("latency-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latency.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+        return file;
+    }
+
+    private double percentile(double p) {
+        return latency.getValueAtPercentile(p) / NANOS_PER_MILLI;
+    }
+}
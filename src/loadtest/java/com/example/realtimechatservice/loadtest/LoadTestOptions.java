@@ -0,0 +1,91 @@
+package com.example.realtimechatservice.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ⚙️ LoadTestOptions - 부하 테스트 실행 옵션 ("--이름=값" 형식)
+ *
+ * @param sessions          동시 STOMP 세션 수
+ * @param rooms             채팅방 수 (세션은 방에 고르게 나눠 구독)
+ * @param rate              전체 초당 전송 메시지 수
+ * @param warmup            측정 전 워밍업 시간 (지연 시간 기록 제외)
+ * @param duration          측정 시간
+ * @param connectConcurrency 동시에 진행할 연결 시도 수
+ * @param nicknameLatency   닉네임 스텁 응답 지연
+ * @param target            기존 서버의 SockJS 주소 (예: http://host:8787/ws), 비우면 오프라인 환경을 직접 띄움
+ * @param reportDir         결과(HDR 히스토그램) 저장 위치
+ * @param batchSubscribe    true면 방 묶음 프레임 경로("/topic/chat/room/{id}/batch")를 구독
+ * @param jwtSecret         세션별 CONNECT 토큰 서명 키 (서버의 chat.auth.jwt.secret과 같아야 함, --set으로 바꾸면 그 값을 따름)
+ * @param serverProperties  오프라인 서버에 덮어쓸 설정 ("--set=chat.threads.virtual.enabled=true", 여러 번 지정 가능)
+ */
+record LoadTestOptions(int sessions,
+                       int rooms,
+                       int rate,
+                       Duration warmup,
+                       Duration duration,
+                       int connectConcurrency,
+                       Duration nicknameLatency,
+                       String target,
+                       Path reportDir,
+                       boolean batchSubscribe,
+                       String jwtSecret,
+                       Map<String, String> serverProperties) {
+
+    // 🔐 서버 기본 설정(application.properties)과 같은 개발용 서명 키
+    private static final String DEFAULT_JWT_SECRET = "my-very-secret-key-for-jwt-example-2025";
+
+    private static final Set<String> NAMES = Set.of("sessions", "rooms", "rate", "warmup", "duration",
+            "connect-concurrency", "nickname-latency", "target", "report-dir", "batch-subscribe", "jwt-secret", "set");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> serverProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --이름=값 형식이어야 합니다: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("알 수 없는 옵션: --" + name + " (사용 가능: " + NAMES + ")");
+            }
+            if ("set".equals(name)) {
+                int eq = value.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("--set=키=값 형식이어야 합니다: " + arg);
+                }
+                serverProperties.put(value.substring(0, eq), value.substring(eq + 1));
+            } else {
+                values.put(name, value);
+            }
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("sessions", "1000")),
+                Integer.parseInt(values.getOrDefault("rooms", "50")),
+                Integer.parseInt(values.getOrDefault("rate", "500")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("connect-concurrency", "100")),
+                DurationStyle.detectAndParse(values.getOrDefault("nickname-latency", "0ms")),
+                values.get("target"),
+                Path.of(values.getOrDefault("report-dir", "build/results/loadtest")),
+                Boolean.parseBoolean(values.getOrDefault("batch-subscribe", "false")),
+                values.getOrDefault("jwt-secret", serverProperties.getOrDefault("chat.auth.jwt.secret", DEFAULT_JWT_SECRET)),
+                serverProperties
+        );
+        if (options.sessions() < options.rooms() || options.rooms() < 1 || options.rate() < 1) {
+            throw new IllegalArgumentException("sessions >= rooms >= 1, rate >= 1 이어야 합니다.");
+        }
+        return options;
+    }
+}
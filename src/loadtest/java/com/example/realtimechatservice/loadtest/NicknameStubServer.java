@@ -0,0 +1,83 @@
+package com.example.realtimechatservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * 👤 NicknameStubServer - UserService의 닉네임 조회 엔드포인트 스텁
+ *
+ * - "GET /api/users/nickname?email=...", "POST /api/users/nicknames" 두 가지를 흉내냄
+ * - 이메일의 @ 앞부분을 닉네임으로 돌려줌 (예: user-12@loadtest.local → user-12)
+ * - 응답 지연(latencyMillis)을 주어 실제 HTTP 호출 비용을 흉내낼 수 있음 (일괄 조회도 요청당 한 번)
+ */
+class NicknameStubServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+
+    NicknameStubServer(long latencyMillis) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/users/nickname", exchange -> handle(exchange, latencyMillis));
+        server.createContext("/api/users/nicknames", exchange -> handleBatch(exchange, latencyMillis));
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void handle(HttpExchange exchange, long latencyMillis) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        String email = query == null ? "" : URLDecoder.decode(query.replaceFirst("^email=", ""), StandardCharsets.UTF_8);
+        respond(exchange, latencyMillis, "text/plain; charset=UTF-8", nicknameOf(email).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void handleBatch(HttpExchange exchange, long latencyMillis) throws IOException {
+        JsonNode request;
+        try (InputStream in = exchange.getRequestBody()) {
+            request = MAPPER.readTree(in);
+        }
+        Map<String, String> nicknames = new LinkedHashMap<>();
+        request.path("emails").forEach(email -> nicknames.put(email.asText(), nicknameOf(email.asText())));
+        respond(exchange, latencyMillis, "application/json", MAPPER.writeValueAsBytes(nicknames));
+    }
+
+    private static String nicknameOf(String email) {
+        int at = email.indexOf('@');
+        return at > 0 ? email.substring(0, at) : email;
+    }
+
+    private static void respond(HttpExchange exchange, long latencyMillis, String contentType, byte[] body) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
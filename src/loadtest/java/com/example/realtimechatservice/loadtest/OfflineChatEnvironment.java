@@ -0,0 +1,70 @@
+package com.example.realtimechatservice.loadtest;
+
+import com.example.realtimechatservice.RealtimeChatServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🧪 OfflineChatEnvironment - 외부 인프라 없이 채팅 서비스를 한 프로세스 안에서 띄움
+ *
+ * - RabbitMQ → EmbeddedAmqpBroker (Qpid Broker-J)
+ * - MySQL → H2 인메모리 (MySQL 호환 모드)
+ * - UserService → NicknameStubServer
+ * - application.properties의 나머지 설정은 그대로 사용하고, extraProperties로 덮어쓸 수 있음
+ */
+class OfflineChatEnvironment implements AutoCloseable {
+
+    private final EmbeddedAmqpBroker broker;
+    private final NicknameStubServer nicknameStub;
+    private final ServletWebServerApplicationContext context;
+
+    OfflineChatEnvironment(long nicknameLatencyMillis, Map<String, String> extraProperties) throws Exception {
+        broker = new EmbeddedAmqpBroker(freePort());
+        nicknameStub = new NicknameStubServer(nicknameLatencyMillis);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.rabbitmq.host", "127.0.0.1");
+        properties.put("spring.rabbitmq.port", broker.port());
+        properties.put("spring.datasource.url", "jdbc:h2:mem:chat;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("chat.user-service.url", nicknameStub.url());
+        properties.put("chat.ratelimit.enabled", false); // 파이프라인 처리량 측정용 (--set으로 다시 켤 수 있음)
+        properties.putAll(extraProperties);
+
+        // 명령행 인자로 넘겨야 application.properties보다 우선 적용됨
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(RealtimeChatServiceApplication.class)
+                .run(args);
+    }
+
+    /** 🔗 SockJS 엔드포인트 주소 */
+    String webSocketUrl() {
+        return "http://127.0.0.1:" + context.getWebServer().getPort() + "/ws";
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        nicknameStub.close();
+        broker.close();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.realtimechatservice.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🧱 ArchiveBlock - 보관 인덱스 레코드 하나 (세그먼트 파일 안 압축 블록 하나의 위치와 범위)
+ *
+ * @param firstCreatedAt 블록 첫 메시지 시각 (블록 안은 (createdAt, id) 오름차순)
+ * @param firstId        블록 첫 메시지 ID
+ * @param lastCreatedAt  블록 마지막 메시지 시각
+ * @param lastId         블록 마지막 메시지 ID
+ * @param minId          블록 안 최소 메시지 ID (커서 메시지 찾기용)
+ * @param maxId          블록 안 최대 메시지 ID
+ * @param minSeq         블록 안 최소 순번 (순번 없는 메시지만 있으면 -1)
+ * @param maxSeq         블록 안 최대 순번
+ * @param segmentId      세그먼트 파일 번호 (세그먼트 첫 메시지 ID)
+ * @param offset         세그먼트 파일 안 블록 시작 위치
+ * @param length         압축된 블록 크기
+ * @param count          블록 안 메시지 수
+ */
+record ArchiveBlock(LocalDateTime firstCreatedAt,
+                    long firstId,
+                    LocalDateTime lastCreatedAt,
+                    long lastId,
+                    long minId,
+                    long maxId,
+                    long minSeq,
+                    long maxSeq,
+                    long segmentId,
+                    long offset,
+                    int length,
+                    int count) {
+
+    /** (createdAt, id) 정렬 기준 - 히스토리 keyset 페이지와 같은 순서 */
+    static int compareKey(LocalDateTime createdAt1, long id1, LocalDateTime createdAt2, long id2) {
+        int c = createdAt1.compareTo(createdAt2);
+        return c != 0 ? c : Long.compare(id1, id2);
+    }
+}
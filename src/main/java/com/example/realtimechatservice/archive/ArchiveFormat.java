@@ -0,0 +1,154 @@
+package com.example.realtimechatservice.archive;
+
+import com.example.realtimechatservice.dto.ChatMessageView;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🧬 ArchiveFormat - 보관 세그먼트 블록 / 인덱스 레코드의 바이너리 레이아웃
+ *
+ * 📐 블록 (gzip 압축, 세그먼트 파일 안에 이어 붙임, 빅 엔디언)
+ * <pre>
+ * byte    version (=1)
+ * int     count
+ * count × {
+ *   long    id
+ *   long    seq (없으면 -1)
+ *   long    createdAt epoch seconds (UTC 기준 LocalDateTime)
+ *   int     createdAt nanos
+ *   string  userEmail, userName, content (int 길이 + UTF-8, 길이 -1 = null)
+ * }
+ * </pre>
+ *
+ * 📐 인덱스 파일 (방마다 하나, 헤더 뒤에 블록마다 고정 크기 레코드를 이어 붙임)
+ * <pre>
+ * header  int magic ("CHIX"), int version (=1)
+ * record  firstCreatedAt(long sec, int nano), firstId, lastCreatedAt(long sec, int nano), lastId,
+ *         minId, maxId, minSeq, maxSeq, segmentId, offset (long), length, count (int)
+ * </pre>
+ * - 레코드 크기가 고정이므로 쓰다 만 마지막 레코드는 길이로 알아보고 무시함
+ */
+final class ArchiveFormat {
+
+    static final int BLOCK_VERSION = 1;
+    static final int INDEX_MAGIC = 0x43484958; // "CHIX"
+    static final int INDEX_VERSION = 1;
+    static final int INDEX_HEADER_BYTES = 8;
+    static final int INDEX_RECORD_BYTES = 12 + 8 + 12 + 8 + 8 * 6 + 4 + 4;
+
+    private ArchiveFormat() {
+    }
+
+    /**
+     * 📦 메시지 목록(시간순)을 압축 블록 하나로 인코딩
+     */
+    static byte[] encodeBlock(List<ChatMessageView> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(BLOCK_VERSION);
+            out.writeInt(messages.size());
+            for (ChatMessageView m : messages) {
+                out.writeLong(m.getId());
+                out.writeLong(m.getSeq() == null ? -1 : m.getSeq());
+                out.writeLong(m.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(m.getCreatedAt().getNano());
+                writeString(out, m.getUserEmail());
+                writeString(out, m.getUserName());
+                writeString(out, m.getContent());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 📭 압축 블록 하나를 메시지 목록(시간순)으로 디코딩
+     */
+    static List<ChatMessageView> decodeBlock(Long roomId, byte[] block) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(block)))) {
+            int version = in.readUnsignedByte();
+            if (version != BLOCK_VERSION) {
+                throw new IOException("지원하지 않는 보관 블록 버전: " + version);
+            }
+            int count = in.readInt();
+            List<ChatMessageView> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long seq = in.readLong();
+                LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                String userEmail = readString(in);
+                String userName = readString(in);
+                String content = readString(in);
+                messages.add(new ChatMessageView(id, roomId, userEmail, userName, content, createdAt,
+                        seq < 0 ? null : seq));
+            }
+            return messages;
+        }
+    }
+
+    static void writeIndexRecord(ByteBuffer buffer, ArchiveBlock block) {
+        putTime(buffer, block.firstCreatedAt());
+        buffer.putLong(block.firstId());
+        putTime(buffer, block.lastCreatedAt());
+        buffer.putLong(block.lastId());
+        buffer.putLong(block.minId());
+        buffer.putLong(block.maxId());
+        buffer.putLong(block.minSeq());
+        buffer.putLong(block.maxSeq());
+        buffer.putLong(block.segmentId());
+        buffer.putLong(block.offset());
+        buffer.putInt(block.length());
+        buffer.putInt(block.count());
+    }
+
+    static ArchiveBlock readIndexRecord(ByteBuffer buffer) {
+        return new ArchiveBlock(
+                getTime(buffer), buffer.getLong(),
+                getTime(buffer), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(),
+                buffer.getInt(), buffer.getInt()
+        );
+    }
+
+    private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+        buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(time.getNano());
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.realtimechatservice.archive;
+
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 🧊 MessageArchive
+ * - 오래된 채팅 메시지를 보관하는 로컬 디스크 저장소입니다. (cold tier)
+ * - 방마다 디렉터리 하나: 한 번 쓰면 바뀌지 않는 세그먼트 파일({segmentId}.seg, gzip 블록을 이어 붙임) +
+ *   블록마다 레코드 하나를 덧붙이는 희소 인덱스(index.idx, (createdAt, id) / id / seq 범위)
+ * - 조회는 인덱스로 필요한 블록만 찾아 읽고 풀어서 응답합니다. 인덱스는 방 단위로 메모리에 캐시됩니다.
+ * - 쓰기는 MessageArchiver 하나만 수행해야 합니다. (여러 노드라면 공유 디렉터리 + 한 노드만 보관 작업 활성화)
+ */
+@Component
+public class MessageArchive {
+
+    private static final String INDEX_FILE = "index.idx";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path baseDir;
+
+    // 🗂️ roomId → 블록 인덱스 (보관된 메시지가 없는 방은 빈 목록)
+    private final LoadingCache<Long, List<ArchiveBlock>> indexes;
+
+    public MessageArchive(@Value("${chat.archive.dir}") Path baseDir,
+                          @Value("${chat.archive.index-cache-size}") long indexCacheSize,
+                          MeterRegistry meterRegistry) {
+        this.baseDir = baseDir;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(indexCacheSize)
+                .recordStats()
+                .build(this::readIndex);
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "archive-index");
+    }
+
+    /**
+     * ✅ 메시지 목록((createdAt, id) 오름차순)을 새 세그먼트로 기록하고 인덱스에 블록을 덧붙임
+     * - 세그먼트는 임시 파일에 쓴 뒤 이름을 바꿔 원자적으로 나타나고, 인덱스 레코드는 그 후에 추가됩니다.
+     *   (중간에 멈추면 인덱스에 없는 세그먼트만 남고, 같은 메시지로 다시 쓰면 같은 이름으로 덮어씀)
+     *
+     * @param roomId 채팅방 ID
+     * @param messages 보관할 메시지 (이미 보관된 마지막 메시지보다 뒤여야 함)
+     * @param blockSize 블록 하나에 담을 메시지 수 (인덱스 밀도)
+     */
+    public synchronized void append(Long roomId, List<ChatMessageView> messages, int blockSize) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Path roomDir = Files.createDirectories(roomDir(roomId));
+        long segmentId = messages.get(0).getId();
+        Path segment = roomDir.resolve(segmentId + SEGMENT_SUFFIX);
+        Path temp = roomDir.resolve(segmentId + SEGMENT_SUFFIX + ".tmp");
+
+        List<ArchiveBlock> blocks = new ArrayList<>();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = 0;
+            for (int from = 0; from < messages.size(); from += blockSize) {
+                List<ChatMessageView> chunk = messages.subList(from, Math.min(from + blockSize, messages.size()));
+                byte[] block = ArchiveFormat.encodeBlock(chunk);
+                writeFully(out, ByteBuffer.wrap(block));
+                blocks.add(describe(chunk, segmentId, offset, block.length));
+                offset += block.length;
+            }
+            out.force(true);
+        }
+        Files.move(temp, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Path index = roomDir.resolve(INDEX_FILE);
+        try (FileChannel out = FileChannel.open(index, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long size = out.size();
+            ByteBuffer buffer;
+            if (size < ArchiveFormat.INDEX_HEADER_BYTES) {
+                buffer = ByteBuffer.allocate(ArchiveFormat.INDEX_HEADER_BYTES + blocks.size() * ArchiveFormat.INDEX_RECORD_BYTES);
+                buffer.putInt(ArchiveFormat.INDEX_MAGIC).putInt(ArchiveFormat.INDEX_VERSION);
+                size = 0;
+            } else {
+                buffer = ByteBuffer.allocate(blocks.size() * ArchiveFormat.INDEX_RECORD_BYTES);
+                // 쓰다 만 레코드가 있으면 그 자리부터 덮어씀
+                size -= (size - ArchiveFormat.INDEX_HEADER_BYTES) % ArchiveFormat.INDEX_RECORD_BYTES;
+            }
+            blocks.forEach(block -> ArchiveFormat.writeIndexRecord(buffer, block));
+            buffer.flip();
+            out.position(size);
+            writeFully(out, buffer);
+            out.truncate(size + buffer.limit());
+            out.force(true);
+        }
+        indexes.invalidate(roomId);
+    }
+
+    /**
+     * 🔖 보관된 마지막 메시지의 (createdAt, id) 블록 (보관된 메시지가 없으면 empty)
+     */
+    public Optional<ArchivedKey> lastArchived(Long roomId) {
+        List<ArchiveBlock> blocks = indexes.get(roomId);
+        if (blocks.isEmpty()) {
+            return Optional.empty();
+        }
+        ArchiveBlock last = blocks.get(blocks.size() - 1);
+        return Optional.of(new ArchivedKey(last.lastCreatedAt(), last.lastId()));
+    }
+
+    /**
+     * ✅ (createdAt, id) 커서보다 오래된 보관 메시지를 최대 n건, 최신순으로 조회
+     *
+     * @param createdAt 커서 시각 (null이면 가장 최근 보관 메시지부터)
+     * @param id 커서 메시지 ID
+     */
+    public List<ChatMessageView> findBefore(Long roomId, LocalDateTime createdAt, Long id, int n) {
+        List<ArchiveBlock> blocks = indexes.get(roomId);
+        List<ChatMessageView> result = new ArrayList<>();
+        for (int b = blocks.size() - 1; b >= 0 && result.size() < n; b--) {
+            ArchiveBlock block = blocks.get(b);
+            if (createdAt != null
+                    && ArchiveBlock.compareKey(block.firstCreatedAt(), block.firstId(), createdAt, id) >= 0) {
+                continue; // 블록 전체가 커서 이후
+            }
+            List<ChatMessageView> messages = readBlock(roomId, block);
+            for (int i = messages.size() - 1; i >= 0 && result.size() < n; i--) {
+                ChatMessageView m = messages.get(i);
+                if (createdAt == null || ArchiveBlock.compareKey(m.getCreatedAt(), m.getId(), createdAt, id) < 0) {
+                    result.add(m);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ✅ (createdAt, id) 커서보다 새로운 보관 메시지를 최대 n건, 오래된 순으로 조회
+     */
+    public List<ChatMessageView> findAfter(Long roomId, LocalDateTime createdAt, Long id, int n) {
+        List<ArchiveBlock> blocks = indexes.get(roomId);
+        List<ChatMessageView> result = new ArrayList<>();
+        for (int b = firstBlockEndingAfter(blocks, createdAt, id); b < blocks.size() && result.size() < n; b++) {
+            for (ChatMessageView m : readBlock(roomId, blocks.get(b))) {
+                if (result.size() < n && ArchiveBlock.compareKey(m.getCreatedAt(), m.getId(), createdAt, id) > 0) {
+                    result.add(m);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ✅ 순번 afterSeq 이후의 보관 메시지를 최대 n건, 순번 오름차순으로 조회
+     * - 같은 방의 순번은 저장 순서((createdAt, id) 순서)대로 커지므로 블록/블록 안 메시지를 앞에서부터 읽고,
+     *   n건이 모이면 남은 블록은 풀지 않습니다.
+     */
+    public List<ChatMessageView> findSince(Long roomId, long afterSeq, int n) {
+        List<ChatMessageView> result = new ArrayList<>();
+        for (ArchiveBlock block : indexes.get(roomId)) {
+            if (result.size() >= n) {
+                break;
+            }
+            if (block.maxSeq() <= afterSeq) {
+                continue;
+            }
+            for (ChatMessageView m : readBlock(roomId, block)) {
+                if (result.size() < n && m.getSeq() != null && m.getSeq() > afterSeq) {
+                    result.add(m);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 🔢 보관된 메시지의 최대 순번 (없으면 0)
+     */
+    public long maxSeq(Long roomId) {
+        return indexes.get(roomId).stream().mapToLong(ArchiveBlock::maxSeq).max().orElse(0);
+    }
+
+    /**
+     * 🔍 보관된 메시지의 생성 시각 조회 (페이지 커서가 보관 메시지를 가리킬 때)
+     */
+    public Optional<LocalDateTime> findCreatedAt(Long roomId, Long id) {
+        for (ArchiveBlock block : indexes.get(roomId)) {
+            if (id < block.minId() || id > block.maxId()) {
+                continue;
+            }
+            for (ChatMessageView m : readBlock(roomId, block)) {
+                if (m.getId().equals(id)) {
+                    return Optional.of(m.getCreatedAt());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 🔍 보관된 메시지를 ID 목록으로 조회 (순서 보장 없음, 없는 ID는 빠짐)
+     */
+    public List<ChatMessageView> findByIds(Long roomId, Collection<Long> ids) {
+        List<ChatMessageView> result = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        Set<Long> wanted = new HashSet<>(ids);
+        long min = Collections.min(wanted);
+        long max = Collections.max(wanted);
+        for (ArchiveBlock block : indexes.get(roomId)) {
+            if (block.maxId() < min || block.minId() > max) {
+                continue;
+            }
+            for (ChatMessageView m : readBlock(roomId, block)) {
+                if (wanted.contains(m.getId())) {
+                    result.add(m);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 🔎 커서보다 뒤에서 끝나는 첫 블록 위치 (블록은 (createdAt, id) 오름차순이므로 이분 탐색)
+     */
+    private static int firstBlockEndingAfter(List<ArchiveBlock> blocks, LocalDateTime createdAt, long id) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            ArchiveBlock block = blocks.get(mid);
+            if (ArchiveBlock.compareKey(block.lastCreatedAt(), block.lastId(), createdAt, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<ChatMessageView> readBlock(Long roomId, ArchiveBlock block) {
+        Path segment = roomDir(roomId).resolve(block.segmentId() + SEGMENT_SUFFIX);
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(block.length());
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer, block.offset() + buffer.position()) < 0) {
+                    throw new IOException("세그먼트가 인덱스보다 짧음: " + segment);
+                }
+            }
+            return ArchiveFormat.decodeBlock(roomId, buffer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ArchiveBlock> readIndex(Long roomId) throws IOException {
+        Path index = roomDir(roomId).resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return List.of();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(index));
+        if (buffer.remaining() < ArchiveFormat.INDEX_HEADER_BYTES) {
+            return List.of();
+        }
+        if (buffer.getInt() != ArchiveFormat.INDEX_MAGIC || buffer.getInt() != ArchiveFormat.INDEX_VERSION) {
+            throw new IOException("보관 인덱스 형식이 아님: " + index);
+        }
+        List<ArchiveBlock> blocks = new ArrayList<>(buffer.remaining() / ArchiveFormat.INDEX_RECORD_BYTES);
+        while (buffer.remaining() >= ArchiveFormat.INDEX_RECORD_BYTES) {
+            blocks.add(ArchiveFormat.readIndexRecord(buffer));
+        }
+        return List.copyOf(blocks);
+    }
+
+    private static ArchiveBlock describe(List<ChatMessageView> chunk, long segmentId, long offset, int length) {
+        ChatMessageView first = chunk.get(0);
+        ChatMessageView last = chunk.get(chunk.size() - 1);
+        long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE, minSeq = Long.MAX_VALUE, maxSeq = -1;
+        for (ChatMessageView m : chunk) {
+            minId = Math.min(minId, m.getId());
+            maxId = Math.max(maxId, m.getId());
+            if (m.getSeq() != null) {
+                minSeq = Math.min(minSeq, m.getSeq());
+                maxSeq = Math.max(maxSeq, m.getSeq());
+            }
+        }
+        return new ArchiveBlock(first.getCreatedAt(), first.getId(), last.getCreatedAt(), last.getId(),
+                minId, maxId, maxSeq < 0 ? -1 : minSeq, maxSeq, segmentId, offset, length, chunk.size());
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private Path roomDir(Long roomId) {
+        return baseDir.resolve("room-" + roomId);
+    }
+
+    /**
+     * 🔖 보관된 메시지 위치 (createdAt, id)
+     */
+    public record ArchivedKey(LocalDateTime createdAt, Long id) {
+    }
+}
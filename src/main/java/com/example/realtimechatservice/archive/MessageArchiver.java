@@ -0,0 +1,121 @@
+package com.example.realtimechatservice.archive;
+
+import com.example.realtimechatservice.archive.MessageArchive.ArchivedKey;
+import com.example.realtimechatservice.config.SchedulingConfig;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🚚 MessageArchiver
+ * - chat.archive.max-age보다 오래된 메시지를 주기적으로 MessageArchive(로컬 디스크)로 옮기고 hot 테이블에서 삭제합니다.
+ * - 방마다 오래된 순으로 batch-size개씩: 세그먼트 기록 → 인덱스 추가 → DB 삭제
+ * - 기록 후 삭제 전에 멈춰도, 다음 실행 때 이미 보관된 지점까지 먼저 삭제하므로 중복 없이 이어집니다.
+ * - 지표: chat.archive.messages (보관한 메시지 수), chat.archive.run (한 번 실행 시간)
+ */
+@Slf4j
+@Component
+public class MessageArchiver {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final MessageArchive messageArchive;
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final int blockSize;
+    private final int maxRoomsPerRun;
+
+    private final Counter archivedMessages;
+    private final Timer runTimer;
+
+    public MessageArchiver(ChatMessageRepository chatMessageRepository,
+                           MessageArchive messageArchive,
+                           @Value("${chat.archive.enabled}") boolean enabled,
+                           @Value("${chat.archive.max-age}") Duration maxAge,
+                           @Value("${chat.archive.batch-size}") int batchSize,
+                           @Value("${chat.archive.block-size}") int blockSize,
+                           @Value("${chat.archive.max-rooms-per-run}") int maxRoomsPerRun,
+                           MeterRegistry meterRegistry) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.messageArchive = messageArchive;
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.blockSize = blockSize;
+        this.maxRoomsPerRun = maxRoomsPerRun;
+        this.archivedMessages = Counter.builder("chat.archive.messages")
+                .description("hot 테이블에서 보관 세그먼트로 옮긴 메시지 수")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("chat.archive.run")
+                .description("보관 작업 한 번 실행 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ⏰ 보관 작업 (chat.archive.enabled=true 일 때만)
+     */
+    @Scheduled(fixedDelayString = "${chat.archive.interval}", initialDelayString = "${chat.archive.interval}",
+            scheduler = SchedulingConfig.BACKGROUND_SCHEDULER)
+    public void archiveOldMessages() {
+        if (!enabled) {
+            return;
+        }
+        runTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+            List<Long> roomIds = chatMessageRepository.findRoomIdsWithMessagesBefore(cutoff, Limit.of(maxRoomsPerRun));
+            long total = 0;
+            for (Long roomId : roomIds) {
+                try {
+                    total += archiveRoom(roomId, cutoff);
+                } catch (IOException | RuntimeException e) {
+                    log.error("🚚 채팅방 {} 메시지 보관 실패 (다음 실행 때 재시도)", roomId, e);
+                }
+            }
+            if (total > 0) {
+                log.info("🚚 메시지 {}건 보관 (방 {}개, 기준 {})", total, roomIds.size(), cutoff);
+            }
+        });
+    }
+
+    /**
+     * 📦 한 방의 cutoff 이전 메시지를 모두 보관
+     *
+     * @return 보관한 메시지 수
+     */
+    long archiveRoom(Long roomId, LocalDateTime cutoff) throws IOException {
+        // 이전 실행이 기록 후 삭제 전에 멈췄다면 남은 행부터 정리
+        Optional<ArchivedKey> last = messageArchive.lastArchived(roomId);
+        last.ifPresent(key -> chatMessageRepository.deleteUpTo(roomId, key.createdAt(), key.id()));
+
+        long archived = 0;
+        while (true) {
+            List<ChatMessageView> batch = chatMessageRepository.findOldest(roomId, cutoff, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return archived;
+            }
+            messageArchive.append(roomId, batch, blockSize);
+            ChatMessageView newest = batch.get(batch.size() - 1);
+            chatMessageRepository.deleteUpTo(roomId, newest.getCreatedAt(), newest.getId());
+
+            archived += batch.size();
+            archivedMessages.increment(batch.size());
+            if (batch.size() < batchSize) {
+                return archived;
+            }
+        }
+    }
+}
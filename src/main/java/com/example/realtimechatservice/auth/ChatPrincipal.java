@@ -0,0 +1,35 @@
+package com.example.realtimechatservice.auth;
+
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * 🪪 ChatPrincipal - STOMP 세션의 인증된 사용자
+ *
+ * - CONNECT 때 JWT 검증과 닉네임 조회를 한 번만 하고, 세션이 끝날 때까지 이 값을 사용합니다.
+ * - getName()은 이메일 (Spring의 사용자 목적지 "/user/..." 와 접속 현황의 사용자 키로 쓰임)
+ *
+ * @param userId 사용자 ID (토큰의 userId claim)
+ * @param email 사용자 이메일 (토큰의 subject)
+ * @param nickname CONNECT 시점의 닉네임
+ */
+public record ChatPrincipal(Long userId, String email, String nickname) implements Principal {
+
+    // 🗂️ 세션 속성 키
+    public static final String SESSION_ATTRIBUTE = "chat.principal";
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * 🔍 STOMP 프레임이 속한 세션의 사용자 (CONNECT 때 세션 속성에 저장, 인증되지 않은 세션이면 null)
+     */
+    public static ChatPrincipal from(SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        return attributes != null && attributes.get(SESSION_ATTRIBUTE) instanceof ChatPrincipal principal ? principal : null;
+    }
+}
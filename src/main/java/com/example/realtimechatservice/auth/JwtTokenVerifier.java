@@ -0,0 +1,44 @@
+package com.example.realtimechatservice.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 🔐 JwtTokenVerifier
+ *
+ * - UserService의 JwtUtil.createToken이 발급한 토큰을 공유 키(chat.auth.jwt.secret)로 검증합니다. (UserService 호출 없음)
+ * - 파서는 생성 시 한 번만 만들어 재사용합니다. (스레드 안전)
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser parser;
+
+    public JwtTokenVerifier(@Value("${chat.auth.jwt.secret}") String secret) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    /**
+     * ✅ 서명과 만료를 확인하고 토큰의 사용자 정보를 반환
+     *
+     * @param token JWT 문자열 ("Bearer " 제외)
+     * @return 토큰의 claim (subject = 이메일, userId)
+     * @throws JwtException 서명 오류, 만료, 형식 오류 등
+     */
+    public Claims verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getSubject() == null || claims.getSubject().isBlank()) {
+            throw new JwtException("토큰에 사용자 이메일(subject)이 없습니다.");
+        }
+        return claims;
+    }
+}
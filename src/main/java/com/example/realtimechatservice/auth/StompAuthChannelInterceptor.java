@@ -0,0 +1,114 @@
+package com.example.realtimechatservice.auth;
+
+import com.example.realtimechatservice.service.UserNicknameService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 🛂 StompAuthChannelInterceptor - STOMP CONNECT 시 한 번만 사용자 확인
+ *
+ * - CONNECT 프레임의 "Authorization: Bearer {JWT}" 헤더를 공유 키로 검증하고(JwtTokenVerifier),
+ *   닉네임을 한 번 조회해 ChatPrincipal로 세션 속성과 세션 사용자에 저장합니다.
+ * - 이후 프레임은 세션의 ChatPrincipal을 그대로 사용하므로 메시지마다 닉네임 조회(UserService 호출)가 없습니다.
+ * - chat.auth.required=true면 토큰이 없거나 올바르지 않은 CONNECT를 ERROR 프레임으로 거절합니다.
+ *   false면 토큰 없는 연결을 익명 세션으로 받습니다. (이 경우만 메시지 본문의 이메일로 메시지마다 닉네임 조회)
+ * - 토큰 만료 시각은 CONNECT 때만 확인합니다. (이미 연결된 세션은 끊지 않음)
+ */
+@Slf4j
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    // 🏷️ CONNECT 프레임의 토큰 헤더
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final UserNicknameService userNicknameService;
+    private final boolean required;
+
+    private final Counter authenticated;
+    private final Counter anonymous;
+    private final Counter rejected;
+
+    public StompAuthChannelInterceptor(JwtTokenVerifier jwtTokenVerifier,
+                                       UserNicknameService userNicknameService,
+                                       @Value("${chat.auth.required}") boolean required,
+                                       MeterRegistry meterRegistry) {
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.userNicknameService = userNicknameService;
+        this.required = required;
+        this.authenticated = connectCounter(meterRegistry, "authenticated");
+        this.anonymous = connectCounter(meterRegistry, "anonymous");
+        this.rejected = connectCounter(meterRegistry, "rejected");
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String token = bearerToken(accessor.getFirstNativeHeader(AUTHORIZATION_HEADER));
+        if (token == null) {
+            if (required) {
+                rejected.increment();
+                throw new MessageDeliveryException(message, "인증 토큰이 필요합니다.");
+            }
+            anonymous.increment();
+            return message;
+        }
+
+        ChatPrincipal principal;
+        try {
+            Claims claims = jwtTokenVerifier.verify(token);
+            String email = claims.getSubject();
+            principal = new ChatPrincipal(claims.get("userId", Long.class), email,
+                    userNicknameService.getNicknameByEmail(email));
+        } catch (JwtException e) {
+            rejected.increment();
+            throw new MessageDeliveryException(message, "인증 토큰이 올바르지 않거나 만료되었습니다.");
+        } catch (RuntimeException e) {
+            rejected.increment();
+            log.warn("🛂 CONNECT 사용자 닉네임 조회 실패", e);
+            throw new MessageDeliveryException(message, "사용자 정보를 확인할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes != null) {
+            attributes.put(ChatPrincipal.SESSION_ATTRIBUTE, principal);
+        }
+        accessor.setUser(principal);
+        authenticated.increment();
+        return message;
+    }
+
+    private static String bearerToken(String header) {
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static Counter connectCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chat.auth.connect")
+                .description("STOMP CONNECT 사용자 확인 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.realtimechatservice.broadcast;
+
+import com.example.realtimechatservice.config.RabbitConfig;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 📢 ChatBroadcaster
+ *
+ * - 저장이 끝난 채팅 메시지를 채팅방 구독자에게 전달하는 컴포넌트
+ * - local 모드: 이 노드의 SimpleBroker로 바로 전송 (단일 노드 구성)
+ * - rabbit 모드: "chat.broadcast" Exchange에 "chat.room.{roomId}"로 발행하고,
+ *   해당 방 구독자가 있는 노드들만 받아서 각자 로컬 구독자에게 전달 (RoomFanoutListener)
+ * - chat.broadcast.coalesce.enabled=true 이면 로컬 전달 시 "/topic/chat/room/{roomId}/batch" 묶음 프레임도 함께 전송 (RoomFrameCoalescer)
+ * - 소요 시간 지표: chat.broadcast{mode} (소비자 → 팬아웃 발행 또는 로컬 전달), chat.broadcast.local (로컬 구독자 전달)
+ */
+@Component
+public class ChatBroadcaster {
+
+    // 📍 클라이언트 구독 경로 prefix
+    public static final String ROOM_TOPIC_PREFIX = "/topic/chat/room/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final boolean rabbitFanout;
+    private final RoomFrameCoalescer roomFrameCoalescer;
+
+    // 📊 브로드캐스트 / 로컬 전달 소요 시간
+    private final Timer broadcastTimer;
+    private final Timer localDeliveryTimer;
+
+    public ChatBroadcaster(SimpMessagingTemplate messagingTemplate,
+                           RabbitTemplate rabbitTemplate,
+                           @Value("${chat.fanout.mode}") String fanoutMode,
+                           RoomFrameCoalescer roomFrameCoalescer,
+                           MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitFanout = "rabbit".equalsIgnoreCase(fanoutMode);
+        this.roomFrameCoalescer = roomFrameCoalescer;
+        this.broadcastTimer = Timer.builder("chat.broadcast")
+                .description("저장된 메시지 한 건의 브로드캐스트 시간")
+                .tag("mode", rabbitFanout ? "rabbit" : "local")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.localDeliveryTimer = Timer.builder("chat.broadcast.local")
+                .description("이 노드 구독자에게 convertAndSend 하는 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ 같은 채팅방의 모든 구독자(모든 노드)에게 메시지 전달
+     */
+    public void broadcast(ChatMessageDTO dto) {
+        broadcastTimer.record(() -> {
+            if (rabbitFanout) {
+                rabbitTemplate.convertAndSend(
+                        RabbitConfig.BROADCAST_EXCHANGE_NAME,
+                        RabbitConfig.ROOM_ROUTING_KEY_PREFIX + dto.getRoomId(),
+                        dto,
+                        message -> {
+                            message.getMessageProperties().setHeader(RabbitConfig.PUBLISHED_AT_HEADER, System.currentTimeMillis());
+                            return message;
+                        }
+                );
+            } else {
+                deliverLocally(dto);
+            }
+        });
+    }
+
+    /**
+     * 📡 이 노드에 연결된 구독자에게만 메시지 전달
+     * - 묶음 모드에서는 메시지당 프레임(기존 경로)과 함께 묶음 프레임 경로에도 모아서 전달
+     */
+    public void deliverLocally(ChatMessageDTO dto) {
+        localDeliveryTimer.record(() -> messagingTemplate.convertAndSend(
+                ROOM_TOPIC_PREFIX + dto.getRoomId(), // 구독 경로
+                dto                                  // 보낼 메시지
+        ));
+        if (roomFrameCoalescer.isEnabled()) {
+            roomFrameCoalescer.add(dto);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.realtimechatservice.broadcast;
+
+import com.example.realtimechatservice.config.RabbitConfig;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.search.ChatSearchIndex;
+import com.example.realtimechatservice.service.RecentMessageBuffer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📭 RoomFanoutListener (chat.fanout.mode=rabbit 전용)
+ *
+ * - 이 노드의 STOMP 구독 상황을 추적해, 구독자가 있는 방에 대해서만
+ *   노드 전용 큐를 "chat.room.{roomId}" 라우팅 키로 바인딩함 (관심 기반 팬아웃)
+ * - 방의 첫 구독자가 생기면 바인딩 추가, 마지막 구독자가 나가면 바인딩 제거
+ * - 노드 전용 큐로 들어온 메시지는 로컬 SimpleBroker를 통해 구독자에게 전달하고,
+ *   다른 노드가 저장한 메시지도 최근 메시지 버퍼와 검색 색인에 반영 (ID 기준 중복 무시)
+ * - 구독 수 증감은 맵 compute 안에서, 바인딩 선언/제거(브로커 왕복)는 compute 밖에서 방별 잠금으로 처리
+ * - 최근 메시지 버퍼는 바인딩된 방만 보관 → 바인딩 전후로 놓친 메시지가 있는 버퍼로 응답하지 않도록
+ */
+@Component
+@ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "rabbit")
+public class RoomFanoutListener {
+
+    private static final int BINDING_LOCK_STRIPES = 64;
+
+    private final AmqpAdmin amqpAdmin;
+    private final AnonymousQueue roomFanoutQueue;
+    private final TopicExchange broadcastExchange;
+    private final ChatBroadcaster chatBroadcaster;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ChatSearchIndex chatSearchIndex;
+
+    // 🗂️ sessionId → (subscriptionId → roomId)
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    // 🔢 roomId → 이 노드의 구독 수
+    private final Map<Long, Integer> roomSubscriberCounts = new ConcurrentHashMap<>();
+
+    // 📌 실제로 팬아웃 큐에 바인딩된 방 (구독 수와 바인딩 상태를 맞추는 동안 잠시 어긋날 수 있음)
+    private final Set<Long> boundRooms = ConcurrentHashMap.newKeySet();
+
+    // 🔒 방별 바인딩 변경 직렬화용 잠금 (roomId 해시로 분산)
+    private final Object[] bindingLocks = new Object[BINDING_LOCK_STRIPES];
+
+    public RoomFanoutListener(AmqpAdmin amqpAdmin,
+                              AnonymousQueue roomFanoutQueue,
+                              TopicExchange broadcastExchange,
+                              ChatBroadcaster chatBroadcaster,
+                              RecentMessageBuffer recentMessageBuffer,
+                              ChatSearchIndex chatSearchIndex,
+                              ConnectionFactory connectionFactory,
+                              MeterRegistry meterRegistry) {
+        this.amqpAdmin = amqpAdmin;
+        this.roomFanoutQueue = roomFanoutQueue;
+        this.broadcastExchange = broadcastExchange;
+        this.chatBroadcaster = chatBroadcaster;
+        this.recentMessageBuffer = recentMessageBuffer;
+        this.chatSearchIndex = chatSearchIndex;
+        for (int i = 0; i < BINDING_LOCK_STRIPES; i++) {
+            bindingLocks[i] = new Object();
+        }
+
+        // 🧺 모든 메시지가 이 노드로 들어오는 방(바인딩된 방)만 최근 메시지 버퍼에 보관
+        recentMessageBuffer.trackOnly(boundRooms::contains);
+
+        // 🔁 연결이 재수립되면 큐가 새로 만들어지므로, 현재 관심 방 바인딩을 다시 선언
+        //    (연결이 끊긴 동안 놓친 메시지가 있을 수 있으므로 버퍼도 비움)
+        connectionFactory.addConnectionListener(connection ->
+                roomSubscriberCounts.keySet().forEach(roomId -> syncBinding(roomId, true)));
+
+        Gauge.builder("chat.fanout.bound.rooms", boundRooms, Set::size)
+                .description("이 노드가 팬아웃 큐에 바인딩한 방 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 🐰 노드 전용 팬아웃 큐 수신 → 최근 메시지 버퍼/검색 색인 반영 후 로컬 구독자에게 전달
+     * - 이 노드가 저장한 메시지도 다시 들어오지만, 버퍼와 색인 모두 같은 ID는 무시함
+     */
+    @RabbitListener(queues = "#{roomFanoutQueue.name}")
+    public void receiveBroadcast(ChatMessageDTO dto) {
+        if (dto.getId() != null && dto.getRoomId() != null) {
+            ChatMessageView view = ChatMessageView.from(dto);
+            recentMessageBuffer.append(view);
+            chatSearchIndex.index(view);
+        }
+        chatBroadcaster.deliverLocally(dto);
+    }
+
+    /**
+     * ➕ 방 구독 시작
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = parseRoomId(accessor.getDestination());
+        if (roomId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+
+        if (roomSubscriberCounts.merge(roomId, 1, Integer::sum) == 1) {
+            syncBinding(roomId, false); // 0 → 1: 이 방 메시지를 받기 시작
+        }
+    }
+
+    /**
+     * ➖ 방 구독 해제
+     */
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null) {
+            release(roomId);
+        }
+    }
+
+    /**
+     * 🔌 세션 종료 시 해당 세션의 모든 구독 해제
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(Long roomId) {
+        Integer remaining = roomSubscriberCounts.computeIfPresent(roomId, (id, count) -> count <= 1 ? null : count - 1);
+        if (remaining == null) {
+            syncBinding(roomId, false); // 1 → 0: 더 이상 이 방 메시지를 받을 필요 없음
+        }
+    }
+
+    /**
+     * 🔗 구독 수(roomSubscriberCounts)에 맞춰 바인딩 상태를 맞춤
+     * - 브로커 호출은 맵 compute 밖에서 하고, 같은 방의 구독/해제가 겹치면 잠금 안에서 최신 구독 수를 다시 보고 결정
+     * - 바인딩 상태가 바뀔 때마다 최근 메시지 버퍼를 비움 (바인딩되지 않은 동안 놓친 메시지가 있을 수 있음)
+     *
+     * @param redeclare 이미 바인딩된 방도 다시 선언할지 (연결 재수립 시)
+     */
+    private void syncBinding(Long roomId, boolean redeclare) {
+        synchronized (bindingLocks[Math.floorMod(roomId.hashCode(), BINDING_LOCK_STRIPES)]) {
+            boolean wanted = roomSubscriberCounts.containsKey(roomId);
+            if (wanted == boundRooms.contains(roomId) && !(wanted && redeclare)) {
+                return;
+            }
+            if (wanted) {
+                bind(roomId);
+                boundRooms.add(roomId);
+            } else {
+                boundRooms.remove(roomId);
+                unbind(roomId);
+            }
+            recentMessageBuffer.evict(roomId);
+        }
+    }
+
+    private void bind(Long roomId) {
+        amqpAdmin.declareBinding(roomBinding(roomId));
+    }
+
+    private void unbind(Long roomId) {
+        amqpAdmin.removeBinding(roomBinding(roomId));
+    }
+
+    private Binding roomBinding(Long roomId) {
+        return BindingBuilder.bind(roomFanoutQueue)
+                .to(broadcastExchange)
+                .with(RabbitConfig.ROOM_ROUTING_KEY_PREFIX + roomId);
+    }
+
+    /**
+     * 🔍 "/topic/chat/room/{roomId}" (및 그 하위 경로)에서 roomId 추출
+     */
+    static Long parseRoomId(String destination) {
+        if (destination == null || !destination.startsWith(ChatBroadcaster.ROOM_TOPIC_PREFIX)) {
+            return null;
+        }
+        String rest = destination.substring(ChatBroadcaster.ROOM_TOPIC_PREFIX.length());
+        int slash = rest.indexOf('/');
+        try {
+            return Long.valueOf(slash < 0 ? rest : rest.substring(0, slash));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.realtimechatservice.broadcast;
+
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📦 RoomFrameCoalescer
+ *
+ * - 같은 방에 짧은 시간(chat.broadcast.coalesce.window) 안에 나온 메시지를 모아 STOMP 프레임 하나로 전달
+ * - 전달 경로: "/topic/chat/room/{roomId}/batch", 본문은 메시지 배열(순번 오름차순), 헤더 "x-chat-batch-size"에 건수
+ * - 기존 경로 "/topic/chat/room/{roomId}"는 그대로 메시지당 프레임 하나 → 배열을 모르는 클라이언트는 기존 경로를 계속 구독
+ * - 창이 끝나거나 chat.broadcast.coalesce.max-size에 도달하면 바로 전송
+ * - 이 노드에 "/batch" 구독자가 있는 방만 모음 (구독 상황은 RoomFanoutListener처럼 STOMP 구독 이벤트로 추적)
+ * - 프레임당 메시지 수 지표: chat.broadcast.coalesced.size
+ */
+@Component
+public class RoomFrameCoalescer {
+
+    // 📍 묶음 프레임 구독 경로 suffix ("/topic/chat/room/{roomId}" 뒤에 붙음)
+    public static final String BATCH_DESTINATION_SUFFIX = "/batch";
+
+    // 🏷️ 묶음 프레임에 담긴 메시지 수 헤더
+    public static final String BATCH_SIZE_HEADER = "x-chat-batch-size";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxSize;
+
+    // 방별로 모으는 중인 메시지
+    private final Map<Long, RoomBatch> rooms = new ConcurrentHashMap<>();
+
+    // 🗂️ sessionId → (subscriptionId → roomId), "/batch" 구독만
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    // 🔢 roomId → 이 노드의 "/batch" 구독 수
+    private final Map<Long, Integer> batchSubscriberCounts = new ConcurrentHashMap<>();
+
+    // 창 종료 시 전송을 맡는 스케줄러 (비활성화 시 null)
+    private final ScheduledExecutorService scheduler;
+
+    // 📊 프레임당 메시지 수
+    private final DistributionSummary frameSize;
+
+    public RoomFrameCoalescer(SimpMessagingTemplate messagingTemplate,
+                              @Value("${chat.broadcast.coalesce.enabled}") boolean enabled,
+                              @Value("${chat.broadcast.coalesce.window}") Duration window,
+                              @Value("${chat.broadcast.coalesce.max-size}") int maxSize,
+                              MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.scheduler = enabled ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "chat-coalesce");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.frameSize = DistributionSummary.builder("chat.broadcast.coalesced.size")
+                .description("묶음 프레임 하나에 담긴 메시지 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ✅ 메시지를 방 묶음에 추가 (창의 첫 메시지면 창 종료 시 전송 예약)
+     * - 이 노드에 "/batch" 구독자가 없는 방이면 아무것도 하지 않음
+     */
+    public void add(ChatMessageDTO dto) {
+        if (!batchSubscriberCounts.containsKey(dto.getRoomId())) {
+            return;
+        }
+        while (true) {
+            RoomBatch batch = rooms.computeIfAbsent(dto.getRoomId(), RoomBatch::new);
+            synchronized (batch) {
+                if (batch.retired) {
+                    continue; // 방금 전송을 마치고 제거된 묶음 → 새 묶음으로 다시 시도
+                }
+                batch.pending.add(dto);
+                if (batch.pending.size() >= maxSize) {
+                    flush(batch);
+                } else if (!batch.scheduled) {
+                    batch.scheduled = true;
+                    scheduler.schedule(() -> closeWindow(batch), windowNanos, TimeUnit.NANOSECONDS);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * ➕ "/batch" 구독 시작
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = parseBatchRoomId(accessor.getDestination());
+        if (roomId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+        batchSubscriberCounts.merge(roomId, 1, Integer::sum);
+    }
+
+    /**
+     * ➖ "/batch" 구독 해제
+     */
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null) {
+            release(roomId);
+        }
+    }
+
+    /**
+     * 🔌 세션 종료 시 해당 세션의 "/batch" 구독 모두 해제
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * 🛑 종료 시 모으는 중인 메시지를 모두 전송
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        rooms.values().forEach(this::closeWindow);
+    }
+
+    /**
+     * ⏰ 창 종료: 남은 메시지를 전송하고 묶음을 제거 (다음 메시지는 새 창을 시작)
+     */
+    private void closeWindow(RoomBatch batch) {
+        synchronized (batch) {
+            flush(batch);
+            batch.retired = true;
+            rooms.remove(batch.roomId, batch);
+        }
+    }
+
+    /**
+     * 📡 모인 메시지를 프레임 하나로 전송 (호출자가 batch 락을 잡고 있어 방 내부 전송 순서가 유지됨)
+     */
+    private void flush(RoomBatch batch) {
+        if (batch.pending.isEmpty()) {
+            return;
+        }
+        List<ChatMessageDTO> messages = new ArrayList<>(batch.pending);
+        batch.pending.clear();
+        messagingTemplate.convertAndSend(
+                ChatBroadcaster.ROOM_TOPIC_PREFIX + batch.roomId + BATCH_DESTINATION_SUFFIX,
+                messages,
+                Map.of(BATCH_SIZE_HEADER, messages.size())
+        );
+        frameSize.record(messages.size());
+    }
+
+    private void release(Long roomId) {
+        batchSubscriberCounts.computeIfPresent(roomId, (id, count) -> count <= 1 ? null : count - 1);
+    }
+
+    /**
+     * 🔍 "/topic/chat/room/{roomId}/batch"에서 roomId 추출 (다른 경로면 null)
+     */
+    static Long parseBatchRoomId(String destination) {
+        if (destination == null
+                || !destination.startsWith(ChatBroadcaster.ROOM_TOPIC_PREFIX)
+                || !destination.endsWith(BATCH_DESTINATION_SUFFIX)) {
+            return null;
+        }
+        String id = destination.substring(ChatBroadcaster.ROOM_TOPIC_PREFIX.length(),
+                destination.length() - BATCH_DESTINATION_SUFFIX.length());
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 🧺 방 하나의 현재 창
+     */
+    private static final class RoomBatch {
+
+        private final Long roomId;
+        private final List<ChatMessageDTO> pending = new ArrayList<>();
+        private boolean scheduled;
+        private boolean retired;
+
+        RoomBatch(Long roomId) {
+            this.roomId = roomId;
+        }
+    }
+}
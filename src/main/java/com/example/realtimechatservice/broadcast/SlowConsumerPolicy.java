@@ -0,0 +1,110 @@
+package com.example.realtimechatservice.broadcast;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 🐢 SlowConsumerPolicy
+ *
+ * - 세션별 전송 시간/전송 버퍼 상한과, 버퍼가 넘쳤을 때의 처리 방식을 정의
+ *   · disconnect: 세션 종료 (기본, Spring 기본 동작과 동일)
+ *   · drop-oldest: 가장 오래된 MESSAGE 프레임부터 버림 (채팅 메시지는 클라이언트가 seq 빈틈으로 감지해 다시 받아감)
+ *   · drop-ephemeral: chat.websocket.ephemeral-destinations에 해당하는 프레임만 버리고, 그래도 넘치면 세션 종료
+ * - 전송 한 번이 send-time-limit를 넘겨 멈춰 있으면 정책과 관계없이 세션 종료
+ * - 지표: chat.websocket.slow.disconnects{reason}, chat.websocket.slow.dropped{policy}
+ */
+@Slf4j
+@Component
+public class SlowConsumerPolicy {
+
+    public enum OverflowPolicy { DISCONNECT, DROP_OLDEST, DROP_EPHEMERAL }
+
+    private final int sendTimeLimitMillis;
+    private final int bufferSizeLimitBytes;
+    private final OverflowPolicy overflowPolicy;
+    private final List<String> ephemeralDestinations;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // 📊 느린 세션 종료 / 버린 프레임 수
+    private final Counter sendTimeDisconnects;
+    private final Counter bufferDisconnects;
+    private final Counter dropped;
+
+    public SlowConsumerPolicy(@Value("${chat.websocket.send-time-limit}") Duration sendTimeLimit,
+                              @Value("${chat.websocket.send-buffer-size-limit}") DataSize bufferSizeLimit,
+                              @Value("${chat.websocket.overflow-policy}") String overflowPolicy,
+                              @Value("${chat.websocket.ephemeral-destinations}") List<String> ephemeralDestinations,
+                              MeterRegistry meterRegistry) {
+        this.sendTimeLimitMillis = Math.toIntExact(sendTimeLimit.toMillis());
+        this.bufferSizeLimitBytes = Math.toIntExact(bufferSizeLimit.toBytes());
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.ephemeralDestinations = ephemeralDestinations;
+
+        this.sendTimeDisconnects = Counter.builder("chat.websocket.slow.disconnects")
+                .description("전송 지연/버퍼 초과로 종료한 세션 수")
+                .tag("reason", "send-time")
+                .register(meterRegistry);
+        this.bufferDisconnects = Counter.builder("chat.websocket.slow.disconnects")
+                .description("전송 지연/버퍼 초과로 종료한 세션 수")
+                .tag("reason", "buffer")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("chat.websocket.slow.dropped")
+                .description("버퍼 초과로 버린 프레임 수")
+                .tag("policy", overflowPolicy.trim().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    public int sendTimeLimitMillis() {
+        return sendTimeLimitMillis;
+    }
+
+    public int bufferSizeLimitBytes() {
+        return bufferSizeLimitBytes;
+    }
+
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * 🎁 세션을 정책이 적용된 전송 데코레이터로 감쌈
+     */
+    public WebSocketSession decorate(WebSocketSession session) {
+        return new SlowConsumerSessionDecorator(session, this);
+    }
+
+    /**
+     * 🔍 버려도 되는(다시 받을 필요 없는) 구독 경로인지 확인
+     */
+    boolean isEphemeral(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String pattern : ephemeralDestinations) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void recordDropped(String sessionId, int count) {
+        dropped.increment(count);
+        log.debug("🐢 느린 세션 {}: 프레임 {}개 버림 ({})", sessionId, count, overflowPolicy);
+    }
+
+    void recordDisconnect(String sessionId, boolean sendTimeExceeded, String reason) {
+        (sendTimeExceeded ? sendTimeDisconnects : bufferDisconnects).increment();
+        log.warn("🐢 느린 세션 종료 {}: {}", sessionId, reason);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.realtimechatservice.broadcast;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧱 SlowConsumerSessionDecorator
+ *
+ * - Spring의 ConcurrentWebSocketSessionDecorator와 같은 방식으로 세션당 한 스레드만 실제 전송하고,
+ *   나머지 스레드는 버퍼에 넣고 바로 돌아감 → 느린 소켓 하나가 outbound 스레드를 붙잡지 않음
+ * - 버퍼가 상한을 넘으면 SlowConsumerPolicy의 정책(종료 / 오래된 프레임 버림 / 일시적 프레임만 버림)을 적용
+ * - 종료가 필요하면 SessionLimitExceededException을 던지고, SubProtocolWebSocketHandler가 세션을 닫음
+ */
+class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+
+    // 📍 버려도 되는 프레임 종류 (CONNECTED, RECEIPT, ERROR 등은 버리지 않음)
+    private static final String MESSAGE_FRAME_PREFIX = "MESSAGE\n";
+    private static final String DESTINATION_HEADER = "\ndestination:";
+
+    private final SlowConsumerPolicy policy;
+
+    private final Queue<WebSocketMessage<?>> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    private final Lock flushLock = new ReentrantLock();
+    private final Lock limitLock = new ReentrantLock();
+
+    private volatile long sendStartTime;
+    private volatile boolean limitExceeded;
+
+    SlowConsumerSessionDecorator(WebSocketSession session, SlowConsumerPolicy policy) {
+        super(session);
+        this.policy = policy;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (limitExceeded || !isOpen()) {
+            return;
+        }
+        buffer.add(message);
+        bufferSize.addAndGet(message.getPayloadLength());
+
+        do {
+            if (!tryFlush()) {
+                checkLimits();
+                break;
+            }
+        } while (!buffer.isEmpty() && !limitExceeded);
+    }
+
+    /**
+     * 📤 전송 락을 잡은 스레드만 버퍼를 비움
+     * @return 락을 잡았는지 여부
+     */
+    private boolean tryFlush() throws IOException {
+        if (!flushLock.tryLock()) {
+            return false;
+        }
+        try {
+            WebSocketMessage<?> message;
+            while (!limitExceeded && (message = buffer.poll()) != null) {
+                bufferSize.addAndGet(-message.getPayloadLength());
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(message);
+                sendStartTime = 0;
+            }
+        } finally {
+            sendStartTime = 0;
+            flushLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 🚦 전송 중인 스레드가 있을 때 시간/버퍼 상한 확인
+     */
+    private void checkLimits() {
+        if (limitExceeded || !limitLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = sendStartTime;
+            long elapsed = start == 0 ? 0 : System.currentTimeMillis() - start;
+            if (elapsed > policy.sendTimeLimitMillis()) {
+                disconnect(true, "전송 시간 " + elapsed + "ms가 상한 " + policy.sendTimeLimitMillis() + "ms 초과");
+            }
+            if (bufferSize.get() <= policy.bufferSizeLimitBytes()) {
+                return;
+            }
+            switch (policy.overflowPolicy()) {
+                case DROP_OLDEST -> drop(false);
+                case DROP_EPHEMERAL -> drop(true);
+                case DISCONNECT -> { }
+            }
+            if (bufferSize.get() > policy.bufferSizeLimitBytes()) {
+                disconnect(false, "전송 버퍼 " + bufferSize.get() + "B가 상한 " + policy.bufferSizeLimitBytes() + "B 초과");
+            }
+        } finally {
+            limitLock.unlock();
+        }
+    }
+
+    /**
+     * 🗑️ 오래된 MESSAGE 프레임부터 버퍼가 상한 아래로 내려갈 때까지 버림
+     * @param ephemeralOnly true면 일시적 구독 경로의 프레임만 버림
+     */
+    private void drop(boolean ephemeralOnly) {
+        int count = 0;
+        Iterator<WebSocketMessage<?>> it = buffer.iterator();
+        while (bufferSize.get() > policy.bufferSizeLimitBytes() && it.hasNext()) {
+            WebSocketMessage<?> message = it.next();
+            String frame = frameHead(message);
+            if (frame == null || !frame.startsWith(MESSAGE_FRAME_PREFIX)) {
+                continue;
+            }
+            if (ephemeralOnly && !policy.isEphemeral(destination(frame))) {
+                continue;
+            }
+            if (buffer.remove(message)) {
+                bufferSize.addAndGet(-message.getPayloadLength());
+                count++;
+            }
+        }
+        if (count > 0) {
+            policy.recordDropped(getId(), count);
+        }
+    }
+
+    private void disconnect(boolean sendTimeExceeded, String reason) {
+        limitExceeded = true;
+        buffer.clear();
+        bufferSize.set(0);
+        policy.recordDisconnect(getId(), sendTimeExceeded, reason);
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /**
+     * 🔍 STOMP 프레임 앞부분(명령 + 헤더)만 문자열로 읽음
+     */
+    private static String frameHead(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            String payload = text.getPayload();
+            int end = payload.indexOf("\n\n");
+            return end < 0 ? payload : payload.substring(0, end + 1);
+        }
+        if (message instanceof BinaryMessage binary) {
+            var bytes = binary.getPayload().duplicate();
+            byte[] head = new byte[Math.min(bytes.remaining(), 512)];
+            bytes.get(head);
+            return new String(head, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static String destination(String frameHead) {
+        int start = frameHead.indexOf(DESTINATION_HEADER);
+        if (start < 0) {
+            return null;
+        }
+        start += DESTINATION_HEADER.length();
+        int end = frameHead.indexOf('\n', start);
+        return end < 0 ? frameHead.substring(start) : frameHead.substring(start, end);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        limitExceeded = true;
+        super.close(status);
+    }
+}
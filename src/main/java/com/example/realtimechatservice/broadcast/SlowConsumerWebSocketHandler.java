@@ -0,0 +1,29 @@
+package com.example.realtimechatservice.broadcast;
+
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * 🔌 SlowConsumerWebSocketHandler
+ *
+ * - STOMP 세션마다 기본 ConcurrentWebSocketSessionDecorator 대신 SlowConsumerSessionDecorator를 씌우는 핸들러
+ * - 그 외 동작(프로토콜 처리, 세션 관리)은 SubProtocolWebSocketHandler와 동일
+ */
+public class SlowConsumerWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final SlowConsumerPolicy policy;
+
+    public SlowConsumerWebSocketHandler(MessageChannel clientInboundChannel,
+                                        SubscribableChannel clientOutboundChannel,
+                                        SlowConsumerPolicy policy) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.policy = policy;
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        return policy.decorate(session);
+    }
+}
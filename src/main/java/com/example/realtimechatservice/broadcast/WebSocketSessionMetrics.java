@@ -0,0 +1,69 @@
+package com.example.realtimechatservice.broadcast;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📊 WebSocketSessionMetrics
+ *
+ * - 이 노드에 연결된 STOMP 세션 수(chat.websocket.sessions)와 구독 수(chat.websocket.subscriptions)를 게이지로 노출
+ * - 세션 연결/종료, 구독/구독 해제 이벤트로 집계하며, 세션이 끊기면 그 세션의 구독도 함께 정리
+ */
+@Component
+public class WebSocketSessionMetrics {
+
+    // 🗂️ sessionId → 구독 ID 목록
+    private final Map<String, Set<String>> sessions = new ConcurrentHashMap<>();
+
+    public WebSocketSessionMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.websocket.sessions", sessions, Map::size)
+                .description("연결된 STOMP 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.subscriptions", sessions,
+                        s -> s.values().stream().mapToInt(Set::size).sum())
+                .description("활성 STOMP 구독 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            sessions.computeIfAbsent(accessor.getSessionId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Set<String> subscriptions = sessions.get(accessor.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.remove(accessor.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+}
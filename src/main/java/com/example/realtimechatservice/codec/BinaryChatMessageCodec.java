@@ -0,0 +1,157 @@
+package com.example.realtimechatservice.codec;
+
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 🧬 BinaryChatMessageCodec
+ *
+ * - ChatMessageDTO 전용 고정 레이아웃 바이너리 코덱 (content-type: application/x-chat-message)
+ * - 필드 이름 없이 순서대로 기록하고, LocalDateTime은 문자열 대신 (초, 나노초) 숫자로 기록함
+ *
+ * 📐 스키마 v2 레이아웃 (빅 엔디언)
+ * <pre>
+ * byte    version (=2)
+ * byte    presence  (bit0 roomId, bit1 createdAt, bit2 id, bit3 seq)
+ * long    roomId                      (bit0)
+ * string  userEmail, userName, content (int 길이 + UTF-8, 길이 -1 = null)
+ * long    createdAt epoch seconds (UTC 기준 LocalDateTime) (bit1)
+ * int     createdAt nanos                                   (bit1)
+ * long    id                                                (bit2, v2)
+ * long    seq                                               (bit3, v2)
+ * </pre>
+ * - v1은 id/seq가 없는 같은 레이아웃이므로 계속 읽을 수 있음
+ * - v1만 아는 노드는 v2를 읽지 못하므로, 바이너리 코덱 사용 중에는 소비 노드를 먼저 배포해야 함
+ * - 잘리거나 길이/시각 값이 잘못된 본문은 모두 MessageConversionException으로 거절 (재전달되지 않음)
+ */
+public class BinaryChatMessageCodec implements ChatMessageCodec {
+
+    public static final String CONTENT_TYPE = "application/x-chat-message";
+    public static final int SCHEMA_VERSION = 2;
+
+    private static final int HAS_ROOM_ID = 1;
+    private static final int HAS_CREATED_AT = 1 << 1;
+    private static final int HAS_ID = 1 << 2;
+    private static final int HAS_SEQ = 1 << 3;
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public int schemaVersion() {
+        return SCHEMA_VERSION;
+    }
+
+    @Override
+    public byte[] encode(ChatMessageDTO dto) {
+        byte[] email = utf8(dto.getUserEmail());
+        byte[] name = utf8(dto.getUserName());
+        byte[] content = utf8(dto.getContent());
+
+        int size = 2 + 8 + 12 + 8 + 8
+                + 4 + (email == null ? 0 : email.length)
+                + 4 + (name == null ? 0 : name.length)
+                + 4 + (content == null ? 0 : content.length);
+        ByteBuffer buf = ByteBuffer.allocate(size);
+
+        int presence = (dto.getRoomId() != null ? HAS_ROOM_ID : 0)
+                | (dto.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+                | (dto.getId() != null ? HAS_ID : 0)
+                | (dto.getSeq() != null ? HAS_SEQ : 0);
+        buf.put((byte) SCHEMA_VERSION);
+        buf.put((byte) presence);
+        if (dto.getRoomId() != null) {
+            buf.putLong(dto.getRoomId());
+        }
+        putBytes(buf, email);
+        putBytes(buf, name);
+        putBytes(buf, content);
+        if (dto.getCreatedAt() != null) {
+            buf.putLong(dto.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            buf.putInt(dto.getCreatedAt().getNano());
+        }
+        if (dto.getId() != null) {
+            buf.putLong(dto.getId());
+        }
+        if (dto.getSeq() != null) {
+            buf.putLong(dto.getSeq());
+        }
+
+        byte[] out = new byte[buf.position()];
+        buf.flip();
+        buf.get(out);
+        return out;
+    }
+
+    @Override
+    public ChatMessageDTO decode(byte[] body) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(body);
+            int version = buf.get();
+            if (version < 1 || version > SCHEMA_VERSION) {
+                throw new MessageConversionException("지원하지 않는 메시지 스키마 버전: " + version);
+            }
+            int presence = buf.get();
+
+            ChatMessageDTO dto = new ChatMessageDTO();
+            if ((presence & HAS_ROOM_ID) != 0) {
+                dto.setRoomId(buf.getLong());
+            }
+            dto.setUserEmail(getString(buf));
+            dto.setUserName(getString(buf));
+            dto.setContent(getString(buf));
+            if ((presence & HAS_CREATED_AT) != 0) {
+                long seconds = buf.getLong();
+                int nanos = buf.getInt();
+                dto.setCreatedAt(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+            }
+            if ((presence & HAS_ID) != 0) {
+                dto.setId(buf.getLong());
+            }
+            if ((presence & HAS_SEQ) != 0) {
+                dto.setSeq(buf.getLong());
+            }
+            return dto;
+        } catch (BufferUnderflowException e) {
+            throw new MessageConversionException("잘린 바이너리 채팅 메시지", e);
+        } catch (DateTimeException e) {
+            throw new MessageConversionException("잘못된 바이너리 채팅 메시지 시각", e);
+        }
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putBytes(ByteBuffer buf, byte[] bytes) {
+        if (bytes == null) {
+            buf.putInt(-1);
+        } else {
+            buf.putInt(bytes.length);
+            buf.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buf.remaining()) {
+            throw new MessageConversionException("잘못된 바이너리 채팅 메시지 문자열 길이: " + length
+                    + " (남은 바이트 " + buf.remaining() + ")");
+        }
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+        buf.position(buf.position() + length);
+        return s;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.realtimechatservice.codec;
+
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+
+/**
+ * 🧬 ChatMessageCodec
+ *
+ * - ChatMessageDTO를 AMQP 메시지 본문(byte[])으로 인코딩/디코딩하는 코덱 인터페이스
+ * - 코덱마다 고유한 content-type을 가지며, 수신 측은 content-type으로 코덱을 선택함
+ */
+public interface ChatMessageCodec {
+
+    /** 🏷️ 이 코덱이 사용하는 AMQP content-type */
+    String contentType();
+
+    /** 🔢 현재 인코딩하는 스키마 버전 */
+    int schemaVersion();
+
+    /** ➡️ DTO → 바이트 */
+    byte[] encode(ChatMessageDTO dto);
+
+    /** ⬅️ 바이트 → DTO */
+    ChatMessageDTO decode(byte[] body);
+}
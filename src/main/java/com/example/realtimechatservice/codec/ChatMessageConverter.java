@@ -0,0 +1,72 @@
+package com.example.realtimechatservice.codec;
+
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔄 ChatMessageConverter
+ *
+ * - AMQP content-type에 따라 코덱을 선택하는 메시지 컨버터
+ * - 수신: 등록된 바이너리 코덱의 content-type이면 해당 코덱으로, 그 외(application/json 등)는 JSON으로 디코딩
+ *   → 롤아웃 중 이전 노드가 보낸 JSON 메시지도 그대로 처리됨
+ * - 발신: 발행 코덱이 지정되어 있으면 ChatMessageDTO를 바이너리로 인코딩하고, 나머지 타입은 JSON으로 인코딩
+ */
+public class ChatMessageConverter implements SmartMessageConverter {
+
+    // 🏷️ 바이너리 메시지의 스키마 버전 헤더
+    public static final String SCHEMA_HEADER = "x-chat-schema";
+
+    private final Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+    private final Map<String, ChatMessageCodec> codecs = new HashMap<>();
+    private final ChatMessageCodec outbound;
+
+    /**
+     * @param codecs 수신 시 content-type으로 선택할 코덱 목록
+     * @param outbound 발행 시 사용할 코덱 (null이면 JSON)
+     */
+    public ChatMessageConverter(List<ChatMessageCodec> codecs, ChatMessageCodec outbound) {
+        codecs.forEach(codec -> this.codecs.put(codec.contentType(), codec));
+        this.outbound = outbound;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (outbound != null && object instanceof ChatMessageDTO dto) {
+            byte[] body = outbound.encode(dto);
+            messageProperties.setContentType(outbound.contentType());
+            messageProperties.setContentLength(body.length);
+            messageProperties.setHeader(SCHEMA_HEADER, outbound.schemaVersion());
+            return new Message(body, messageProperties);
+        }
+        return json.toMessage(object, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        ChatMessageCodec codec = codecFor(message);
+        return codec != null ? codec.decode(message.getBody()) : json.fromMessage(message);
+    }
+
+    @Override
+    public Object fromMessage(Message message, Object conversionHint) throws MessageConversionException {
+        ChatMessageCodec codec = codecFor(message);
+        return codec != null ? codec.decode(message.getBody()) : json.fromMessage(message, conversionHint);
+    }
+
+    private ChatMessageCodec codecFor(Message message) {
+        String contentType = message.getMessageProperties().getContentType();
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        return codecs.get(semicolon < 0 ? contentType : contentType.substring(0, semicolon).trim());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.realtimechatservice.config;
+
+import com.example.realtimechatservice.consumer.ChatMessageConsumer;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import com.example.realtimechatservice.service.ChatPartitioner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MethodRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🧩 ChatPartitionConfig - 방 단위 순서를 보장하는 파티션 병렬 소비 설정
+ *
+ * - chat.partition.enabled=true 이면 "chat.queue.p{n}" 파티션 큐 N개를 선언하고,
+ *   "chat.message.p{n}" 라우팅 키로 chat.exchange에 바인딩함
+ * - 각 파티션 큐는 x-single-active-consumer 큐로, 여러 노드가 붙어도 한 번에 하나의 소비자만 메시지를 받음
+ * - 이 노드에 할당된 파티션마다 동시성 1의 리스너 컨테이너를 하나씩 등록해
+ *   서로 다른 방은 병렬로, 같은 방은 순서대로 저장/브로드캐스트함
+ * - 파티션 모드에서도 기존 "chat.queue" 리스너는 남아 있어 롤아웃 중 남은 메시지를 비움
+ */
+@Configuration
+public class ChatPartitionConfig implements RabbitListenerConfigurer {
+
+    private final ChatPartitioner chatPartitioner;
+    private final ChatMessageConsumer chatMessageConsumer;
+    private final BeanFactory beanFactory;
+    private final MeterRegistry meterRegistry;
+    private final boolean batchEnabled;
+
+    public ChatPartitionConfig(ChatPartitioner chatPartitioner,
+                               ChatMessageConsumer chatMessageConsumer,
+                               BeanFactory beanFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${chat.consumer.batch.enabled}") boolean batchEnabled) {
+        this.chatPartitioner = chatPartitioner;
+        this.chatMessageConsumer = chatMessageConsumer;
+        this.beanFactory = beanFactory;
+        this.meterRegistry = meterRegistry;
+        this.batchEnabled = batchEnabled;
+    }
+
+    /**
+     * 📬 파티션 큐 + 바인딩 선언 (파티션 모드가 아니면 비어 있음)
+     */
+    @Bean
+    public Declarables partitionDeclarables(TopicExchange exchange,
+                                            @Value("${chat.partition.count}") int partitionCount) {
+        List<Declarable> declarables = new ArrayList<>();
+        if (chatPartitioner.isEnabled()) {
+            for (int p = 0; p < partitionCount; p++) {
+                Queue queue = QueueBuilder.durable(ChatPartitioner.partitionQueueName(p))
+                        .singleActiveConsumer()
+                        .build();
+                declarables.add(queue);
+                declarables.add(BindingBuilder.bind(queue).to(exchange).with(ChatPartitioner.partitionRoutingKey(p)));
+            }
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * 🐰 할당된 파티션마다 리스너 컨테이너 등록
+     * - 배치 모드면 batchListenerContainerFactory + receiveMessages, 아니면 기본 팩토리 + receiveMessage
+     */
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        if (!chatPartitioner.isEnabled()) {
+            return;
+        }
+
+        Method method = batchEnabled
+                ? ReflectionUtils.findMethod(ChatMessageConsumer.class, "receiveMessages", List.class)
+                : ReflectionUtils.findMethod(ChatMessageConsumer.class, "receiveMessage", ChatMessageDTO.class);
+        SimpleRabbitListenerContainerFactory factory = beanFactory.getBean(
+                batchEnabled ? "batchListenerContainerFactory" : "rabbitListenerContainerFactory",
+                SimpleRabbitListenerContainerFactory.class);
+
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.setBeanFactory(beanFactory);
+        handlerMethodFactory.afterPropertiesSet();
+
+        for (int partition : chatPartitioner.assignedPartitions()) {
+            Counter consumed = Counter.builder("chat.partition.messages")
+                    .description("파티션별 소비 메시지 수")
+                    .tag("partition", String.valueOf(partition))
+                    .register(meterRegistry);
+
+            MethodRabbitListenerEndpoint endpoint = new MethodRabbitListenerEndpoint() {
+                @Override
+                public void setupListenerContainer(MessageListenerContainer listenerContainer) {
+                    super.setupListenerContainer(listenerContainer);
+                    // 팩토리에 설정된 후처리(큐 대기 시간 기록 등)는 유지하고 카운터만 추가
+                    ((AbstractMessageListenerContainer) listenerContainer).addAfterReceivePostProcessors(message -> {
+                        consumed.increment();
+                        return message;
+                    });
+                }
+            };
+            endpoint.setId("chat-partition-" + partition);
+            endpoint.setQueueNames(ChatPartitioner.partitionQueueName(partition));
+            endpoint.setConcurrency("1"); // 파티션당 소비자 1개 → 방 내부 순서 보장
+            endpoint.setBatchListener(batchEnabled);
+            endpoint.setBean(chatMessageConsumer);
+            endpoint.setMethod(method);
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            endpoint.setBeanFactory(beanFactory);
+            registrar.registerEndpoint(endpoint, factory);
+        }
+
+        Gauge.builder("chat.partition.assigned", chatPartitioner.assignedPartitions(), List::size)
+                .description("이 노드에 할당된 파티션 수")
+                .register(meterRegistry);
+    }
+}
@@ -1,17 +1,30 @@
 package com.example.realtimechatservice.config;
 
+import com.example.realtimechatservice.codec.BinaryChatMessageCodec;
+import com.example.realtimechatservice.codec.ChatMessageCodec;
+import com.example.realtimechatservice.codec.ChatMessageConverter;
+import com.example.realtimechatservice.consumer.QueueLagRecorder;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory; // ✅ Spring 관리용 ConnectionFactory
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * 🐰 RabbitMQ 설정 클래스
  * - 메시지 교환소(Exchange), 큐(Queue), 라우팅 키(Routing Key)를 설정
- * - JSON 기반 메시지 직렬화/역직렬화 컨버터 설정
+ * - content-type 기반 메시지 직렬화/역직렬화 컨버터 설정 (JSON / 바이너리)
  * - RabbitTemplate에 위 설정들을 연결해 MQ로 메시지를 보내고 받을 수 있도록 구성
+ * - 배치 소비 모드용 리스너 컨테이너 팩토리 구성
+ * - 멀티 노드 팬아웃 모드(chat.fanout.mode=rabbit)용 브로드캐스트 Exchange와 노드 전용 큐 구성
+ * - UserService의 사용자 이벤트(user.events)를 노드마다 받는 전용 큐 구성 (닉네임 캐시 갱신)
  */
 @Configuration
 public class RabbitConfig {
@@ -21,6 +34,18 @@ public class RabbitConfig {
     public static final String QUEUE_NAME = "chat.queue";       // 메시지 소비자가 구독할 큐
     public static final String ROUTING_KEY = "chat.message";    // 메시지를 큐로 라우팅할 키
 
+    // 📢 저장이 끝난 메시지를 모든 노드로 퍼뜨리는 브로드캐스트 Exchange와 방별 라우팅 키 prefix
+    public static final String BROADCAST_EXCHANGE_NAME = "chat.broadcast";
+    public static final String ROOM_ROUTING_KEY_PREFIX = "chat.room.";   // chat.room.{roomId}
+
+    // 👤 UserService가 프로필 변경을 알리는 Exchange와 라우팅 키 (UserService RabbitConfig와 같은 이름)
+    public static final String USER_EVENTS_EXCHANGE_NAME = "user.events";
+    public static final String USER_PROFILE_CHANGED_ROUTING_KEY = "user.profile.changed";
+
+    // ⏱️ 발행 시각(epoch millis) 헤더 - 소비 시점과의 차이로 큐 대기 시간(lag)을 측정
+    // (AMQP timestamp 속성은 초 단위라 밀리초 헤더를 따로 사용)
+    public static final String PUBLISHED_AT_HEADER = "x-chat-published-at";
+
     /**
      * 📦 TopicExchange 설정
      * - 다양한 라우팅 키 패턴을 처리할 수 있는 유연한 교환 방식
@@ -48,24 +73,124 @@ public class RabbitConfig {
     }
 
     /**
-     * 🔄 메시지 직렬화/역직렬화용 컨버터 (JSON 기반)
-     * - DTO를 JSON으로 변환하여 메시지 본문에 담고,
-     *   다시 꺼낼 땐 JSON → DTO 객체로 자동 역직렬화
+     * 📢 브로드캐스트용 TopicExchange (팬아웃 모드 전용)
+     * - 저장된 메시지는 "chat.room.{roomId}" 라우팅 키로 발행됨
+     */
+    @Bean
+    @ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "rabbit")
+    public TopicExchange broadcastExchange() {
+        return new TopicExchange(BROADCAST_EXCHANGE_NAME);
+    }
+
+    /**
+     * 📭 노드 전용 팬아웃 큐 (팬아웃 모드 전용)
+     * - 노드마다 이름이 다른 exclusive/auto-delete 큐로, 노드가 내려가면 함께 삭제됨
+     * - 바인딩은 이 노드에 구독자가 있는 방에 대해서만 동적으로 추가/제거됨 (RoomFanoutListener)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "chat.fanout.mode", havingValue = "rabbit")
+    public AnonymousQueue roomFanoutQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("chat.fanout."));
+    }
+
+    /**
+     * 👤 UserService 사용자 이벤트 Exchange (UserService와 같은 설정으로 선언, 먼저 뜬 쪽이 생성)
+     */
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE_NAME);
+    }
+
+    /**
+     * 📭 노드 전용 사용자 이벤트 큐
+     * - 닉네임 캐시는 노드마다 있으므로 모든 노드가 같은 이벤트를 받아야 함 (공유 큐 X)
+     * - 노드마다 이름이 다른 non-durable/auto-delete 큐로, 노드의 소비자가 끊기면 함께 삭제되고
+     *   그동안 놓친 변경은 캐시 TTL로 보정됨
+     * - exclusive로 만들지 않음 (선언한 채널과 소비자 채널이 달라도 같은 큐를 쓸 수 있도록)
      */
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public Queue userEventsQueue() {
+        return QueueBuilder.nonDurable(new Base64UrlNamingStrategy("chat.user-events.").generateName())
+                .autoDelete()
+                .build();
+    }
+
+    /**
+     * 🔗 프로필 변경 이벤트만 노드 전용 큐로 라우팅
+     */
+    @Bean
+    public Binding userEventsBinding(Queue userEventsQueue, TopicExchange userEventsExchange) {
+        return BindingBuilder.bind(userEventsQueue).to(userEventsExchange).with(USER_PROFILE_CHANGED_ROUTING_KEY);
+    }
+
+    /**
+     * 🔄 메시지 직렬화/역직렬화용 컨버터
+     * - 수신: content-type이 application/x-chat-message면 바이너리 코덱, 그 외는 JSON → DTO로 역직렬화
+     * - 발신: chat.amqp.codec=binary면 ChatMessageDTO를 바이너리로, 아니면 기존처럼 JSON으로 직렬화
+     */
+    @Bean
+    public ChatMessageConverter messageConverter(@Value("${chat.amqp.codec}") String codec) {
+        ChatMessageCodec binary = new BinaryChatMessageCodec();
+        return new ChatMessageConverter(List.of(binary), "binary".equalsIgnoreCase(codec) ? binary : null);
     }
 
     /**
      * 📨 RabbitTemplate: Spring이 제공하는 MQ 송신 도구
      * - MQ로 메시지를 전송할 때 사용되며,
-     *   ConnectionFactory + JSON 컨버터가 연결되어 있음
+     *   ConnectionFactory + content-type 기반 컨버터가 연결되어 있음
      */
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, ChatMessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter()); // JSON 메시지 사용
+        template.setMessageConverter(messageConverter); // JSON / 바이너리 메시지 사용
         return template;
     }
+
+    /**
+     * 🐰 기본(단건) 리스너 컨테이너 팩토리
+     * - Spring Boot 기본 설정을 그대로 적용하고, 가상 스레드 모드면 소비자 스레드를 가상 스레드로 교체
+     * - 받은 메시지마다 큐 대기 시간(chat.consumer.lag)을 기록
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            VirtualThreadConfig virtualThreadConfig,
+            QueueLagRecorder queueLagRecorder) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAfterReceivePostProcessors(queueLagRecorder);
+        if (virtualThreadConfig.isEnabled()) {
+            factory.setTaskExecutor(virtualThreadConfig.listenerExecutor());
+        }
+        return factory;
+    }
+
+    /**
+     * 📦 배치 소비용 리스너 컨테이너 팩토리
+     * - 최대 batchSize개 또는 linger 시간 동안 모인 메시지를 List로 한 번에 전달
+     * - 리스너가 정상 반환한 뒤에 배치 전체를 ack 하므로, 저장 실패 시 배치 전체가 재전달됨
+     * - 나머지 설정(컨버터, ack 모드 등)은 Spring Boot 기본 팩토리와 동일하게 적용
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            VirtualThreadConfig virtualThreadConfig,
+            QueueLagRecorder queueLagRecorder,
+            @Value("${chat.consumer.batch.size}") int batchSize,
+            @Value("${chat.consumer.batch.linger}") Duration linger) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAfterReceivePostProcessors(queueLagRecorder);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(linger.toMillis());
+        factory.setPrefetchCount(Math.max(batchSize, 250)); // prefetch가 배치보다 작으면 배치가 채워지지 않음
+        if (virtualThreadConfig.isEnabled()) {
+            factory.setTaskExecutor(virtualThreadConfig.listenerExecutor());
+        }
+        return factory;
+    }
 }
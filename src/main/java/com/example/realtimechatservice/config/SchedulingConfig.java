@@ -0,0 +1,40 @@
+package com.example.realtimechatservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * ⏰ SchedulingConfig - @Scheduled 작업 실행 스레드 구성
+ *
+ * - STOMP 브로커가 등록하는 messageBrokerTaskScheduler 때문에 Spring Boot 기본 스케줄러가 만들어지지 않아,
+ *   모든 @Scheduled 작업이 브로커 하트비트 스케줄러에 함께 올라가던 것을 분리
+ * - taskScheduler: 짧고 지연에 민감한 주기 작업 (접속 현황 전송/하트비트, 신호 flush, 버퍼 정리)
+ *   → spring.task.scheduling.* 설정(pool.size, thread-name-prefix)을 그대로 사용
+ * - backgroundTaskScheduler: 오래 걸릴 수 있는 디스크/DB 작업 (메시지 보관, 검색 색인 스냅샷)
+ *   → 실행이 길어져도 위 주기 작업을 밀어내지 않음
+ * - 여러 TaskScheduler 빈이 있으면 @Scheduled는 "taskScheduler" 이름의 빈을 기본으로 사용함
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /** 🐢 오래 걸리는 주기 작업용 스케줄러 빈 이름 (@Scheduled(scheduler = ...)) */
+    public static final String BACKGROUND_SCHEDULER = "backgroundTaskScheduler";
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(BACKGROUND_SCHEDULER)
+    public ThreadPoolTaskScheduler backgroundTaskScheduler(@Value("${chat.scheduling.background.pool-size}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("background-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true); // 보관/스냅샷 파일 기록 도중 끊기지 않도록
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.realtimechatservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 🧵 VirtualThreadConfig - 가상 스레드 실행 모드 설정 (JDK 21 이상)
+ *
+ * - chat.threads.virtual.enabled=true 이면 STOMP 인바운드/아웃바운드 채널과 RabbitMQ 리스너 컨테이너가
+ *   고정 크기 플랫폼 스레드 풀 대신 작업마다 가상 스레드를 사용함
+ * - 가상 스레드는 개수 제한이 없으므로, 채널 실행기에는 동시 실행 상한을 두어
+ *   블로킹 작업(닉네임 HTTP 호출, 발행, DB)이 커넥션 풀(Hikari 등)을 한꺼번에 몰아붙이지 않게 함
+ * - 상한에 도달하면 제출한 스레드가 잠시 대기하므로 자연스럽게 유입 속도가 조절됨
+ * - false(기본)면 기존 ThreadPoolTaskExecutor 구성을 그대로 사용
+ * - JDK 21 미만에서 true로 켜면 실행기를 만들기 전에 설정 오류로 기동을 중단함 (빌드 툴체인은 JDK 17)
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private final boolean enabled;
+    private final int inboundConcurrency;
+    private final int outboundConcurrency;
+
+    public VirtualThreadConfig(@Value("${chat.threads.virtual.enabled}") boolean enabled,
+                               @Value("${chat.threads.virtual.inbound-concurrency}") int inboundConcurrency,
+                               @Value("${chat.threads.virtual.outbound-concurrency}") int outboundConcurrency) {
+        if (enabled && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("chat.threads.virtual.enabled=true는 JDK 21 이상에서만 사용할 수 있습니다. (현재 JDK "
+                    + Runtime.version().feature() + ", chat.threads.virtual.enabled=false로 실행하세요)");
+        }
+        this.enabled = enabled;
+        this.inboundConcurrency = inboundConcurrency;
+        this.outboundConcurrency = outboundConcurrency;
+    }
+
+    /** ✅ 가상 스레드 모드 사용 여부 */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 📥 clientInboundChannel 실행기 (동시 실행 상한 적용) */
+    public Executor inboundChannelExecutor() {
+        return virtualThreadExecutor("ws-in-", inboundConcurrency);
+    }
+
+    /** 📤 clientOutboundChannel 실행기 (동시 실행 상한 적용) */
+    public Executor outboundChannelExecutor() {
+        return virtualThreadExecutor("ws-out-", outboundConcurrency);
+    }
+
+    /**
+     * 🐰 리스너 컨테이너 실행기
+     * - 컨테이너는 소비자마다 작업 하나를 오래 실행하므로, 동시 실행 수는 컨테이너 concurrency가 제한함
+     */
+    public Executor listenerExecutor() {
+        return virtualThreadExecutor("amqp-", SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY);
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String prefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true); // JDK 21 이상만 여기까지 옴 (생성자에서 확인)
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.realtimechatservice.config;
+
+import com.example.realtimechatservice.broadcast.SlowConsumerPolicy;
+import com.example.realtimechatservice.broadcast.SlowConsumerWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+/**
+ * 🧩 WebSocketBrokerConfig - @EnableWebSocketMessageBroker 대신 사용하는 STOMP 브로커 구성
+ *
+ * - 동작은 @EnableWebSocketMessageBroker와 같고(WebSocketConfig 등 Configurer를 그대로 적용),
+ *   세션 전송 핸들러만 느린 소비자 정책이 적용된 SlowConsumerWebSocketHandler로 교체
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebSocketBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    // 🐢 세션별 전송 상한 / 초과 시 정책
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new SlowConsumerWebSocketHandler(clientInboundChannel, clientOutboundChannel, slowConsumerPolicy);
+    }
+}
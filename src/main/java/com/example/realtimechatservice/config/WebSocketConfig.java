@@ -1,17 +1,31 @@
 package com.example.realtimechatservice.config;
 
+import com.example.realtimechatservice.auth.StompAuthChannelInterceptor;
+import com.example.realtimechatservice.broadcast.SlowConsumerPolicy;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
 
 /**
  * 📡 WebSocketConfig - STOMP 기반 WebSocket 설정 클래스
  * 실시간 채팅을 위해 WebSocket + STOMP 프로토콜을 설정하는 핵심 구성입니다.
+ * STOMP 브로커 자체는 WebSocketBrokerConfig가 활성화합니다. (느린 소비자 정책 적용)
  */
 @Configuration // Spring 설정 클래스임을 명시
-@EnableWebSocketMessageBroker // WebSocket 메시징을 위한 STOMP 브로커 활성화
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 🧵 가상 스레드 모드 설정
+    private final VirtualThreadConfig virtualThreadConfig;
+
+    // 🐢 세션별 전송 상한 / 초과 시 정책
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    // 🛂 CONNECT 시 JWT 확인 + 세션 사용자 저장
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
     /**
      * 📍 클라이언트가 WebSocket 서버에 연결할 엔드포인트를 등록
      * SockJS를 사용하여 WebSocket 미지원 브라우저도 fallback 처리
@@ -28,10 +42,45 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      * 🧭 메시지 라우팅을 위한 브로커 구성
      * /app → 서버 수신 (Controller @MessageMapping)
      * /topic → 클라이언트 수신 (브로드캐스트용)
+     * /queue → 클라이언트 개인 수신 (/user/queue/errors 등 보낸 사람 전용 오류 프레임)
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic"); // 메시지를 구독하는 채널 prefix
+        registry.enableSimpleBroker("/topic", "/queue"); // 메시지를 구독하는 채널 prefix
         registry.setApplicationDestinationPrefixes("/app"); // 메시지를 보낼 때 prefix
     }
+
+    /**
+     * 🐢 세션별 전송 시간 / 전송 버퍼 상한
+     * - 상한을 넘긴 세션은 chat.websocket.overflow-policy에 따라 프레임을 버리거나 종료 (SlowConsumerPolicy)
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(slowConsumerPolicy.sendTimeLimitMillis())
+                .setSendBufferSizeLimit(slowConsumerPolicy.bufferSizeLimitBytes());
+    }
+
+    /**
+     * 📥 클라이언트 → 서버 메시지 처리 채널
+     * - CONNECT 프레임의 사용자 확인 (StompAuthChannelInterceptor)
+     * - 실행기는 가상 스레드 모드일 때만 교체, 아니면 기본 스레드 풀 사용
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+        if (virtualThreadConfig.isEnabled()) {
+            registration.executor(virtualThreadConfig.inboundChannelExecutor());
+        }
+    }
+
+    /**
+     * 📤 서버 → 클라이언트 메시지 전송 채널 실행기
+     * - 가상 스레드 모드일 때만 교체, 아니면 기본 스레드 풀 사용
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreadConfig.isEnabled()) {
+            registration.executor(virtualThreadConfig.outboundChannelExecutor());
+        }
+    }
 }
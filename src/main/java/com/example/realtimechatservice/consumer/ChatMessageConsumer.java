@@ -1,57 +1,184 @@
 package com.example.realtimechatservice.consumer;
 
+import com.example.realtimechatservice.broadcast.ChatBroadcaster;
 import com.example.realtimechatservice.config.RabbitConfig;
 import com.example.realtimechatservice.dto.ChatMessageDTO;
+import com.example.realtimechatservice.dto.ChatMessageView;
 import com.example.realtimechatservice.entity.ChatMessage;
-import com.example.realtimechatservice.repository.ChatMessageRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.realtimechatservice.search.ChatSearchIndex;
+import com.example.realtimechatservice.service.ChatMessageWriter;
+import com.example.realtimechatservice.service.RecentMessageBuffer;
+import com.example.realtimechatservice.service.RoomMessageMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * 📥 ChatMessageConsumer
  *
  * - RabbitMQ로부터 채팅 메시지를 수신하는 Consumer 역할을 수행
- * - 수신한 메시지를 DB에 저장하고, WebSocket을 통해 구독자에게 브로드캐스트함
+ * - 수신한 메시지에 방별 순번(seq)을 발급해 DB에 저장하고, WebSocket을 통해 구독자에게 브로드캐스트함
+ * - 브로드캐스트되는 메시지에는 저장된 id, seq, createdAt이 채워져 있음
+ * - 저장에 성공한 메시지는 방별 최근 메시지 링 버퍼와 검색 색인에도 추가함
+ * - chat.consumer.batch.enabled=true 이면 메시지를 모아 한 번의 배치 INSERT로 저장함
+ * - 저장 소요 시간(chat.consumer.save), 방별 메시지 수(chat.room.messages)를 기록함
+ * - 채팅방 ID가 없는 메시지는 저장하지 않고 버림 (chat.consumer.rejected)
+ *   → 단건 모드는 재전달 없이 거절(AmqpRejectAndDontRequeueException), 배치 모드는 해당 메시지만 빼고 나머지를 저장
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ChatMessageConsumer {
 
-    // 💾 채팅 메시지 DB 저장용 JPA 레포지토리
-    private final ChatMessageRepository chatMessageRepository;
+    // 💾 순번 발급 + DB 저장 서비스
+    private final ChatMessageWriter chatMessageWriter;
+
+    // 📡 채팅방 구독자(모든 노드)에게 메시지를 전달하는 브로드캐스터
+    private final ChatBroadcaster chatBroadcaster;
+
+    // 🧺 방별 최근 메시지 링 버퍼
+    private final RecentMessageBuffer recentMessageBuffer;
+
+    // 🔍 방별 메시지 검색 색인
+    private final ChatSearchIndex chatSearchIndex;
 
-    // 📡 STOMP 기반 WebSocket 메시지 전송 도구
-    private final SimpMessagingTemplate messagingTemplate;
+    // 📈 방별 메시지 수 지표
+    private final RoomMessageMetrics roomMessageMetrics;
+
+    // 📊 단건 저장 / 배치 크기 / 배치 저장 소요 시간 지표
+    private final Timer save;
+    private final DistributionSummary batchSize;
+    private final Timer batchFlush;
+    private final Counter rejected;
+
+    public ChatMessageConsumer(ChatMessageWriter chatMessageWriter,
+                               ChatBroadcaster chatBroadcaster,
+                               RecentMessageBuffer recentMessageBuffer,
+                               ChatSearchIndex chatSearchIndex,
+                               RoomMessageMetrics roomMessageMetrics,
+                               MeterRegistry meterRegistry) {
+        this.chatMessageWriter = chatMessageWriter;
+        this.chatBroadcaster = chatBroadcaster;
+        this.recentMessageBuffer = recentMessageBuffer;
+        this.chatSearchIndex = chatSearchIndex;
+        this.roomMessageMetrics = roomMessageMetrics;
+        this.save = Timer.builder("chat.consumer.save")
+                .description("메시지 한 건 DB 저장 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("chat.consumer.batch.size")
+                .description("한 번에 저장한 메시지 수")
+                .register(meterRegistry);
+        this.batchFlush = Timer.builder("chat.consumer.batch.flush")
+                .description("배치 INSERT 트랜잭션 소요 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("chat.consumer.rejected")
+                .description("저장하지 않고 버린 잘못된 메시지 수 (채팅방 ID 없음)")
+                .register(meterRegistry);
+    }
 
     /**
-     * 🐰 MQ 메시지 수신 핸들러
+     * 🐰 MQ 메시지 수신 핸들러 (단건 모드)
      *
      * - MQ의 "chat.queue"로 들어온 메시지를 자동 수신함
      * - @RabbitListener가 메시지를 바인딩된 큐에서 읽음
      * - 메시지는 자동으로 JSON → ChatMessageDTO로 역직렬화됨
      */
-    @RabbitListener(queues = RabbitConfig.QUEUE_NAME)
+    @RabbitListener(queues = RabbitConfig.QUEUE_NAME,
+            autoStartup = "#{!${chat.consumer.batch.enabled}}")
     public void receiveMessage(ChatMessageDTO dto) {
-        // 1️⃣ MQ로부터 받은 메시지를 DB에 저장
-        ChatMessage message = ChatMessage.builder()
+        // 0️⃣ 저장할 수 없는 메시지는 재전달 없이 거절 (다시 받아도 계속 실패하므로)
+        if (!accept(dto)) {
+            throw new AmqpRejectAndDontRequeueException("채팅방 ID가 없는 메시지는 저장할 수 없습니다.");
+        }
+
+        // 1️⃣ MQ로부터 받은 메시지에 순번을 발급해 DB에 저장
+        ChatMessage saved = save.record(() -> chatMessageWriter.save(toEntity(dto))); // 🗂 JPA 저장
+        ChatMessageView view = ChatMessageView.from(saved);
+        recentMessageBuffer.append(view);
+        chatSearchIndex.index(view);
+        roomMessageMetrics.increment(dto.getRoomId());
+
+        // 2️⃣ 같은 채팅방의 구독자들에게 메시지 브로드캐스트 (id, seq 포함)
+        chatBroadcaster.broadcast(applySaved(dto, saved));
+
+        // 3️⃣ 로그 출력 (개발/디버깅용, 처리량은 지표로 확인)
+        log.debug("📥 MQ 메시지 수신 및 처리 완료: {}", dto);
+    }
+
+    /**
+     * 🐰 MQ 메시지 수신 핸들러 (배치 모드)
+     *
+     * - 최대 chat.consumer.batch.size개 또는 chat.consumer.batch.linger 동안 모인 메시지를 한 번에 수신
+     * - 하나의 트랜잭션, 하나의 multi-row INSERT로 저장한 뒤 브로드캐스트
+     * - 메서드가 정상 반환된 후에만 배치 전체가 ack 됨
+     * - 저장할 수 없는 메시지는 배치에서 빼고 나머지만 저장 (한 건 때문에 배치 전체가 재전달되지 않도록)
+     */
+    @RabbitListener(queues = RabbitConfig.QUEUE_NAME,
+            containerFactory = "batchListenerContainerFactory",
+            autoStartup = "${chat.consumer.batch.enabled}")
+    public void receiveMessages(List<ChatMessageDTO> received) {
+        List<ChatMessageDTO> dtos = received.stream().filter(this::accept).toList();
+        if (dtos.isEmpty()) {
+            return;
+        }
+
+        // 1️⃣ 배치 단위로 DB 저장
+        List<ChatMessage> messages = dtos.stream().map(ChatMessageConsumer::toEntity).toList();
+        batchFlush.record(() -> chatMessageWriter.saveAll(messages));
+        batchSize.record(dtos.size());
+        messages.forEach(m -> {
+            ChatMessageView view = ChatMessageView.from(m);
+            recentMessageBuffer.append(view);
+            chatSearchIndex.index(view);
+            roomMessageMetrics.increment(m.getRoomId());
+        });
+
+        // 2️⃣ 저장이 끝난 메시지를 순서대로 브로드캐스트 (id, seq 포함)
+        for (int i = 0; i < dtos.size(); i++) {
+            chatBroadcaster.broadcast(applySaved(dtos.get(i), messages.get(i)));
+        }
+    }
+
+    /**
+     * 🚫 저장 가능한 메시지인지 확인 (아니면 지표와 로그만 남김)
+     */
+    private boolean accept(ChatMessageDTO dto) {
+        if (dto.getRoomId() != null) {
+            return true;
+        }
+        rejected.increment();
+        log.warn("🚫 채팅방 ID가 없는 메시지 버림: {}", dto);
+        return false;
+    }
+
+    /**
+     * 🔁 저장 결과(id, seq, createdAt)를 브로드캐스트할 DTO에 반영
+     */
+    private static ChatMessageDTO applySaved(ChatMessageDTO dto, ChatMessage saved) {
+        dto.setId(saved.getId());
+        dto.setSeq(saved.getSeq());
+        dto.setCreatedAt(saved.getCreatedAt());
+        return dto;
+    }
+
+    /**
+     * 🔁 DTO → 엔티티 변환 (벤치마크에서 직접 호출하므로 package-private)
+     */
+    static ChatMessage toEntity(ChatMessageDTO dto) {
+        return ChatMessage.builder()
                 .roomId(dto.getRoomId())
                 .userEmail(dto.getUserEmail())
                 .userName(dto.getUserName())
                 .content(dto.getContent())
                 .createdAt(dto.getCreatedAt())
                 .build();
-
-        chatMessageRepository.save(message); // 🗂 JPA 저장
-
-        // 2️⃣ 같은 채팅방의 구독자들에게 메시지 브로드캐스트
-        messagingTemplate.convertAndSend(
-                "/topic/chat/room/" + dto.getRoomId(), // 구독 경로
-                dto                                     // 보낼 메시지
-        );
-
-        // 3️⃣ 로그 출력 (개발/디버깅용)
-        System.out.println("📥 MQ 메시지 수신 및 처리 완료: " + dto);
     }
 }
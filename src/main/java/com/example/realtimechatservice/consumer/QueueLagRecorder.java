@@ -0,0 +1,54 @@
+package com.example.realtimechatservice.consumer;
+
+import com.example.realtimechatservice.config.RabbitConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ QueueLagRecorder
+ *
+ * - 리스너 컨테이너가 메시지를 받은 직후(afterReceive) 발행 시각 헤더와 비교해 큐 대기 시간을 기록
+ * - 지표: chat.consumer.lag{queue} (소비자가 밀리면 가장 먼저 커지는 값 → 알림 기준)
+ * - 노드 전용 팬아웃 큐는 이름이 노드마다 달라 "chat.fanout" 하나로 묶음
+ */
+@Component
+public class QueueLagRecorder implements MessagePostProcessor {
+
+    private static final String FANOUT_QUEUE_PREFIX = "chat.fanout.";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueueLagRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Message postProcessMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        Object publishedAt = properties.getHeader(RabbitConfig.PUBLISHED_AT_HEADER);
+        if (publishedAt instanceof Number millis) {
+            long lag = Math.max(0, System.currentTimeMillis() - millis.longValue());
+            timer(properties.getConsumerQueue()).record(lag, TimeUnit.MILLISECONDS);
+        }
+        return message;
+    }
+
+    private Timer timer(String queue) {
+        String tag = queue == null ? "unknown"
+                : queue.startsWith(FANOUT_QUEUE_PREFIX) ? "chat.fanout" : queue;
+        return timers.computeIfAbsent(tag, q -> Timer.builder("chat.consumer.lag")
+                .description("발행부터 소비자가 받을 때까지 큐에서 기다린 시간")
+                .tag("queue", q)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
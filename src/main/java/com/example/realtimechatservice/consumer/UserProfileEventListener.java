@@ -0,0 +1,42 @@
+package com.example.realtimechatservice.consumer;
+
+import com.example.realtimechatservice.dto.UserProfileChangedEvent;
+import com.example.realtimechatservice.service.UserNicknameService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 👤 UserProfileEventListener
+ *
+ * - UserService의 프로필 변경 이벤트(user.profile.changed)를 노드 전용 큐로 받아 이 노드의 닉네임 캐시를 바로 갱신함
+ * - 이후 이 사용자의 메시지/신호는 새 닉네임으로 나감 (이미 연결된 세션 포함, ChatController가 캐시 값을 우선 사용)
+ * - 이미 보낸 메시지와 접속 현황 목록의 이름은 바꾸지 않음 (접속 현황은 다음 입장부터 반영)
+ * - 받은 이벤트 수 지표: chat.user.profile.changed
+ */
+@Slf4j
+@Component
+public class UserProfileEventListener {
+
+    private final UserNicknameService userNicknameService;
+    private final Counter received;
+
+    public UserProfileEventListener(UserNicknameService userNicknameService, MeterRegistry meterRegistry) {
+        this.userNicknameService = userNicknameService;
+        this.received = Counter.builder("chat.user.profile.changed")
+                .description("닉네임 캐시에 반영한 UserService 프로필 변경 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    @RabbitListener(queues = "#{userEventsQueue.name}")
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        if (event.getEmail() == null || event.getNickname() == null) {
+            log.warn("👤 이메일/닉네임이 없는 프로필 변경 이벤트 무시: userId={}", event.getUserId());
+            return;
+        }
+        userNicknameService.updateNickname(event.getEmail(), event.getNickname());
+        received.increment();
+    }
+}
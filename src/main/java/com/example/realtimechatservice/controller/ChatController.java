@@ -1,28 +1,78 @@
 package com.example.realtimechatservice.controller;
 
-import com.example.realtimechatservice.config.RabbitConfig;
+import com.example.realtimechatservice.auth.ChatPrincipal;
+import com.example.realtimechatservice.dto.ChatErrorDTO;
 import com.example.realtimechatservice.dto.ChatMessageDTO;
+import com.example.realtimechatservice.dto.RoomSignalDTO;
+import com.example.realtimechatservice.exception.ChatBackpressureException;
+import com.example.realtimechatservice.exception.ChatRateLimitException;
+import com.example.realtimechatservice.exception.InvalidChatMessageException;
+import com.example.realtimechatservice.presence.RoomSignalRelay;
+import com.example.realtimechatservice.ratelimit.ChatRateLimiter;
+import com.example.realtimechatservice.service.ChatMessagePublisher;
 import com.example.realtimechatservice.service.UserNicknameService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
+import java.time.LocalDateTime;
+
 /**
  * 💬 ChatController - 실시간 채팅 메시지를 처리하는 WebSocket 컨트롤러
  *
  * - 클라이언트가 WebSocket 경로 "/app/chat/room/{roomId}"로 전송한 메시지를 수신함
- * - 닉네임 정보를 주입하고, RabbitMQ로 메시지를 발행하여 비동기 처리 구조로 넘김
+ * - 채팅방 ID는 전송 경로의 {roomId}로 정함 (본문의 roomId가 다르면 거절)
+ * - 보낸 사람 / 채팅방별 전송 한도를 먼저 확인하고(ChatRateLimiter), 보낸 사람 정보를 채워 RabbitMQ로 발행하여 비동기 처리 구조로 넘김
+ * - 보낸 사람 이메일/닉네임은 CONNECT 때 확인해 둔 세션 사용자(ChatPrincipal)로 채움 (메시지마다 UserService 호출 없음)
+ *   닉네임은 닉네임 캐시에 더 최신 값(프로필 변경 이벤트로 갱신)이 있으면 그 값을 사용함
+ *   인증되지 않은 세션(chat.auth.required=false)만 본문의 이메일로 닉네임을 조회함
+ * - 한도 초과나 발행 거절 시 보낸 사람에게만 "/user/queue/errors"로 오류 프레임을 보냄
+ *   (브로커 확인 실패는 나중에 오므로 ChatMessagePublisher가 같은 경로로 PUBLISH_FAILED를 보냄)
+ * - 입력 중 같은 일시적 신호("/app/chat/room/{roomId}/signal")는 MQ/DB를 거치지 않고 RoomSignalRelay로 바로 전달
+ * - 단계별 소요 시간 지표: chat.nickname.lookup (익명 세션의 캐시 포함 닉네임 조회), chat.publish (MQ 발행 호출)
  */
 @Controller
-@RequiredArgsConstructor
 public class ChatController {
 
-    // 🔗 이메일 → 닉네임 변환 서비스 (UserService 호출)
+    // 🚥 보낸 사람 / 채팅방별 전송 한도
+    private final ChatRateLimiter chatRateLimiter;
+
+    // 🔗 이메일 → 닉네임 변환 서비스 (인증된 세션은 캐시만 확인, 인증되지 않은 세션은 UserService 조회)
     private final UserNicknameService userNicknameService;
 
-    // 📨 메시지를 RabbitMQ에 전송하기 위한 템플릿
-    private final RabbitTemplate rabbitTemplate;
+    // 📨 메시지를 RabbitMQ에 발행하고 브로커 확인을 추적하는 서비스
+    private final ChatMessagePublisher chatMessagePublisher;
+
+    // ✍️ 입력 중 / 보는 중 신호 전달 (저장하지 않음)
+    private final RoomSignalRelay roomSignalRelay;
+
+    // 📊 단계별 소요 시간
+    private final Timer nicknameLookup;
+    private final Timer publish;
+
+    public ChatController(ChatRateLimiter chatRateLimiter,
+                          UserNicknameService userNicknameService,
+                          ChatMessagePublisher chatMessagePublisher,
+                          RoomSignalRelay roomSignalRelay,
+                          MeterRegistry meterRegistry) {
+        this.chatRateLimiter = chatRateLimiter;
+        this.userNicknameService = userNicknameService;
+        this.chatMessagePublisher = chatMessagePublisher;
+        this.roomSignalRelay = roomSignalRelay;
+        this.nicknameLookup = Timer.builder("chat.nickname.lookup")
+                .description("메시지당 닉네임 조회 시간 (캐시 적중 포함)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publish = Timer.builder("chat.publish")
+                .description("메시지당 MQ 발행 호출 시간 (브로커 확인 대기 제외)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     /**
      * 📥 WebSocket 메시지 수신 핸들러
@@ -31,16 +81,79 @@ public class ChatController {
      * - 메시지를 RabbitMQ로 발행하여 비동기 저장 및 전송 처리를 맡김
      */
     @MessageMapping("/chat/room/{roomId}")
-    public void sendMessage(ChatMessageDTO dto) {
-        // 1. 이메일을 기반으로 사용자 닉네임 조회
-        String nickname = userNicknameService.getNicknameByEmail(dto.getUserEmail());
-        dto.setUserName(nickname);
-
-        // 2. 메시지를 MQ로 발행 (Exchange + RoutingKey 사용)
-        rabbitTemplate.convertAndSend(
-                RabbitConfig.EXCHANGE_NAME,   // 메시지를 보낼 Exchange 이름
-                RabbitConfig.ROUTING_KEY,     // 라우팅 키: 어떤 큐로 보낼지 결정
-                dto                           // 전송할 메시지 객체 (ChatMessageDTO)
-        );
+    public void sendMessage(@DestinationVariable Long roomId, ChatMessageDTO dto, SimpMessageHeaderAccessor accessor) {
+        // 0. 채팅방은 전송 경로 기준 (본문에 다른 방이 적혀 있으면 거절)
+        if (dto.getRoomId() != null && !dto.getRoomId().equals(roomId)) {
+            throw new InvalidChatMessageException("메시지의 채팅방(" + dto.getRoomId() + ")이 전송 경로의 채팅방(" + roomId + ")과 다릅니다.");
+        }
+        dto.setRoomId(roomId);
+
+        // 0-1. 세션 사용자로 보낸 사람 지정 (본문의 이메일/닉네임은 신뢰하지 않음)
+        ChatPrincipal user = ChatPrincipal.from(accessor);
+        if (user != null) {
+            dto.setUserEmail(user.email());
+            dto.setUserName(userNicknameService.getCachedNickname(user.email(), user.nickname()));
+        }
+
+        // 1. 전송 한도 확인 (초과 시 이후 단계 없이 바로 거절)
+        chatRateLimiter.acquire(dto.getUserEmail(), dto.getRoomId());
+
+        // 2. 인증되지 않은 세션이면 이메일을 기반으로 사용자 닉네임 조회
+        if (user == null) {
+            String nickname = nicknameLookup.record(() -> userNicknameService.getNicknameByEmail(dto.getUserEmail()));
+            dto.setUserName(nickname);
+        }
+
+        // 3. 서버가 받은 시각을 생성 시각으로 사용하고, 클라이언트가 보낸 id/seq는 무시 (저장 시 발급)
+        dto.setCreatedAt(LocalDateTime.now());
+        dto.setId(null);
+        dto.setSeq(null);
+
+        // 4. 메시지를 MQ로 발행 (확인은 비동기로 추적, 미확인 메시지가 많으면 즉시 거절)
+        publish.record(() -> chatMessagePublisher.publish(dto, accessor.getSessionId(), accessor.getUser()));
+    }
+
+    /**
+     * ✍️ 입력 중 / 보는 중 신호 수신 핸들러
+     *
+     * - STOMP 경로 "/app/chat/room/{roomId}/signal"로 들어오는 신호를 저장 없이 채팅방 구독자에게 전달함
+     * - 채팅방 ID는 경로에서, 보낸 사람은 세션 사용자가 있으면 그 값으로 정함 (본문 값은 신뢰하지 않음)
+     */
+    @MessageMapping("/chat/room/{roomId}/signal")
+    public void sendSignal(@DestinationVariable Long roomId, RoomSignalDTO signal, SimpMessageHeaderAccessor accessor) {
+        signal.setRoomId(roomId);
+        ChatPrincipal user = ChatPrincipal.from(accessor);
+        if (user != null) {
+            signal.setUserEmail(user.email());
+            signal.setUserName(userNicknameService.getCachedNickname(user.email(), user.nickname()));
+        }
+        roomSignalRelay.relay(signal);
+    }
+
+    /**
+     * 🚦 발행 거절(backpressure) 시 보낸 사람에게 오류 프레임 전송
+     */
+    @MessageExceptionHandler(ChatBackpressureException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ChatErrorDTO handleBackpressure(ChatBackpressureException e) {
+        return new ChatErrorDTO("BACKPRESSURE", e.getMessage());
+    }
+
+    /**
+     * 🚥 전송 한도 초과 시 보낸 사람에게 오류 프레임 전송
+     */
+    @MessageExceptionHandler(ChatRateLimitException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ChatErrorDTO handleRateLimit(ChatRateLimitException e) {
+        return new ChatErrorDTO("RATE_LIMITED", e.getMessage());
+    }
+
+    /**
+     * 🚫 경로와 맞지 않는 메시지 거절 시 보낸 사람에게 오류 프레임 전송
+     */
+    @MessageExceptionHandler(InvalidChatMessageException.class)
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public ChatErrorDTO handleInvalidMessage(InvalidChatMessageException e) {
+        return new ChatErrorDTO("INVALID_MESSAGE", e.getMessage());
     }
 }
@@ -1,13 +1,22 @@
 package com.example.realtimechatservice.controller;
 
+import com.example.realtimechatservice.dto.ChatMessagePageDTO;
+import com.example.realtimechatservice.dto.ChatMessageView;
 import com.example.realtimechatservice.entity.ChatMessage;
 import com.example.realtimechatservice.repository.ChatMessageRepository;
+import com.example.realtimechatservice.search.ChatSearchIndex;
+import com.example.realtimechatservice.service.ChatHistoryService;
+import com.example.realtimechatservice.service.ChatMessageWriter;
+import com.example.realtimechatservice.service.ChatRoomSummaryService;
+import com.example.realtimechatservice.service.ChatSearchService;
+import com.example.realtimechatservice.service.RecentMessageBuffer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 🌐 ChatRestController
@@ -20,10 +29,17 @@ import java.util.List;
 public class ChatRestController {
 
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatHistoryService chatHistoryService;
+    private final ChatMessageWriter chatMessageWriter;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final ChatSearchService chatSearchService;
+    private final ChatSearchIndex chatSearchIndex;
 
     /**
      * ✅ 채팅방의 메시지를 시간순으로 조회
      * GET /api/chat/room/{roomId}/messages
+     * - 방의 모든 메시지를 한 번에 반환하므로, 큰 방에서는 /messages/page 사용을 권장합니다.
      *
      * @param roomId 조회할 채팅방 ID
      * @return 해당 방의 메시지 목록 (createdAt 오름차순)
@@ -33,6 +49,79 @@ public class ChatRestController {
         return ResponseEntity.ok(chatMessageRepository.findByRoomIdOrderByCreatedAt(roomId));
     }
 
+    /**
+     * ✅ 채팅방 메시지를 커서 기반으로 페이지 조회
+     * GET /api/chat/room/{roomId}/messages/page?before={id}&after={id}&limit={n}
+     *
+     * @param roomId 조회할 채팅방 ID
+     * @param before 이 메시지보다 오래된 메시지 조회 (최신순)
+     * @param after 이 메시지보다 새로운 메시지 조회 (오래된 순)
+     * @param limit 페이지 크기 (기본 50, 최대 200)
+     * @return 메시지 페이지 또는 400 Bad Request (before/after 동시 지정, 존재하지 않는 커서)
+     */
+    @GetMapping("/room/{roomId}/messages/page")
+    public ResponseEntity<ChatMessagePageDTO> getMessagePage(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + ChatHistoryService.DEFAULT_LIMIT) int limit
+    ) {
+        if (before != null && after != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return chatHistoryService.getPage(roomId, before, after, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * ✅ 마지막으로 받은 순번 이후의 메시지만 조회 (재연결 시 놓친 메시지 동기화)
+     * GET /api/chat/room/{roomId}/messages/since?seq={n}&limit={n}
+     * - 응답의 hasMore가 true면 nextCursor(마지막 seq)로 다시 요청합니다.
+     *
+     * @param roomId 조회할 채팅방 ID
+     * @param seq 클라이언트가 마지막으로 받은 순번 (처음이면 0)
+     * @param limit 페이지 크기 (기본 50, 최대 200)
+     * @return seq 오름차순 메시지 페이지
+     */
+    @GetMapping("/room/{roomId}/messages/since")
+    public ResponseEntity<ChatMessagePageDTO> getMessagesSince(
+            @PathVariable Long roomId,
+            @RequestParam long seq,
+            @RequestParam(defaultValue = "" + ChatHistoryService.DEFAULT_LIMIT) int limit
+    ) {
+        if (seq < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(chatHistoryService.getSince(roomId, seq, limit));
+    }
+
+    /**
+     * ✅ 채팅방 안 메시지 검색 (최신순)
+     * GET /api/chat/room/{roomId}/search?q={검색어}&before={id}&limit={n}
+     * - 응답의 hasMore가 true면 nextCursor를 before로 넘겨 다음 페이지를 조회합니다.
+     *
+     * @param roomId 검색할 채팅방 ID
+     * @param q 검색어 (공백/기호로 나뉜 모든 단어가 포함된 메시지)
+     * @param before 이 메시지 ID보다 오래된 결과부터 조회
+     * @param limit 페이지 크기 (기본 20, 최대 100)
+     * @return 검색 결과 페이지, 400 Bad Request (검색어에 글자/숫자가 없음 등), 404 (검색 기능 꺼짐)
+     */
+    @GetMapping("/room/{roomId}/search")
+    public ResponseEntity<ChatMessagePageDTO> search(
+            @PathVariable Long roomId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "" + ChatSearchService.DEFAULT_LIMIT) int limit
+    ) {
+        if (!chatSearchService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return chatSearchService.search(roomId, q, before, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
     /**
      * ✅ 메시지를 저장 (REST 방식)
      * POST /api/chat/room/{roomId}/messages
@@ -55,8 +144,11 @@ public class ChatRestController {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        // 메시지를 DB에 저장 후 저장된 객체 반환
-        ChatMessage saved = chatMessageRepository.save(message);
+        // 방별 순번을 발급해 DB에 저장 후 저장된 객체 반환
+        ChatMessage saved = chatMessageWriter.save(message);
+        ChatMessageView view = ChatMessageView.from(saved);
+        recentMessageBuffer.append(view); // 최근 메시지 버퍼에도 반영
+        chatSearchIndex.index(view); // 검색 색인에도 반영
         return ResponseEntity.ok(saved);
     }
 
@@ -69,10 +161,14 @@ public class ChatRestController {
      */
     @DeleteMapping("/messages/{messageId}")
     public ResponseEntity<Void> deleteMessage(@PathVariable Long messageId) {
-        if (!chatMessageRepository.existsById(messageId)) {
+        Optional<ChatMessage> message = chatMessageRepository.findById(messageId);
+        if (message.isEmpty()) {
             return ResponseEntity.notFound().build(); // 메시지가 존재하지 않으면 404 반환
         }
         chatMessageRepository.deleteById(messageId); // 메시지 삭제
+        recentMessageBuffer.evict(message.get().getRoomId()); // 삭제된 메시지가 버퍼에 남지 않도록 방 버퍼 제거
+        chatRoomSummaryService.recordDeleted(message.get().getRoomId()); // 목록 요약(미리보기, 메시지 수) 갱신
+        chatSearchIndex.remove(ChatMessageView.from(message.get())); // 검색 색인에서 제거
         return ResponseEntity.noContent().build();   // 삭제 성공 시 204 No Content
     }
 }
@@ -1,17 +1,23 @@
 package com.example.realtimechatservice.controller;
 
+import com.example.realtimechatservice.dto.ChatRoomPageDTO;
+import com.example.realtimechatservice.dto.PresenceSnapshotDTO;
 import com.example.realtimechatservice.entity.ChatRoom;
+import com.example.realtimechatservice.presence.PresenceTracker;
 import com.example.realtimechatservice.repository.ChatRoomRepository;
+import com.example.realtimechatservice.service.ChatRoomSummaryService;
+import com.example.realtimechatservice.service.ChatRoomSummaryService.RoomSort;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Locale;
 
 /**
  * 🌐 ChatRoomController
- * - 채팅방을 생성하고 전체 채팅방 목록을 반환하는 REST API 컨트롤러
+ * - 채팅방을 생성하고 채팅방 목록(요약 포함)을 페이지 단위로 반환하는 REST API 컨트롤러
  * - 프론트엔드에서 새로운 채팅방을 생성하거나 목록을 불러올 때 사용됩니다.
  */
 @RestController
@@ -20,6 +26,12 @@ import java.util.List;
 public class ChatRoomController {
 
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final PresenceTracker presenceTracker;
+
+    // 접속 현황 목록 기본 / 최대 사용자 수
+    private static final int PRESENCE_DEFAULT_LIMIT = 100;
+    private static final int PRESENCE_MAX_LIMIT = 1000;
 
     /**
      * ✅ 새로운 채팅방 생성
@@ -45,13 +57,49 @@ public class ChatRoomController {
     }
 
     /**
-     * ✅ 모든 채팅방 목록 조회
-     * GET /api/chat/room
+     * ✅ 채팅방 목록을 커서 기반으로 페이지 조회 (마지막 메시지 미리보기, 활동 시각, 메시지 수 포함)
+     * GET /api/chat/room?sort={recent|created}&before={roomId}&limit={n}
+     * - 응답은 chat.room-list.cache-ttl 동안 캐시 가능 (Cache-Control: max-age)
      *
-     * @return 전체 채팅방 리스트
+     * @param sort 정렬 기준 (recent: 최근 활동순(기본), created: 최근 생성순)
+     * @param before 이 채팅방 다음부터 조회 (이전 페이지의 nextCursor)
+     * @param limit 페이지 크기 (기본 20, 최대 100)
+     * @return 채팅방 페이지 또는 400 Bad Request (알 수 없는 정렬 기준, 존재하지 않는 커서)
      */
     @GetMapping
-    public ResponseEntity<List<ChatRoom>> getAllRooms() {
-        return ResponseEntity.ok(chatRoomRepository.findAll());
+    public ResponseEntity<ChatRoomPageDTO> getAllRooms(
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "" + ChatRoomSummaryService.DEFAULT_LIMIT) int limit
+    ) {
+        RoomSort roomSort;
+        try {
+            roomSort = RoomSort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return chatRoomSummaryService.getPage(roomSort, before, limit)
+                .map(page -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(chatRoomSummaryService.cacheTtl()))
+                        .body(page))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * ✅ 채팅방 접속 현황 스냅샷 (모든 노드 기준)
+     * GET /api/chat/room/{roomId}/presence?limit={n}
+     * - 이후 변경분은 "/topic/chat/room/{roomId}/presence" 구독으로 받습니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param limit 목록에 담을 최대 사용자 수 (기본 100, 최대 1000)
+     * @return 접속 수 + 접속 중인 사용자 목록
+     */
+    @GetMapping("/{roomId}/presence")
+    public ResponseEntity<PresenceSnapshotDTO> getPresence(
+            @PathVariable Long roomId,
+            @RequestParam(defaultValue = "" + PRESENCE_DEFAULT_LIMIT) int limit
+    ) {
+        int size = Math.min(Math.max(limit, 1), PRESENCE_MAX_LIMIT);
+        return ResponseEntity.ok(presenceTracker.snapshot(roomId, size));
     }
 }
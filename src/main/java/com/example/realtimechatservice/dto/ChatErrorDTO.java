@@ -0,0 +1,21 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ⚠️ ChatErrorDTO
+ *
+ * - 메시지 전송이 거절되었을 때 보낸 사람에게만 전달되는 오류 프레임 본문
+ * - 클라이언트는 "/user/queue/errors"를 구독해 수신함
+ */
+@Getter
+@AllArgsConstructor
+public class ChatErrorDTO {
+
+    /** 🏷️ 오류 코드 (예: BACKPRESSURE, RATE_LIMITED, INVALID_MESSAGE, PUBLISH_FAILED) */
+    private String code;
+
+    /** 💬 사용자에게 보여줄 오류 메시지 */
+    private String message;
+}
@@ -37,4 +37,10 @@ public class ChatMessageDTO implements Serializable {
 
     /** 🕒 메시지 생성 시각 (서버에서 설정, 클라이언트 시각 아님) */
     private LocalDateTime createdAt;
+
+    /** 🔑 저장된 메시지 ID (저장 후 브로드캐스트 시 채워짐) */
+    private Long id;
+
+    /** 🔢 채팅방 내 순번 (저장 후 브로드캐스트 시 채워짐, 클라이언트는 마지막 seq를 기억해 재연결 시 사용) */
+    private Long seq;
 }
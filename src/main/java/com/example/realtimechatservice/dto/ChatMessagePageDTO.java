@@ -0,0 +1,26 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 📄 ChatMessagePageDTO
+ *
+ * - 커서(keyset) 기반 메시지 이력 조회 응답
+ * - nextCursor를 다음 요청의 before(최신순) 또는 after(과거→최신순) 값으로 그대로 넘기면 이어서 조회됨
+ */
+@Getter
+@AllArgsConstructor
+public class ChatMessagePageDTO {
+
+    /** 📜 조회된 메시지 목록 (before/기본: 최신순, after: 오래된 순) */
+    private List<ChatMessageView> messages;
+
+    /** ➡️ 다음 페이지 커서 (더 이상 없으면 null) */
+    private Long nextCursor;
+
+    /** ❓ 다음 페이지 존재 여부 */
+    private boolean hasMore;
+}
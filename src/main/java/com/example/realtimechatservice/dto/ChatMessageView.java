@@ -0,0 +1,69 @@
+package com.example.realtimechatservice.dto;
+
+import com.example.realtimechatservice.entity.ChatMessage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🪶 ChatMessageView
+ *
+ * - 메시지 이력 조회 전용 읽기 모델 (JPQL 생성자 프로젝션)
+ * - 엔티티를 영속성 컨텍스트에 올리지 않고 필요한 컬럼만 조회하기 위해 사용됨
+ */
+@Getter
+@AllArgsConstructor
+public class ChatMessageView {
+
+    /** 🔑 메시지 ID (페이지 커서로도 사용) */
+    private Long id;
+
+    /** 💬 채팅방 ID */
+    private Long roomId;
+
+    /** 📧 발신자 이메일 */
+    private String userEmail;
+
+    /** 🙍 발신자 닉네임 */
+    private String userName;
+
+    /** ✍️ 메시지 본문 */
+    private String content;
+
+    /** 🕒 메시지 생성 시각 */
+    private LocalDateTime createdAt;
+
+    /** 🔢 채팅방 내 순번 (재연결 시 "seq 이후" 조회 커서) */
+    private Long seq;
+
+    /**
+     * 🔁 저장된 엔티티 → 조회 모델 변환
+     */
+    public static ChatMessageView from(ChatMessage message) {
+        return new ChatMessageView(
+                message.getId(),
+                message.getRoomId(),
+                message.getUserEmail(),
+                message.getUserName(),
+                message.getContent(),
+                message.getCreatedAt(),
+                message.getSeq()
+        );
+    }
+
+    /**
+     * 🔁 팬아웃으로 받은 저장 완료 메시지 → 조회 모델 변환
+     */
+    public static ChatMessageView from(ChatMessageDTO dto) {
+        return new ChatMessageView(
+                dto.getId(),
+                dto.getRoomId(),
+                dto.getUserEmail(),
+                dto.getUserName(),
+                dto.getContent(),
+                dto.getCreatedAt(),
+                dto.getSeq()
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 📄 ChatRoomPageDTO
+ *
+ * - 커서(keyset) 기반 채팅방 목록 조회 응답
+ * - nextCursor를 다음 요청의 before 값으로 그대로 넘기면 이어서 조회됨
+ */
+@Getter
+@AllArgsConstructor
+public class ChatRoomPageDTO {
+
+    /** 🏠 조회된 채팅방 목록 (정렬 기준 내림차순) */
+    private List<ChatRoomSummaryView> rooms;
+
+    /** ➡️ 다음 페이지 커서 (더 이상 없으면 null) */
+    private Long nextCursor;
+
+    /** ❓ 다음 페이지 존재 여부 */
+    private boolean hasMore;
+}
@@ -0,0 +1,41 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🪶 ChatRoomSummaryView
+ *
+ * - 채팅방 목록 조회 전용 읽기 모델 (JPQL 생성자 프로젝션)
+ * - 목록 한 번 조회로 방마다 마지막 메시지 미리보기까지 보여줄 수 있음 (방별 메시지 추가 조회 불필요)
+ */
+@Getter
+@AllArgsConstructor
+public class ChatRoomSummaryView {
+
+    /** 🔑 채팅방 ID (페이지 커서로도 사용) */
+    private Long id;
+
+    /** 🏷️ 채팅방 이름 */
+    private String roomName;
+
+    /** 🙍 생성자 */
+    private String creator;
+
+    /** 🕒 생성 시각 */
+    private LocalDateTime createdAt;
+
+    /** ⏱️ 마지막 활동 시각 */
+    private LocalDateTime lastActivityAt;
+
+    /** 💬 마지막 메시지 미리보기 (메시지가 없으면 null) */
+    private String lastMessagePreview;
+
+    /** 🙍 마지막 메시지 보낸 사람 닉네임 */
+    private String lastMessageUserName;
+
+    /** 🔢 메시지 수 */
+    private long messageCount;
+}
@@ -0,0 +1,33 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 🟢 PresenceDTO
+ *
+ * - 채팅방 접속 현황 변경분 프레임 본문 ("/topic/chat/room/{roomId}/presence")
+ * - 방마다 chat.presence.broadcast-interval에 최대 한 번, 그 사이의 입장/퇴장을 모아서 전송됨
+ * - 짧은 시간 안에 들어왔다 나간 사용자는 어느 목록에도 나타나지 않음
+ */
+@Getter
+@AllArgsConstructor
+public class PresenceDTO {
+
+    /** 💬 채팅방 ID */
+    private Long roomId;
+
+    /** 👥 현재 접속 중인 사용자 수 (모든 노드 기준, 익명 세션 포함) */
+    private long online;
+
+    /** ➕ 새로 들어온 사용자 */
+    private List<PresenceMember> joined;
+
+    /** ➖ 나간 사용자 */
+    private List<PresenceMember> left;
+
+    /** ✂️ 목록이 잘렸는지 여부 (true면 REST 스냅샷을 다시 조회) */
+    private boolean truncated;
+}
@@ -0,0 +1,21 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 🙍 PresenceMember
+ *
+ * - 채팅방에 접속 중인 사용자 한 명 (접속 현황 응답 / 변경분 프레임에 사용)
+ * - 이메일을 밝히지 않은 익명 세션은 접속 수에만 포함되고 목록에는 나타나지 않음
+ */
+@Getter
+@AllArgsConstructor
+public class PresenceMember {
+
+    /** 📧 사용자 이메일 (사용자 식별 키) */
+    private String userEmail;
+
+    /** 🏷️ 닉네임 (없으면 null) */
+    private String userName;
+}
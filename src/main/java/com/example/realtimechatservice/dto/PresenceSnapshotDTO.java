@@ -0,0 +1,29 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 📸 PresenceSnapshotDTO
+ *
+ * - 채팅방 접속 현황 REST 응답 (GET /api/chat/room/{roomId}/presence)
+ * - 클라이언트는 이 스냅샷을 받은 뒤 "/topic/chat/room/{roomId}/presence" 변경분을 이어서 적용함
+ */
+@Getter
+@AllArgsConstructor
+public class PresenceSnapshotDTO {
+
+    /** 💬 채팅방 ID */
+    private Long roomId;
+
+    /** 👥 현재 접속 중인 사용자 수 (모든 노드 기준, 익명 세션 포함) */
+    private long online;
+
+    /** 🙍 접속 중인 사용자 (닉네임 순, 최대 limit명) */
+    private List<PresenceMember> members;
+
+    /** ✂️ limit을 넘어 목록이 잘렸는지 여부 */
+    private boolean truncated;
+}
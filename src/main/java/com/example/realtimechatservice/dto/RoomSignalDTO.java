@@ -0,0 +1,33 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ✍️ RoomSignalDTO
+ *
+ * - 입력 중 / 보는 중 같은 일시적인 상태 신호 (저장하지 않고 채팅방 구독자에게만 전달)
+ * - 클라이언트 → "/app/chat/room/{roomId}/signal", 서버 → "/topic/chat/room/{roomId}/signal"
+ * - 수신 측은 active=true 신호를 몇 초 동안만 유효한 것으로 취급함 (꺼짐 신호가 유실되거나 연결이 끊겨도 자연히 사라지도록)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSignalDTO {
+
+    /** 💬 채팅방 ID (서버가 구독 경로의 roomId로 채움) */
+    private Long roomId;
+
+    /** 📧 보낸 사용자 이메일 (인증된 세션이면 세션 사용자로 덮어씀) */
+    private String userEmail;
+
+    /** 🏷️ 보낸 사용자 닉네임 (인증된 세션이면 CONNECT 때 확인한 닉네임, 아니면 클라이언트가 보낸 값) */
+    private String userName;
+
+    /** 🏷️ 신호 종류 (chat.signal.types, 예: typing, viewing) */
+    private String type;
+
+    /** 🔘 상태 (true: 시작/유지, false: 종료) */
+    private boolean active;
+}
@@ -0,0 +1,26 @@
+package com.example.realtimechatservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 👤 UserProfileChangedEvent
+ *
+ * - UserService가 닉네임 변경 커밋 후 "user.events" Exchange에 "user.profile.changed"로 발행하는 이벤트 (JSON)
+ * - 필드 이름은 UserService의 UserProfileChangedEvent와 같아야 함
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+
+    /** 🆔 사용자 ID */
+    private Long userId;
+
+    /** 📧 사용자 이메일 (닉네임 캐시의 키) */
+    private String email;
+
+    /** 🏷️ 변경된 닉네임 */
+    private String nickname;
+}
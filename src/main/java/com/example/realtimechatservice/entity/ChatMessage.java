@@ -9,8 +9,17 @@ import java.time.LocalDateTime;
  * 💬 ChatMessage
  * - 실시간 채팅 메시지를 데이터베이스에 저장하기 위한 JPA 엔티티 클래스입니다.
  * - 각 메시지는 특정 채팅방(roomId)에 속하며, 사용자 이메일, 닉네임, 내용, 생성 시각 등을 포함합니다.
+ * - seq는 방 안에서 1부터 빈틈 없이 증가하는 순번으로, 저장과 같은 트랜잭션에서 발급됩니다. (ChatMessageWriter)
  */
 @Entity
+@Table(indexes = {
+        // 📇 채팅방별 keyset 페이지 조회용 복합 인덱스 (roomId 범위 + createdAt, id 정렬)
+        @Index(name = "idx_chat_message_room_created_id", columnList = "roomId, createdAt, id"),
+        // 📇 방 내 순번 유일성 + "seq N 이후" 조회용 인덱스
+        @Index(name = "uk_chat_message_room_seq", columnList = "roomId, seq", unique = true),
+        // 📇 보관 대상 방 찾기용 인덱스 (createdAt < cutoff 범위만 읽고 roomId까지 인덱스에서 해결)
+        @Index(name = "idx_chat_message_created_room", columnList = "createdAt, roomId")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,15 +44,20 @@ public class ChatMessage {
     /** 이 메시지가 속한 채팅방의 ID (foreign key 아님, 단순 참조용) */
     private Long roomId;
 
-    /** 메시지 생성 시각 */
+    /** 메시지 생성 시각 (서버가 메시지를 받은 시각) */
     private LocalDateTime createdAt;
 
+    /** 채팅방 내 순번 (1부터 빈틈 없이 증가, 이전 버전에서 저장된 메시지는 null) */
+    private Long seq;
+
     /**
      * 🕒 메시지 저장 직전 자동 호출되는 메서드
      * createdAt 값이 없을 경우 현재 시간으로 자동 설정합니다.
      */
     @PrePersist
     public void onCreate() {
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.example.realtimechatservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 🟢 ChatPresence
+ * - 공유 접속 현황 저장소(chat.presence.store=jdbc)의 행: "이 노드에서 이 사용자가 이 방에 접속 중"
+ * - 노드마다 자기 행만 쓰고, 주기적으로 heartbeatAt을 갱신합니다.
+ *   (노드가 비정상 종료되면 다른 노드가 chat.presence.node-ttl 이후 그 노드의 행을 정리)
+ */
+@Entity
+@Table(indexes = {
+        // 🧹 노드별 heartbeat 갱신 / 만료 행 정리용 인덱스
+        @Index(name = "idx_chat_presence_node", columnList = "nodeId")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatPresence {
+
+    @EmbeddedId
+    private Key id;
+
+    /** 닉네임 (없으면 null) */
+    private String userName;
+
+    /** 노드가 마지막으로 살아 있음을 알린 시각 */
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * 🔑 (채팅방, 사용자, 노드) 복합 키
+     */
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        /** 채팅방 ID */
+        private Long roomId;
+
+        /** 사용자 키 (이메일 또는 익명 세션 키) */
+        private String memberKey;
+
+        /** 노드 ID (프로세스 시작 시 발급) */
+        private String nodeId;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.realtimechatservice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -9,8 +10,13 @@ import java.time.LocalDateTime;
  * 🏠 ChatRoom
  * - 실시간 채팅에서 사용되는 채팅방 정보를 저장하는 JPA 엔티티입니다.
  * - 채팅방의 이름, 생성자 정보, 생성 시각을 포함합니다.
+ * - 목록 화면용 요약(마지막 메시지 미리보기, 마지막 활동 시각, 메시지 수)은 메시지 저장 트랜잭션에서 함께 갱신됩니다. (ChatRoomSummaryService)
  */
 @Entity
+@Table(indexes = {
+        // 📇 최근 활동순 keyset 목록 조회용 인덱스
+        @Index(name = "idx_chat_room_activity_id", columnList = "lastActivityAt, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +24,9 @@ import java.time.LocalDateTime;
 @Builder
 public class ChatRoom {
 
+    /** 미리보기 최대 길이 (문자 수) */
+    public static final int PREVIEW_LENGTH = 100;
+
     /** 고유 채팅방 ID (기본키, 자동 증가) */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,11 +41,37 @@ public class ChatRoom {
     /** 채팅방 생성 시각 */
     private LocalDateTime createdAt;
 
+    /** 마지막 활동 시각 (마지막 메시지 시각, 메시지가 없으면 생성 시각) */
+    private LocalDateTime lastActivityAt;
+
+    /** 마지막 메시지 미리보기 (앞부분 PREVIEW_LENGTH자) */
+    @Column(length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    /** 마지막 메시지 보낸 사람 닉네임 */
+    private String lastMessageUserName;
+
+    /** 채팅방 메시지 수 */
+    @ColumnDefault("0")
+    @Builder.Default
+    private long messageCount = 0;
+
     /**
      * 🕒 채팅방이 저장되기 직전에 자동 호출되어 생성 시각을 현재 시간으로 설정
      */
     @PrePersist
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.lastActivityAt = this.createdAt;
+    }
+
+    /**
+     * ✂️ 메시지 본문을 미리보기 길이로 자름 (서로게이트 쌍은 나누지 않음)
+     */
+    public static String preview(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, PREVIEW_LENGTH));
     }
 }
@@ -0,0 +1,26 @@
+package com.example.realtimechatservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 🔢 ChatRoomSequence
+ * - 채팅방별 마지막으로 발급한 메시지 순번(seq)을 보관하는 JPA 엔티티입니다.
+ * - 메시지 저장 트랜잭션 안에서 이 행을 갱신(행 잠금)하므로, 같은 방의 순번 발급은 직렬화되고
+ *   저장이 롤백되면 발급한 순번도 함께 롤백되어 빈틈이 생기지 않습니다.
+ * - ChatRoom 행이 없는 방(roomId 단순 참조)에도 쓸 수 있도록 별도 테이블로 둡니다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRoomSequence {
+
+    /** 채팅방 ID (기본키) */
+    @Id
+    private Long roomId;
+
+    /** 마지막으로 발급한 순번 */
+    private long lastSeq;
+}
@@ -0,0 +1,14 @@
+package com.example.realtimechatservice.exception;
+
+/**
+ * 🚦 ChatBackpressureException
+ *
+ * - 브로커 확인(publisher confirm)을 기다리는 메시지가 상한에 도달해 발행을 거절할 때 발생
+ * - ChatController에서 보낸 사람에게 오류 프레임으로 전달됨
+ */
+public class ChatBackpressureException extends RuntimeException {
+
+    public ChatBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.realtimechatservice.exception;
+
+/**
+ * 🚥 ChatRateLimitException
+ *
+ * - 보낸 사람 또는 채팅방의 전송 한도(chat.ratelimit.*)를 넘어 메시지를 거절할 때 발생
+ * - ChatController에서 보낸 사람에게 오류 프레임(RATE_LIMITED)으로 전달됨
+ * - 거절이 몰릴 때 비용을 줄이려고 스택 트레이스 없는 공유 인스턴스(USER, ROOM)를 사용
+ */
+public class ChatRateLimitException extends RuntimeException {
+
+    public static final ChatRateLimitException USER =
+            new ChatRateLimitException(Reason.USER, "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해 주세요.");
+    public static final ChatRateLimitException ROOM =
+            new ChatRateLimitException(Reason.ROOM, "채팅방에 메시지가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+
+    private final Reason reason;
+
+    private ChatRateLimitException(Reason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /** 🏷️ 거절 사유 (어느 한도를 넘었는지) */
+    public enum Reason {
+        USER, ROOM;
+
+        public String tag() {
+            return name().toLowerCase();
+        }
+    }
+}
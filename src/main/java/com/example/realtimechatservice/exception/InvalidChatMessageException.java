@@ -0,0 +1,14 @@
+package com.example.realtimechatservice.exception;
+
+/**
+ * 🚫 InvalidChatMessageException
+ *
+ * - 보낸 메시지의 내용이 전송 경로와 맞지 않아 거절할 때 발생 (예: 본문의 roomId ≠ "/app/chat/room/{roomId}")
+ * - ChatController에서 보낸 사람에게 오류 프레임(INVALID_MESSAGE)으로 전달됨
+ */
+public class InvalidChatMessageException extends RuntimeException {
+
+    public InvalidChatMessageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.realtimechatservice.presence;
+
+import com.example.realtimechatservice.entity.ChatPresence;
+import com.example.realtimechatservice.repository.ChatPresenceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 🗄️ JdbcPresenceStore (chat.presence.store=jdbc)
+ *
+ * - 접속 현황을 공유 DB 테이블(chat_presence)에 (방, 사용자, 노드)당 한 행으로 보관해 여러 노드의 접속 수를 합칩니다.
+ * - 노드는 chat.presence.heartbeat-interval마다 자기 행의 heartbeatAt을 갱신하고,
+ *   chat.presence.node-ttl 동안 갱신되지 않은 행(비정상 종료된 노드)은 조회에서 빠지고 정리됩니다.
+ * - 정상 종료 시에는 이 노드의 행을 바로 삭제합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "jdbc")
+public class JdbcPresenceStore implements PresenceStore {
+
+    private final ChatPresenceRepository chatPresenceRepository;
+    private final Duration nodeTtl;
+
+    // 🏷️ 이 프로세스의 노드 ID (재시작하면 새 노드로 취급, 이전 행은 TTL 후 정리됨)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public JdbcPresenceStore(ChatPresenceRepository chatPresenceRepository,
+                             @Value("${chat.presence.node-ttl}") Duration nodeTtl) {
+        this.chatPresenceRepository = chatPresenceRepository;
+        this.nodeTtl = nodeTtl;
+    }
+
+    @Override
+    public void join(Long roomId, String memberKey, String userName) {
+        chatPresenceRepository.save(new ChatPresence(
+                new ChatPresence.Key(roomId, memberKey, nodeId), userName, LocalDateTime.now()));
+    }
+
+    @Override
+    public void leave(Long roomId, String memberKey) {
+        chatPresenceRepository.deleteById(new ChatPresence.Key(roomId, memberKey, nodeId));
+    }
+
+    @Override
+    public Map<Long, Map<String, String>> members(Collection<Long> roomIds) {
+        Map<Long, Map<String, String>> result = new HashMap<>();
+        if (roomIds.isEmpty()) {
+            return result;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(nodeTtl);
+        for (ChatPresence row : chatPresenceRepository.findAlive(roomIds, cutoff)) {
+            result.computeIfAbsent(row.getId().getRoomId(), id -> new HashMap<>())
+                    .put(row.getId().getMemberKey(), row.getUserName() == null ? "" : row.getUserName());
+        }
+        return result;
+    }
+
+    /**
+     * 💓 이 노드의 행 갱신 + 만료된 노드의 행 정리
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-interval}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        chatPresenceRepository.touch(nodeId, now);
+        int expired = chatPresenceRepository.deleteExpired(now.minus(nodeTtl));
+        if (expired > 0) {
+            log.info("🟢 응답 없는 노드의 접속 행 {}건 정리", expired);
+        }
+    }
+
+    /**
+     * 🛑 정상 종료 시 이 노드의 접속 행 삭제
+     */
+    @PreDestroy
+    public void shutdown() {
+        chatPresenceRepository.deleteByNode(nodeId);
+    }
+}
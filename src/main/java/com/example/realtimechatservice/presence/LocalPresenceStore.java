@@ -0,0 +1,47 @@
+package com.example.realtimechatservice.presence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🧠 LocalPresenceStore (chat.presence.store=local, 기본값)
+ *
+ * - 접속 현황을 이 노드 메모리에만 보관합니다. 노드가 하나일 때만 접속 수가 정확합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.presence.store", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceStore implements PresenceStore {
+
+    // 🗂️ roomId → (memberKey → 닉네임)
+    private final Map<Long, Map<String, String>> rooms = new ConcurrentHashMap<>();
+
+    @Override
+    public void join(Long roomId, String memberKey, String userName) {
+        rooms.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>()).put(memberKey, userName == null ? "" : userName);
+    }
+
+    @Override
+    public void leave(Long roomId, String memberKey) {
+        rooms.computeIfPresent(roomId, (id, members) -> {
+            members.remove(memberKey);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    @Override
+    public Map<Long, Map<String, String>> members(Collection<Long> roomIds) {
+        Map<Long, Map<String, String>> result = new HashMap<>();
+        for (Long roomId : roomIds) {
+            Map<String, String> members = rooms.get(roomId);
+            if (members != null && !members.isEmpty()) {
+                result.put(roomId, Map.copyOf(members));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.realtimechatservice.presence;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 🗄️ PresenceStore - 채팅방별 접속 사용자 저장소
+ *
+ * - PresenceTracker가 이 노드에서 사용자의 첫 구독이 생기거나 마지막 구독이 사라질 때만 join / leave를 호출합니다.
+ * - members는 모든 노드의 접속을 합친 결과입니다. (같은 사용자가 여러 노드/탭에 접속해도 한 명)
+ * - chat.presence.store=local: 이 노드 메모리 (단일 노드 구성)
+ * - chat.presence.store=jdbc: 공유 DB 테이블 (여러 노드 구성, 노드별 heartbeat로 비정상 종료 정리)
+ */
+public interface PresenceStore {
+
+    /**
+     * ➕ 이 노드에서 사용자가 방에 들어옴
+     *
+     * @param memberKey 사용자 키 (이메일 또는 익명 세션 키)
+     * @param userName 닉네임 (nullable)
+     */
+    void join(Long roomId, String memberKey, String userName);
+
+    /**
+     * ➖ 이 노드에서 사용자가 방을 나감
+     */
+    void leave(Long roomId, String memberKey);
+
+    /**
+     * 👥 여러 방의 접속 사용자 (roomId → (memberKey → 닉네임)), 아무도 없는 방은 빠짐
+     * - 닉네임이 없는 사용자는 값이 빈 문자열
+     */
+    Map<Long, Map<String, String>> members(Collection<Long> roomIds);
+}
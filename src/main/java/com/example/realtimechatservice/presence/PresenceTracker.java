@@ -0,0 +1,257 @@
+package com.example.realtimechatservice.presence;
+
+import com.example.realtimechatservice.auth.ChatPrincipal;
+import com.example.realtimechatservice.broadcast.ChatBroadcaster;
+import com.example.realtimechatservice.dto.PresenceDTO;
+import com.example.realtimechatservice.dto.PresenceMember;
+import com.example.realtimechatservice.dto.PresenceSnapshotDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🟢 PresenceTracker
+ *
+ * - 채팅방 구독/구독 해제/연결 종료 이벤트로 방별 접속 사용자를 추적합니다.
+ *   (채팅방 주제 "/topic/chat/room/{roomId}" 또는 묶음 주제 ".../batch" 구독 = 접속)
+ * - 사용자 식별: 세션 사용자(CONNECT 때 인증된 ChatPrincipal) → SUBSCRIBE 프레임의 x-user-email 헤더 → 익명(세션별, 접속 수에만 포함)
+ * - 이 노드의 (방, 사용자)별 구독 수는 ConcurrentHashMap으로 세고, 0 ↔ 1 전환만 대기열에 넣어 PresenceStore에 반영합니다.
+ *   (같은 사용자가 여러 탭으로 들어와도 한 명, 입장/퇴장 이벤트 처리 스레드는 저장소 I/O를 기다리지 않음)
+ * - chat.presence.broadcast-interval마다 대기열을 저장소에 반영하고, 이 노드에 구독자가 있는 방의 접속자를
+ *   저장소(모든 노드 합산)에서 읽어 직전 전송분과 비교한 변경분만 "/topic/chat/room/{roomId}/presence"로 보냅니다.
+ *   → 큰 방에서 입장/퇴장이 몰려도 방마다 주기당 최대 한 프레임, 다른 노드에서의 입장/퇴장도 다음 주기에 반영
+ */
+@Slf4j
+@Component
+public class PresenceTracker {
+
+    // 📍 접속 현황 변경분 구독 경로 suffix ("/topic/chat/room/{roomId}/presence")
+    public static final String PRESENCE_DESTINATION_SUFFIX = "/presence";
+
+    // 🏷️ SUBSCRIBE 프레임의 사용자 식별 헤더 (인증되지 않은 세션일 때만 사용)
+    public static final String USER_EMAIL_HEADER = "x-user-email";
+    public static final String USER_NAME_HEADER = "x-user-name";
+
+    // 익명 세션 사용자 키 prefix (목록에는 노출하지 않음)
+    private static final String ANONYMOUS_PREFIX = "session:";
+
+    private static final Pattern ROOM_TOPIC = Pattern.compile(
+            Pattern.quote(ChatBroadcaster.ROOM_TOPIC_PREFIX) + "(\\d+)(/batch)?");
+
+    private final PresenceStore presenceStore;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int maxDeltaMembers;
+
+    // 🗂️ sessionId → (subscriptionId → 접속 정보)
+    private final Map<String, Map<String, Membership>> sessions = new ConcurrentHashMap<>();
+
+    // 🔢 roomId → (memberKey → 이 노드의 구독 수)
+    private final Map<Long, Map<String, Integer>> localMembers = new ConcurrentHashMap<>();
+
+    // 📥 저장소에 반영할 입장/퇴장 (0 ↔ 1 전환만)
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+
+    // 📤 roomId → 직전에 보낸 접속자 (주기 작업 스레드 전용)
+    private final Map<Long, Map<String, String>> lastSent = new HashMap<>();
+
+    private final Counter deltas;
+
+    public PresenceTracker(PresenceStore presenceStore,
+                           SimpMessagingTemplate messagingTemplate,
+                           @Value("${chat.presence.max-delta-members}") int maxDeltaMembers,
+                           MeterRegistry meterRegistry) {
+        this.presenceStore = presenceStore;
+        this.messagingTemplate = messagingTemplate;
+        this.maxDeltaMembers = maxDeltaMembers;
+        this.deltas = Counter.builder("chat.presence.deltas")
+                .description("전송한 접속 현황 변경분 프레임 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.presence.local.rooms", localMembers, Map::size)
+                .description("이 노드에 접속자가 있는 채팅방 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null || destination == null) {
+            return;
+        }
+        Matcher matcher = ROOM_TOPIC.matcher(destination);
+        if (!matcher.matches()) {
+            return;
+        }
+        ChatPrincipal user = ChatPrincipal.from(accessor);
+        Membership membership = new Membership(Long.parseLong(matcher.group(1)), memberKey(accessor),
+                user != null ? user.nickname() : accessor.getFirstNativeHeader(USER_NAME_HEADER));
+        Membership previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), membership);
+        if (previous != null) {
+            release(previous);
+        }
+        acquire(membership);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Membership> subscriptions = sessions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Membership membership = subscriptions.remove(accessor.getSubscriptionId());
+        if (membership != null) {
+            release(membership);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Membership> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * 📸 채팅방 접속 현황 (모든 노드 기준)
+     *
+     * @param limit 목록에 담을 최대 사용자 수
+     */
+    public PresenceSnapshotDTO snapshot(Long roomId, int limit) {
+        Map<String, String> members = presenceStore.members(List.of(roomId)).getOrDefault(roomId, Map.of());
+        List<PresenceMember> named = toMembers(new ArrayList<>(members.keySet()), members);
+        boolean truncated = named.size() > limit;
+        return new PresenceSnapshotDTO(roomId, members.size(), truncated ? named.subList(0, limit) : named, truncated);
+    }
+
+    /**
+     * ⏰ 입장/퇴장을 저장소에 반영하고, 이 노드 구독자에게 방별 변경분 전송
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.broadcast-interval}")
+    public void flush() {
+        for (Change change; (change = pending.poll()) != null; ) {
+            try {
+                if (change.join()) {
+                    presenceStore.join(change.roomId(), change.memberKey(), change.userName());
+                } else {
+                    presenceStore.leave(change.roomId(), change.memberKey());
+                }
+            } catch (RuntimeException e) {
+                log.warn("🟢 접속 현황 반영 실패: {}", change, e);
+            }
+        }
+
+        lastSent.keySet().retainAll(localMembers.keySet());
+        if (localMembers.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<String, String>> current = presenceStore.members(new ArrayList<>(localMembers.keySet()));
+        for (Long roomId : localMembers.keySet()) {
+            Map<String, String> now = current.getOrDefault(roomId, Map.of());
+            Map<String, String> before = lastSent.getOrDefault(roomId, Map.of());
+            if (now.equals(before)) {
+                continue;
+            }
+            List<String> joined = new ArrayList<>();
+            List<String> left = new ArrayList<>();
+            now.keySet().forEach(key -> { if (!before.containsKey(key)) joined.add(key); });
+            before.keySet().forEach(key -> { if (!now.containsKey(key)) left.add(key); });
+
+            List<PresenceMember> joinedMembers = toMembers(joined, now);
+            List<PresenceMember> leftMembers = toMembers(left, before);
+            boolean truncated = joinedMembers.size() + leftMembers.size() > maxDeltaMembers;
+            messagingTemplate.convertAndSend(
+                    ChatBroadcaster.ROOM_TOPIC_PREFIX + roomId + PRESENCE_DESTINATION_SUFFIX,
+                    new PresenceDTO(roomId, now.size(),
+                            truncated ? List.of() : joinedMembers,
+                            truncated ? List.of() : leftMembers,
+                            truncated)
+            );
+            deltas.increment();
+            lastSent.put(roomId, now);
+        }
+    }
+
+    /**
+     * ➕ 이 노드의 (방, 사용자) 구독 수 증가, 0 → 1이면 입장으로 기록
+     */
+    private void acquire(Membership m) {
+        localMembers.compute(m.roomId(), (roomId, members) -> {
+            Map<String, Integer> map = members == null ? new ConcurrentHashMap<>() : members;
+            if (map.merge(m.memberKey(), 1, Integer::sum) == 1) {
+                pending.add(new Change(m.roomId(), m.memberKey(), m.userName(), true));
+            }
+            return map;
+        });
+    }
+
+    /**
+     * ➖ 이 노드의 (방, 사용자) 구독 수 감소, 1 → 0이면 퇴장으로 기록
+     */
+    private void release(Membership m) {
+        localMembers.computeIfPresent(m.roomId(), (roomId, members) -> {
+            Integer count = members.computeIfPresent(m.memberKey(), (key, c) -> c > 1 ? c - 1 : null);
+            if (count == null) {
+                pending.add(new Change(m.roomId(), m.memberKey(), null, false));
+            }
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static String memberKey(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        if (user != null) {
+            return user.getName();
+        }
+        String email = accessor.getFirstNativeHeader(USER_EMAIL_HEADER);
+        return email == null || email.isBlank() ? ANONYMOUS_PREFIX + accessor.getSessionId() : email.trim();
+    }
+
+    /**
+     * 🙍 사용자 키 → 응답용 사용자 (익명 제외, 닉네임 순)
+     */
+    private static List<PresenceMember> toMembers(List<String> keys, Map<String, String> names) {
+        List<PresenceMember> members = new ArrayList<>();
+        for (String key : keys) {
+            if (!key.startsWith(ANONYMOUS_PREFIX)) {
+                String name = names.get(key);
+                members.add(new PresenceMember(key, name == null || name.isEmpty() ? null : name));
+            }
+        }
+        members.sort(Comparator.comparing(PresenceMember::getUserName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(PresenceMember::getUserEmail));
+        return members;
+    }
+
+    /** 구독 하나가 나타내는 (방, 사용자) */
+    private record Membership(Long roomId, String memberKey, String userName) {
+    }
+
+    /** 저장소에 반영할 입장(join=true) / 퇴장 */
+    private record Change(Long roomId, String memberKey, String userName, boolean join) {
+    }
+}
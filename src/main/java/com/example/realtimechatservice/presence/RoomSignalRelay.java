@@ -0,0 +1,145 @@
+package com.example.realtimechatservice.presence;
+
+import com.example.realtimechatservice.broadcast.ChatBroadcaster;
+import com.example.realtimechatservice.dto.RoomSignalDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✍️ RoomSignalRelay
+ *
+ * - 입력 중 / 보는 중 같은 일시적인 신호를 채팅방 구독자에게 바로 전달합니다.
+ *   (MQ 발행, 저장, 순번 발급, 닉네임 조회 없이 이 노드의 SimpleBroker로만 전송)
+ * - (방, 사용자, 신호 종류)마다 chat.signal.min-interval에 최대 한 프레임만 보냅니다.
+ *   그 사이에 들어온 신호는 마지막 것만 남겨 두었다가(last-write-wins) 간격이 지나면 보내고,
+ *   마지막으로 보낸 상태와 같으면 보내지 않습니다. (타자마다 오는 신호 → 사용자당 초당 몇 프레임)
+ * - 신호는 유실돼도 되는 보조 정보라 다른 노드로 팬아웃하지 않습니다. (chat.fanout.mode=rabbit 구성에서는 같은 노드 구독자에게만 전달)
+ */
+@Component
+public class RoomSignalRelay {
+
+    // 📍 신호 구독 경로 suffix ("/topic/chat/room/{roomId}/signal")
+    public static final String SIGNAL_DESTINATION_SUFFIX = "/signal";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Set<String> types;
+    private final long minIntervalNanos;
+
+    // 🗂️ (방, 사용자, 종류) → 마지막 전송 / 대기 중인 신호
+    private final Map<Key, Slot> slots = new ConcurrentHashMap<>();
+
+    private final Counter relayed;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    public RoomSignalRelay(SimpMessagingTemplate messagingTemplate,
+                           @Value("${chat.signal.types}") Set<String> types,
+                           @Value("${chat.signal.min-interval}") Duration minInterval,
+                           MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.types = Set.copyOf(types);
+        this.minIntervalNanos = minInterval.toNanos();
+        this.relayed = Counter.builder("chat.signal.relayed")
+                .description("채팅방 구독자에게 전달한 신호 프레임 수")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("chat.signal.coalesced")
+                .description("간격 제한으로 뒤의 신호에 덮여 보내지 않은 신호 수")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("chat.signal.rejected")
+                .description("종류나 보낸 사람이 올바르지 않아 버린 신호 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.signal.slots", slots, Map::size)
+                .description("간격 제한 중인 (방, 사용자, 종류) 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 📨 신호 전달 (간격이 지났으면 바로 전송, 아니면 마지막 신호로 대기)
+     */
+    public void relay(RoomSignalDTO signal) {
+        if (signal.getRoomId() == null || signal.getUserEmail() == null || signal.getUserEmail().isBlank()
+                || !types.contains(signal.getType())) {
+            rejected.increment();
+            return;
+        }
+        long now = System.nanoTime();
+        boolean[] sendNow = new boolean[1];
+        slots.compute(new Key(signal.getRoomId(), signal.getUserEmail(), signal.getType()), (key, slot) -> {
+            if (slot == null || now - slot.sentAt >= minIntervalNanos) {
+                sendNow[0] = true;
+                return new Slot(signal, now);
+            }
+            if (slot.pending != null) {
+                coalesced.increment();
+            }
+            slot.pending = signal;
+            return slot;
+        });
+        if (sendNow[0]) {
+            send(signal);
+        }
+    }
+
+    /**
+     * ⏰ 간격이 지난 대기 신호 전송, 더 보낼 것이 없는 항목은 정리
+     */
+    @Scheduled(fixedDelayString = "${chat.signal.flush-interval}")
+    public void flush() {
+        if (slots.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<RoomSignalDTO> due = new ArrayList<>();
+        for (Key key : slots.keySet()) {
+            slots.computeIfPresent(key, (k, slot) -> {
+                if (now - slot.sentAt < minIntervalNanos) {
+                    return slot;
+                }
+                if (slot.pending == null) {
+                    return null; // 간격이 지났으니 다음 신호는 바로 전송됨
+                }
+                if (slot.pending.isActive() == slot.sent.isActive()) {
+                    coalesced.increment(); // 구독자가 이미 같은 상태를 받음
+                    return null;
+                }
+                due.add(slot.pending);
+                return new Slot(slot.pending, now);
+            });
+        }
+        due.forEach(this::send);
+    }
+
+    private void send(RoomSignalDTO signal) {
+        messagingTemplate.convertAndSend(
+                ChatBroadcaster.ROOM_TOPIC_PREFIX + signal.getRoomId() + SIGNAL_DESTINATION_SUFFIX, signal);
+        relayed.increment();
+    }
+
+    private record Key(Long roomId, String userEmail, String type) {
+    }
+
+    /** 마지막으로 보낸 신호와 시각, 간격 안에 들어온 마지막 신호 (compute 안에서만 변경) */
+    private static final class Slot {
+
+        private final RoomSignalDTO sent;
+        private final long sentAt;
+        private RoomSignalDTO pending;
+
+        private Slot(RoomSignalDTO sent, long sentAt) {
+            this.sent = sent;
+            this.sentAt = sentAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.realtimechatservice.ratelimit;
+
+import com.example.realtimechatservice.exception.ChatRateLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🚥 ChatRateLimiter
+ *
+ * - 메시지 발행 경로(닉네임 조회 → MQ 발행 → 저장 → 브로드캐스트) 앞에서 보낸 사람별 / 채팅방별 전송량을 제한합니다.
+ * - 사용자(이메일)별 버킷을 먼저 확인하고, 통과하면 채팅방별 버킷을 확인합니다.
+ *   (방에서 거절되면 사용자 토큰은 되돌려서, 붐비는 방 때문에 다른 방 전송까지 막히지 않게 함)
+ * - 버킷은 StripedTokenBuckets(고정 크기 배열 + CAS)라 통과하는 메시지에는 할당이 없습니다.
+ * - 거절 수는 chat.ratelimit.rejected{reason=user|room}로 집계합니다.
+ */
+@Component
+public class ChatRateLimiter {
+
+    private final boolean enabled;
+    private final StripedTokenBuckets userBuckets;
+    private final StripedTokenBuckets roomBuckets;
+
+    // ⏱️ 단조 시각 기준점 (버킷 시각이 0 이상이 되도록)
+    private final long origin = System.nanoTime();
+
+    private final Counter userRejected;
+    private final Counter roomRejected;
+
+    public ChatRateLimiter(@Value("${chat.ratelimit.enabled}") boolean enabled,
+                           @Value("${chat.ratelimit.stripes}") int stripes,
+                           @Value("${chat.ratelimit.user.rate}") double userRate,
+                           @Value("${chat.ratelimit.user.burst}") int userBurst,
+                           @Value("${chat.ratelimit.room.rate}") double roomRate,
+                           @Value("${chat.ratelimit.room.burst}") int roomBurst,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.userBuckets = new StripedTokenBuckets(stripes, userRate, userBurst);
+        this.roomBuckets = new StripedTokenBuckets(stripes, roomRate, roomBurst);
+        this.userRejected = rejectedCounter(meterRegistry, ChatRateLimitException.Reason.USER);
+        this.roomRejected = rejectedCounter(meterRegistry, ChatRateLimitException.Reason.ROOM);
+    }
+
+    /**
+     * ✅ 메시지 한 건 전송 허용 여부 확인
+     *
+     * @throws ChatRateLimitException 사용자 또는 채팅방 전송 한도를 넘은 경우
+     */
+    public void acquire(String userEmail, Long roomId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime() - origin;
+        long userHash = userEmail == null ? 0 : userEmail.hashCode();
+        if (!userBuckets.tryAcquire(userHash, now)) {
+            userRejected.increment();
+            throw ChatRateLimitException.USER;
+        }
+        if (!roomBuckets.tryAcquire(roomId == null ? 0 : roomId, now)) {
+            userBuckets.refund(userHash);
+            roomRejected.increment();
+            throw ChatRateLimitException.ROOM;
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, ChatRateLimitException.Reason reason) {
+        return Counter.builder("chat.ratelimit.rejected")
+                .description("전송 한도를 넘어 거절한 메시지 수")
+                .tag("reason", reason.tag())
+                .register(meterRegistry);
+    }
+}
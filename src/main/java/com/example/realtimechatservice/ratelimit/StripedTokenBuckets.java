@@ -0,0 +1,68 @@
+package com.example.realtimechatservice.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 🪣 StripedTokenBuckets - 키별 토큰 버킷을 고정 크기 배열 하나로 근사
+ *
+ * - 키의 해시로 칸(stripe)을 고르고, 칸마다 long 하나(GCRA의 다음 허용 시각)만 CAS로 갱신합니다.
+ *   (키별 객체/맵 항목을 만들지 않아 요청당 할당이 없고, 오래된 키를 정리할 필요도 없음)
+ * - rate: 초당 채워지는 토큰 수, burst: 한 번에 쓸 수 있는 최대 토큰 수
+ * - 해시가 겹친 키끼리는 버킷을 나눠 쓰므로, 칸 수는 동시에 보내는 키 수보다 넉넉히 잡습니다.
+ */
+final class StripedTokenBuckets {
+
+    private final AtomicLongArray tats;
+    private final int mask;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * @param stripes 칸 수 (2의 거듭제곱으로 올림)
+     * @param rate 초당 허용 수 (> 0)
+     * @param burst 연속 허용 수 (>= 1)
+     */
+    StripedTokenBuckets(int stripes, double rate, int burst) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate > 0, burst >= 1 이어야 합니다: rate=" + rate + ", burst=" + burst);
+        }
+        int size = Integer.highestOneBit(Math.max(stripes, 1) - 1) << 1;
+        this.tats = new AtomicLongArray(Math.max(size, 1));
+        this.mask = tats.length() - 1;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        this.toleranceNanos = intervalNanos * burst;
+    }
+
+    /**
+     * ✅ 토큰 하나 사용 (없으면 false, 상태는 그대로)
+     *
+     * @param hash 키 해시
+     * @param now 단조 증가 시각 (ns, 0 이상)
+     */
+    boolean tryAcquire(long hash, long now) {
+        int i = index(hash);
+        while (true) {
+            long tat = tats.get(i);
+            long next = Math.max(tat, now) + intervalNanos;
+            if (next - now > toleranceNanos) {
+                return false;
+            }
+            if (tats.compareAndSet(i, tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * ↩️ 사용한 토큰 하나 되돌리기 (뒤 단계에서 거절되어 실제로 보내지 않은 경우)
+     */
+    void refund(long hash) {
+        tats.getAndAdd(index(hash), -intervalNanos);
+    }
+
+    private int index(long hash) {
+        // 상위 비트까지 섞어 연속된 ID / 비슷한 문자열도 고르게 퍼지게 함
+        long h = hash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.realtimechatservice.repository;
+
+import com.example.realtimechatservice.entity.ChatMessage;
+
+import java.util.List;
+
+/**
+ * 📦 ChatMessageBatchRepository
+ * - 여러 채팅 메시지를 한 번의 multi-row INSERT로 저장하기 위한 커스텀 레포지토리 프래그먼트입니다.
+ * - IDENTITY 전략에서는 Hibernate가 JDBC 배치를 사용할 수 없기 때문에 JDBC로 직접 배치 저장합니다.
+ */
+public interface ChatMessageBatchRepository {
+
+    /**
+     * ✅ 메시지 목록을 하나의 트랜잭션, 하나의 배치 INSERT로 저장
+     * - 저장 후 DB가 발급한 ID를 각 엔티티에 채워 넣습니다.
+     *
+     * @param messages 저장할 메시지 목록
+     * @return ID가 채워진 동일한 메시지 목록
+     */
+    List<ChatMessage> saveAllInBatch(List<ChatMessage> messages);
+}
@@ -0,0 +1,72 @@
+package com.example.realtimechatservice.repository;
+
+import com.example.realtimechatservice.entity.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 📦 ChatMessageBatchRepositoryImpl
+ * - {@link ChatMessageBatchRepository}의 JDBC 구현체입니다.
+ * - MySQL 드라이버의 rewriteBatchedStatements 옵션과 함께 사용하면
+ *   배치가 하나의 multi-row INSERT로 재작성되고, 연속된 AUTO_INCREMENT 키가 그대로 반환됩니다.
+ * - 반환된 키 수가 행 수와 다르면 예외로 트랜잭션 전체를 롤백합니다. (ID 없는 엔티티가 커밋 뒤 단계로 넘어가지 않도록)
+ */
+@RequiredArgsConstructor
+public class ChatMessageBatchRepositoryImpl implements ChatMessageBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_message (room_id, user_email, user_name, content, created_at, seq) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<ChatMessage> saveAllInBatch(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return messages;
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<ChatMessage>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (ChatMessage message : messages) {
+                    message.onCreate(); // JPA 저장 경로와 동일하게 @PrePersist 로직 적용
+
+                    ps.setObject(1, message.getRoomId());
+                    ps.setString(2, message.getUserEmail());
+                    ps.setString(3, message.getUserName());
+                    ps.setString(4, message.getContent());
+                    ps.setTimestamp(5, Timestamp.valueOf(message.getCreatedAt()));
+                    ps.setObject(6, message.getSeq());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                // 🔑 발급된 ID를 입력 순서대로 엔티티에 반영
+                int read = 0;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (ChatMessage message : messages) {
+                        if (!keys.next()) {
+                            break;
+                        }
+                        message.setId(keys.getLong(1));
+                        read++;
+                    }
+                }
+                if (read != messages.size()) {
+                    throw new DataRetrievalFailureException("배치 INSERT 생성 키 수가 행 수와 다름: 키 " + read
+                            + "개 / 행 " + messages.size() + "개");
+                }
+            }
+            return messages;
+        });
+    }
+}
@@ -1,17 +1,29 @@
 package com.example.realtimechatservice.repository;
 
+import com.example.realtimechatservice.dto.ChatMessageView;
 import com.example.realtimechatservice.entity.ChatMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 💬 ChatMessageRepository
  * - 채팅 메시지 엔티티에 대한 데이터 접근을 처리하는 JPA Repository입니다.
  * - 기본적인 CRUD 기능은 JpaRepository에서 제공하며,
  *   채팅방 ID 기준으로 메시지를 시간순으로 정렬해 조회하는 커스텀 메서드를 추가로 정의합니다.
+ * - 배치 저장은 {@link ChatMessageBatchRepository} 프래그먼트가 담당합니다.
+ * - keyset 조회는 모두 (roomId, createdAt, id) 인덱스 범위 스캔 한 번으로 처리됩니다.
+ * - 순번(seq) 기반 조회는 (roomId, seq) 유니크 인덱스를 사용합니다.
  */
-public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>, ChatMessageBatchRepository {
 
     /**
      * ✅ 특정 채팅방의 메시지를 생성 시각 기준 오름차순으로 조회
@@ -20,4 +32,134 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      * @return 해당 채팅방의 메시지 목록 (createdAt 기준 오름차순 정렬)
      */
     List<ChatMessage> findByRoomIdOrderByCreatedAt(Long roomId);
+
+    /**
+     * ✅ 커서 메시지의 생성 시각 조회 (같은 방의 메시지일 때만)
+     *
+     * @param roomId 채팅방 ID
+     * @param id 커서로 전달된 메시지 ID
+     * @return 커서 메시지의 createdAt
+     */
+    @Query("select m.createdAt from ChatMessage m where m.id = :id and m.roomId = :roomId")
+    Optional<LocalDateTime> findCreatedAtByRoomIdAndId(@Param("roomId") Long roomId, @Param("id") Long id);
+
+    /**
+     * ✅ 가장 최근 메시지부터 limit개 조회 (최신순)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+            order by m.createdAt desc, m.id desc
+            """)
+    List<ChatMessageView> findLatest(@Param("roomId") Long roomId, Limit limit);
+
+    /**
+     * ✅ 커서(createdAt, id)보다 오래된 메시지를 limit개 조회 (최신순)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+              and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id))
+            order by m.createdAt desc, m.id desc
+            """)
+    List<ChatMessageView> findBefore(@Param("roomId") Long roomId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    /**
+     * ✅ 커서(createdAt, id)보다 새로운 메시지를 limit개 조회 (오래된 순)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+              and (m.createdAt > :createdAt or (m.createdAt = :createdAt and m.id > :id))
+            order by m.createdAt asc, m.id asc
+            """)
+    List<ChatMessageView> findAfter(@Param("roomId") Long roomId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    /**
+     * ✅ 순번 seq 이후의 메시지를 limit개 조회 (순번 오름차순) - 재연결 시 놓친 메시지만 받기 위한 조회
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+              and m.seq > :seq
+            order by m.seq asc
+            """)
+    List<ChatMessageView> findSince(@Param("roomId") Long roomId, @Param("seq") long seq, Limit limit);
+
+    /**
+     * ✅ 메시지 ID 목록으로 조회 (검색 결과 본문 조회, 순서 보장 없음)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+              and m.id in :ids
+            """)
+    List<ChatMessageView> findByIds(@Param("roomId") Long roomId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * ✅ 방의 메시지를 ID 오름차순으로 limit개 조회 (검색 색인 전체 재구성용)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+              and m.id > :afterId
+            order by m.id asc
+            """)
+    List<ChatMessageView> findAfterId(@Param("roomId") Long roomId, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * ✅ 보관 대상(cutoff 이전) 메시지가 있는 방 ID 조회
+     * - (createdAt, roomId) 인덱스로 cutoff 이전 범위만 읽음 (보관이 따라잡은 뒤에는 대상 행이 적음)
+     */
+    @Query("select distinct m.roomId from ChatMessage m where m.createdAt < :cutoff")
+    List<Long> findRoomIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * ✅ 방의 cutoff 이전 메시지를 오래된 순으로 limit개 조회 (보관 대상)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatMessageView(
+                m.id, m.roomId, m.userEmail, m.userName, m.content, m.createdAt, m.seq)
+            from ChatMessage m
+            where m.roomId = :roomId
+              and m.createdAt < :cutoff
+            order by m.createdAt asc, m.id asc
+            """)
+    List<ChatMessageView> findOldest(@Param("roomId") Long roomId,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     Limit limit);
+
+    /**
+     * ✅ 보관이 끝난 메시지 삭제 - 커서(createdAt, id)까지(포함) 모두
+     *
+     * @return 삭제된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from ChatMessage m
+            where m.roomId = :roomId
+              and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id <= :id))
+            """)
+    int deleteUpTo(@Param("roomId") Long roomId,
+                   @Param("createdAt") LocalDateTime createdAt,
+                   @Param("id") Long id);
 }
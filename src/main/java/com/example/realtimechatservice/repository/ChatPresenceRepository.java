@@ -0,0 +1,53 @@
+package com.example.realtimechatservice.repository;
+
+import com.example.realtimechatservice.entity.ChatPresence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 🟢 ChatPresenceRepository
+ * - 공유 접속 현황 저장소(chat.presence.store=jdbc)의 데이터 접근 Repository입니다.
+ */
+public interface ChatPresenceRepository extends JpaRepository<ChatPresence, ChatPresence.Key> {
+
+    /**
+     * ✅ 여러 방의 살아 있는 접속 행 조회 (같은 사용자가 여러 노드에 접속했으면 노드마다 한 행)
+     */
+    @Query("""
+            select p from ChatPresence p
+            where p.id.roomId in :roomIds
+              and p.heartbeatAt > :cutoff
+            """)
+    List<ChatPresence> findAlive(@Param("roomIds") Collection<Long> roomIds, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * ✅ 이 노드의 모든 행 heartbeat 갱신
+     */
+    @Transactional
+    @Modifying
+    @Query("update ChatPresence p set p.heartbeatAt = :now where p.id.nodeId = :nodeId")
+    int touch(@Param("nodeId") String nodeId, @Param("now") LocalDateTime now);
+
+    /**
+     * ✅ heartbeat가 끊긴(비정상 종료된 노드의) 행 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ChatPresence p where p.heartbeatAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * ✅ 이 노드의 모든 행 삭제 (정상 종료 시)
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ChatPresence p where p.id.nodeId = :nodeId")
+    int deleteByNode(@Param("nodeId") String nodeId);
+}
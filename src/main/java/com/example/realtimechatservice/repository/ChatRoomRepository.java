@@ -1,15 +1,135 @@
 package com.example.realtimechatservice.repository;
 
+import com.example.realtimechatservice.dto.ChatRoomSummaryView;
 import com.example.realtimechatservice.entity.ChatRoom;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * 💬 ChatRoomRepository
  * - 채팅방(ChatRoom) 엔티티에 대한 데이터 접근을 처리하는 JPA Repository 인터페이스입니다.
  * - JpaRepository를 상속받아 기본적인 CRUD 기능을 제공합니다.
- * - 필요 시 커스텀 쿼리 메서드를 추가할 수 있습니다.
+ * - 목록 조회는 요약 컬럼만 읽는 keyset 페이지 쿼리를 사용합니다. (최근 활동순 / 최근 생성순)
  */
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
-    // 예: 채팅방 이름으로 조회
-    // Optional<ChatRoom> findByRoomName(String roomName);
+
+    /**
+     * ✅ 최근 활동순 첫 페이지
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatRoomSummaryView(
+                r.id, r.roomName, r.creator, r.createdAt, r.lastActivityAt,
+                r.lastMessagePreview, r.lastMessageUserName, r.messageCount)
+            from ChatRoom r
+            order by r.lastActivityAt desc, r.id desc
+            """)
+    List<ChatRoomSummaryView> findByActivity(Limit limit);
+
+    /**
+     * ✅ 커서(lastActivityAt, id) 이후 최근 활동순 페이지
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatRoomSummaryView(
+                r.id, r.roomName, r.creator, r.createdAt, r.lastActivityAt,
+                r.lastMessagePreview, r.lastMessageUserName, r.messageCount)
+            from ChatRoom r
+            where r.lastActivityAt < :activityAt or (r.lastActivityAt = :activityAt and r.id < :id)
+            order by r.lastActivityAt desc, r.id desc
+            """)
+    List<ChatRoomSummaryView> findByActivityBefore(@Param("activityAt") LocalDateTime activityAt,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    /**
+     * ✅ 최근 생성순 페이지 (before가 null이면 첫 페이지)
+     */
+    @Query("""
+            select new com.example.realtimechatservice.dto.ChatRoomSummaryView(
+                r.id, r.roomName, r.creator, r.createdAt, r.lastActivityAt,
+                r.lastMessagePreview, r.lastMessageUserName, r.messageCount)
+            from ChatRoom r
+            where :before is null or r.id < :before
+            order by r.id desc
+            """)
+    List<ChatRoomSummaryView> findByIdBefore(@Param("before") Long before, Limit limit);
+
+    /**
+     * ✅ 페이지 커서로 넘어온 방의 현재 마지막 활동 시각 조회
+     */
+    @Query("select r.lastActivityAt from ChatRoom r where r.id = :id")
+    Optional<LocalDateTime> findLastActivityAtById(@Param("id") Long id);
+
+    /**
+     * ✅ 새 메시지 count건 반영 (메시지 저장 트랜잭션 안에서 호출)
+     *
+     * @return 갱신된 행 수 (0이면 채팅방 없이 메시지만 저장된 방)
+     */
+    @Modifying
+    @Query("""
+            update ChatRoom r
+            set r.messageCount = r.messageCount + :count,
+                r.lastActivityAt = :activityAt,
+                r.lastMessagePreview = :preview,
+                r.lastMessageUserName = :userName
+            where r.id = :roomId
+            """)
+    int recordMessages(@Param("roomId") Long roomId,
+                       @Param("count") long count,
+                       @Param("activityAt") LocalDateTime activityAt,
+                       @Param("preview") String preview,
+                       @Param("userName") String userName);
+
+    /**
+     * ✅ 메시지 한 건 삭제를 요약에 반영
+     * - 메시지 수는 1 감소 (보관 세그먼트로 옮겨진 메시지도 세어져 있으므로 다시 세지 않음)
+     * - 미리보기는 남아 있는 가장 최근 메시지 기준 (마지막 활동 시각은 그대로 유지)
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("""
+            update ChatRoom r
+            set r.messageCount = case when r.messageCount > 0 then r.messageCount - 1 else 0 end,
+                r.lastMessagePreview = (select substring(m.content, 1, 100) from ChatMessage m
+                    where m.id = (select max(m2.id) from ChatMessage m2 where m2.roomId = r.id)),
+                r.lastMessageUserName = (select m.userName from ChatMessage m
+                    where m.id = (select max(m2.id) from ChatMessage m2 where m2.roomId = r.id))
+            where r.id = :roomId
+            """)
+    int recordMessageDeleted(@Param("roomId") Long roomId);
+
+    /**
+     * ✅ 요약을 메시지 테이블 기준으로 다시 계산
+     * - roomId가 null이면 아직 요약이 채워지지 않은(lastActivityAt이 없는) 모든 방이 대상
+     * - hot 테이블만 세므로 메시지 보관(chat.archive) 이후에는 요약이 없는 방을 채울 때만 사용
+     * - 미리보기 길이 100은 ChatRoom.PREVIEW_LENGTH와 같아야 함
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("""
+            update ChatRoom r
+            set r.messageCount = (select count(m) from ChatMessage m where m.roomId = r.id),
+                r.lastActivityAt = coalesce(
+                    (select max(m.createdAt) from ChatMessage m where m.roomId = r.id), r.createdAt),
+                r.lastMessagePreview = (select substring(m.content, 1, 100) from ChatMessage m
+                    where m.id = (select max(m2.id) from ChatMessage m2 where m2.roomId = r.id)),
+                r.lastMessageUserName = (select m.userName from ChatMessage m
+                    where m.id = (select max(m2.id) from ChatMessage m2 where m2.roomId = r.id))
+            where (:roomId is null and r.lastActivityAt is null) or r.id = :roomId
+            """)
+    int rebuildSummaries(@Param("roomId") Long roomId);
+
+    /**
+     * ✅ 모든 채팅방 ID (검색 색인 따라잡기용)
+     */
+    @Query("select r.id from ChatRoom r order by r.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,43 @@
+package com.example.realtimechatservice.repository;
+
+import com.example.realtimechatservice.entity.ChatRoomSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * 🔢 ChatRoomSequenceRepository
+ * - 채팅방별 메시지 순번 카운터에 대한 데이터 접근을 처리하는 JPA Repository입니다.
+ * - 모든 메서드는 메시지 저장 트랜잭션 안에서 호출되어야 합니다.
+ */
+public interface ChatRoomSequenceRepository extends JpaRepository<ChatRoomSequence, Long> {
+
+    /**
+     * ✅ 방의 마지막 순번을 count만큼 증가 (카운터가 없으면 기존 메시지의 최대 seq + count로 생성)
+     * - INSERT ... ON DUPLICATE KEY UPDATE 한 문장이라, 새 방의 첫 저장이 여러 트랜잭션에서 겹쳐도
+     *   뒤 트랜잭션은 앞 트랜잭션의 커밋을 기다렸다가 증가 쪽으로 처리됨 (키 중복 실패 없음)
+     * - 행 잠금은 트랜잭션 종료까지 유지
+     */
+    @Modifying
+    @Query(value = """
+            insert into chat_room_sequence (room_id, last_seq)
+            values (:roomId, (select coalesce(max(m.seq), 0) from chat_message m where m.room_id = :roomId) + :count)
+            on duplicate key update last_seq = last_seq + :count
+            """, nativeQuery = true)
+    int incrementOrCreate(@Param("roomId") Long roomId, @Param("count") long count);
+
+    /**
+     * ✅ 방의 마지막 발급 순번 조회
+     */
+    @Query("select s.lastSeq from ChatRoomSequence s where s.roomId = :roomId")
+    long findLastSeq(@Param("roomId") Long roomId);
+
+    /**
+     * ✅ 방의 마지막 발급 순번 조회 (카운터가 없는 방이면 빈 값, 잠그지 않음)
+     */
+    @Query("select s.lastSeq from ChatRoomSequence s where s.roomId = :roomId")
+    Optional<Long> findCurrentSeq(@Param("roomId") Long roomId);
+}
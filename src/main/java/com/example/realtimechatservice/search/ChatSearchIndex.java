@@ -0,0 +1,395 @@
+package com.example.realtimechatservice.search;
+
+import com.example.realtimechatservice.archive.MessageArchive;
+import com.example.realtimechatservice.config.SchedulingConfig;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import com.example.realtimechatservice.repository.ChatRoomRepository;
+import com.example.realtimechatservice.repository.ChatRoomSequenceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔍 ChatSearchIndex
+ * - 채팅방 메시지 검색용 인메모리 역색인입니다. 방마다 독립된 색인(RoomSearchIndex)으로 나뉘어 있습니다.
+ * - ChatMessageConsumer / REST 저장이 저장에 성공한 메시지를 바로 색인하고, 메시지 삭제 시 색인에서도 뺍니다.
+ * - 색인은 chat.search.snapshot-interval마다 바뀐 방만 로컬 디스크(chat.search.dir)에 스냅샷으로 남깁니다.
+ * - 재시작하면 스냅샷을 읽은 뒤 방마다 스냅샷 이후 순번(seq)의 메시지만 따라잡고,
+ *   스냅샷이 없는 방만 메시지 테이블(+ 보관 세그먼트) 전체를 읽어 색인합니다. (백그라운드, 그동안의 검색 결과는 불완전할 수 있음)
+ * - 색인은 후보 ID만 돌려주고, 최종 일치 판정과 본문 조회는 ChatSearchService가 합니다.
+ * - 검색 전에는 방의 순번 카운터와 비교해 색인이 뒤처져 있으면 빠진 메시지를 먼저 따라잡습니다. (catchUpRoom)
+ *   → 멀티 노드 팬아웃 모드에서 이 노드가 저장하지도, 팬아웃으로 받지도 않은 메시지가 검색에서 빠지지 않도록
+ * - 전체 추정 메모리가 chat.search.max-memory를 넘으면 가장 오래 쓰이지 않은 방부터 스냅샷을 남기고 메모리에서 내립니다.
+ *   내린 방(coldRooms)은 새 메시지를 색인하지 않고, 다음 검색(또는 삭제) 때 스냅샷을 읽어 그 이후 순번만 따라잡습니다.
+ */
+@Slf4j
+@Component
+public class ChatSearchIndex {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomSequenceRepository chatRoomSequenceRepository;
+    private final MessageArchive messageArchive;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int rebuildBatchSize;
+    private final long maxBytes;
+
+    // 🗂️ roomId → 방 색인
+    private final Map<Long, RoomSearchIndex> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    // 🧊 메모리에서 내리고 스냅샷만 남아 있는 방 (검색 시 다시 읽음)
+    private final Set<Long> coldRooms = ConcurrentHashMap.newKeySet();
+
+    // 스냅샷에서 읽은 방 (이 방들만 순번 기준으로 따라잡고, 나머지는 전체 색인)
+    private final Set<Long> restoredRooms = ConcurrentHashMap.newKeySet();
+
+    // 시작 시 따라잡기가 끝났는지 (끝나기 전에는 불완전한 색인을 스냅샷으로 남기지 않음)
+    private volatile boolean ready;
+
+    public ChatSearchIndex(ChatMessageRepository chatMessageRepository,
+                           ChatRoomRepository chatRoomRepository,
+                           ChatRoomSequenceRepository chatRoomSequenceRepository,
+                           MessageArchive messageArchive,
+                           @Value("${chat.search.enabled}") boolean enabled,
+                           @Value("${chat.search.dir}") Path dir,
+                           @Value("${chat.search.rebuild-batch-size}") int rebuildBatchSize,
+                           @Value("${chat.search.max-memory}") DataSize maxMemory,
+                           MeterRegistry meterRegistry) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRoomSequenceRepository = chatRoomSequenceRepository;
+        this.messageArchive = messageArchive;
+        this.enabled = enabled;
+        this.dir = dir;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.maxBytes = maxMemory.toBytes();
+        Gauge.builder("chat.search.rooms", rooms, Map::size)
+                .description("검색 색인이 메모리에 있는 채팅방 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.search.cold-rooms", coldRooms, Set::size)
+                .description("메모리에서 내리고 스냅샷만 남은 채팅방 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.search.bytes", totalBytes, AtomicLong::get)
+                .description("메모리에 있는 검색 색인의 추정 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if (enabled) {
+            loadSnapshots();
+        }
+    }
+
+    /**
+     * ✅ 검색 기능 사용 여부 (chat.search.enabled)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ➕ 저장이 끝난 메시지를 색인
+     * - 메모리에서 내린 방이면 건너뜀 (다시 읽을 때 스냅샷 이후 순번을 따라잡으며 색인됨)
+     */
+    public void index(ChatMessageView message) {
+        if (!enabled || message.getId() == null) {
+            return;
+        }
+        RoomSearchIndex index = rooms.get(message.getRoomId());
+        if (index == null) {
+            if (coldRooms.contains(message.getRoomId())) {
+                return;
+            }
+            index = rooms.computeIfAbsent(message.getRoomId(), RoomSearchIndex::new);
+        }
+        totalBytes.addAndGet(index.add(message.getId(), message.getSeq(), ChatTokenizer.tokens(message.getContent())));
+        if (ready) {
+            enforceMemoryCap();
+        }
+    }
+
+    /**
+     * ➖ 삭제된 메시지를 색인에서 제거
+     * - 메모리에서 내린 방이면 스냅샷을 먼저 읽어 옴 (스냅샷에 지워진 ID가 남지 않도록)
+     */
+    public void remove(ChatMessageView message) {
+        if (!enabled) {
+            return;
+        }
+        RoomSearchIndex index = rooms.get(message.getRoomId());
+        if (index == null && coldRooms.contains(message.getRoomId())) {
+            index = restore(message.getRoomId());
+        }
+        if (index != null) {
+            totalBytes.addAndGet(index.remove(message.getId(), ChatTokenizer.tokens(message.getContent())));
+        }
+    }
+
+    /**
+     * 🔎 검색어의 모든 토큰이 나온 메시지 ID 후보 (beforeId 미만, ID 내림차순, 최대 max개)
+     */
+    public long[] candidates(Long roomId, SearchQuery query, long beforeId, int max) {
+        RoomSearchIndex index = rooms.get(roomId);
+        return index == null ? new long[0] : index.candidates(query.tokens(), beforeId, max);
+    }
+
+    /**
+     * 🔄 방 색인을 마지막 발급 순번까지 따라잡기 (검색 직전에 호출)
+     * - 메모리에서 내린 방이면 스냅샷을 먼저 읽어 옵니다. (스냅샷이 없거나 깨졌으면 빈 색인에서 전부 따라잡음)
+     * - 순번 카운터 조회(PK 한 건)로 뒤처졌는지 확인하고, 뒤처진 경우에만 빠진 구간을 읽어 색인합니다.
+     * - 시작 시 따라잡기가 끝나기 전에는 하지 않습니다. (그동안은 기존처럼 불완전할 수 있음)
+     */
+    public void catchUpRoom(Long roomId) {
+        if (!enabled || !ready) {
+            return;
+        }
+        RoomSearchIndex index = rooms.get(roomId);
+        if (index == null && coldRooms.contains(roomId)) {
+            index = restore(roomId);
+        }
+        Optional<Long> lastSeq = chatRoomSequenceRepository.findCurrentSeq(roomId);
+        if (lastSeq.isEmpty()) {
+            return;
+        }
+        if (index == null) {
+            index = rooms.computeIfAbsent(roomId, RoomSearchIndex::new);
+        }
+        if (index.indexedSeq() < lastSeq.get()) {
+            catchUp(index);
+        }
+    }
+
+    /**
+     * 🚀 시작 후 백그라운드에서 스냅샷 이후 메시지 따라잡기 / 스냅샷 없는 방 전체 색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::catchUp, "chat-search-catch-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * ⏰ 바뀐 방의 색인을 스냅샷으로 기록
+     */
+    @Scheduled(fixedDelayString = "${chat.search.snapshot-interval}", initialDelayString = "${chat.search.snapshot-interval}",
+            scheduler = SchedulingConfig.BACKGROUND_SCHEDULER)
+    public void snapshot() {
+        if (!enabled || !ready) {
+            return;
+        }
+        int written = 0;
+        for (RoomSearchIndex index : rooms.values()) {
+            if (!index.isDirty()) {
+                continue;
+            }
+            try {
+                index.export((roomId, indexedSeq, postings) -> SearchIndexSnapshot.write(dir, roomId, indexedSeq, postings));
+                written++;
+            } catch (IOException e) {
+                log.error("🔍 채팅방 {} 검색 색인 스냅샷 실패 (다음 주기에 재시도)", index.roomId, e);
+            }
+        }
+        log.debug("🔍 검색 색인 스냅샷 {}개 방 기록", written);
+    }
+
+    /**
+     * 🛑 종료 시 마지막 스냅샷
+     */
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private void loadSnapshots() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SearchIndexSnapshot.SUFFIX)) {
+            for (Path file : files) {
+                Long roomId = SearchIndexSnapshot.roomId(file);
+                if (roomId != null && totalBytes.get() >= maxBytes) {
+                    coldRooms.add(roomId); // 메모리 상한 도달: 나머지는 검색할 때 읽음
+                    continue;
+                }
+                try {
+                    RoomSearchIndex index = SearchIndexSnapshot.read(file);
+                    rooms.put(index.roomId, index);
+                    restoredRooms.add(index.roomId);
+                    totalBytes.addAndGet(index.bytes());
+                } catch (IOException e) {
+                    log.warn("🔍 검색 색인 스냅샷을 읽지 못해 해당 방은 다시 색인합니다: {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("🔍 검색 색인 스냅샷 디렉터리를 읽지 못함: {}", dir, e);
+        }
+        log.info("🔍 검색 색인 스냅샷 {}개 방 읽음 (나중에 읽을 방 {}개)", rooms.size(), coldRooms.size());
+    }
+
+    /**
+     * 📂 메모리에서 내린 방의 스냅샷을 다시 읽음 (동시에 읽었으면 먼저 올라간 색인 사용)
+     */
+    private RoomSearchIndex restore(Long roomId) {
+        RoomSearchIndex restored;
+        try {
+            restored = SearchIndexSnapshot.read(SearchIndexSnapshot.file(dir, roomId));
+        } catch (IOException e) {
+            log.warn("🔍 채팅방 {} 검색 색인 스냅샷을 읽지 못해 처음부터 따라잡습니다", roomId, e);
+            restored = new RoomSearchIndex(roomId);
+        }
+        RoomSearchIndex existing = rooms.putIfAbsent(roomId, restored);
+        if (existing != null) {
+            return existing;
+        }
+        totalBytes.addAndGet(restored.bytes());
+        coldRooms.remove(roomId);
+        enforceMemoryCap();
+        return restored;
+    }
+
+    /**
+     * 🧯 전체 추정 메모리 상한 초과 시 가장 오래 쓰이지 않은 방부터 스냅샷을 남기고 메모리에서 내림
+     * - 스냅샷 기록에 실패한 방은 내리지 않고 다음 방으로 넘어감
+     */
+    private void enforceMemoryCap() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (totalBytes.get() <= maxBytes) {
+                return;
+            }
+            List<RoomSearchIndex> byAccess = new ArrayList<>(rooms.values());
+            byAccess.sort(Comparator.comparingLong(RoomSearchIndex::lastAccess));
+            for (RoomSearchIndex index : byAccess) {
+                if (totalBytes.get() <= maxBytes) {
+                    break;
+                }
+                try {
+                    long bytes = index.close((roomId, indexedSeq, postings) -> SearchIndexSnapshot.write(dir, roomId, indexedSeq, postings));
+                    coldRooms.add(index.roomId); // 맵에서 빼기 전에 표시 → 그 사이 색인 요청은 건너뜀
+                    rooms.remove(index.roomId, index);
+                    restoredRooms.remove(index.roomId);
+                    totalBytes.addAndGet(-bytes);
+                } catch (IOException e) {
+                    log.error("🔍 채팅방 {} 검색 색인 스냅샷 실패로 메모리에서 내리지 못함", index.roomId, e);
+                }
+            }
+        }
+    }
+
+    void catchUp() {
+        long started = System.nanoTime();
+        long indexed = 0;
+        for (Long roomId : chatRoomRepository.findAllIds()) {
+            if (coldRooms.contains(roomId)) {
+                continue; // 스냅샷만 있는 방은 검색할 때 읽으며 따라잡음
+            }
+            try {
+                RoomSearchIndex index = rooms.get(roomId);
+                indexed += index != null && restoredRooms.contains(roomId) ? catchUp(index) : rebuild(roomId);
+                enforceMemoryCap(); // 방 하나를 끝낸 뒤에만 (색인 중인 방을 내리지 않도록)
+            } catch (RuntimeException e) {
+                log.error("🔍 채팅방 {} 검색 색인 따라잡기 실패", roomId, e);
+            }
+        }
+        restoredRooms.clear();
+        ready = true;
+        log.info("🔍 검색 색인 준비 완료: 메시지 {}건 색인 ({} ms)", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 🔁 스냅샷 이후 순번의 메시지만 색인 (보관 구간 → hot 테이블 순)
+     * - 끝까지 읽은 뒤에는 마지막으로 읽은 순번까지 색인된 것으로 표시 (삭제된 메시지의 빈 순번에서 멈추지 않도록)
+     */
+    private long catchUp(RoomSearchIndex index) {
+        long seq = index.indexedSeq();
+        long indexed = 0;
+        while (true) {
+            List<ChatMessageView> rows = messageArchive.maxSeq(index.roomId) > seq
+                    ? messageArchive.findSince(index.roomId, seq, rebuildBatchSize)
+                    : List.of();
+            if (rows.isEmpty()) {
+                rows = chatMessageRepository.findSince(index.roomId, seq, Limit.of(rebuildBatchSize));
+            }
+            if (rows.isEmpty()) {
+                index.markIndexedThrough(seq);
+                return indexed;
+            }
+            rows.forEach(this::index);
+            indexed += rows.size();
+            seq = rows.get(rows.size() - 1).getSeq();
+        }
+    }
+
+    /**
+     * 🧱 스냅샷이 없는 방: 보관 세그먼트와 메시지 테이블 전체를 색인
+     * - 같은 방의 순번과 ID는 저장 순서대로 커지므로, 다 읽은 시점의 최대 순번까지는 모두 색인된 것으로 표시
+     */
+    private long rebuild(Long roomId) {
+        rooms.computeIfAbsent(roomId, RoomSearchIndex::new);
+        long maxSeq = 0;
+        long indexed = 0;
+
+        LocalDateTime createdAt = LocalDateTime.MIN;
+        long id = Long.MIN_VALUE;
+        while (true) {
+            List<ChatMessageView> rows = messageArchive.findAfter(roomId, createdAt, id, rebuildBatchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (ChatMessageView row : rows) {
+                index(row);
+                maxSeq = row.getSeq() == null ? maxSeq : Math.max(maxSeq, row.getSeq());
+            }
+            indexed += rows.size();
+            ChatMessageView last = rows.get(rows.size() - 1);
+            createdAt = last.getCreatedAt();
+            id = last.getId();
+        }
+
+        long afterId = 0;
+        while (true) {
+            List<ChatMessageView> rows = chatMessageRepository.findAfterId(roomId, afterId, Limit.of(rebuildBatchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (ChatMessageView row : rows) {
+                index(row);
+                maxSeq = row.getSeq() == null ? maxSeq : Math.max(maxSeq, row.getSeq());
+            }
+            indexed += rows.size();
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+        rooms.get(roomId).markIndexedThrough(maxSeq);
+        return indexed;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.realtimechatservice.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * ✂️ ChatTokenizer - 검색 색인 / 검색어 공통 토큰 분리
+ *
+ * - NFKC 정규화 + 소문자 변환 후, 글자/숫자가 아닌 문자를 기준으로 "덩어리(run)"로 나눕니다.
+ * - 영문/숫자 등 띄어쓰기 언어 덩어리는 단어 하나를 그대로 토큰으로 씁니다. (예: "Hello" → "hello")
+ * - 한글/한자/가나 덩어리는 형태소 분석 없이 글자 1-gram + 2-gram을 토큰으로 씁니다.
+ *   (예: "안녕하세요" → 안, 녕, 하, 세, 요, 안녕, 녕하, 하세, 세요) → 조사가 붙은 단어도 부분 일치로 찾을 수 있음
+ * - 한 덩어리 안에서 문자 종류가 바뀌면 새 덩어리로 나눕니다. (예: "카톡3개" → "카톡", "3", "개")
+ */
+final class ChatTokenizer {
+
+    // 지나치게 긴 단어(URL, 난수 문자열 등)는 색인하지 않음
+    static final int MAX_WORD_LENGTH = 40;
+
+    private ChatTokenizer() {
+    }
+
+    /**
+     * 🔤 색인용 토큰 (메시지 안에서 중복 제거)
+     */
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (Run run : runs(text)) {
+            if (run.cjk()) {
+                addGrams(run.text(), tokens, true);
+            } else if (run.text().length() <= MAX_WORD_LENGTH) {
+                tokens.add(run.text());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 🔎 검색어 하나를 덩어리별로 분리 (각 덩어리가 모두 포함된 메시지를 찾음)
+     */
+    static List<Run> runs(String text) {
+        List<Run> runs = new ArrayList<>();
+        if (text == null) {
+            return runs;
+        }
+        String normalized = normalize(text);
+        StringBuilder current = new StringBuilder();
+        boolean currentCjk = false;
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+            if (!Character.isLetterOrDigit(cp)) {
+                flush(current, currentCjk, runs);
+                continue;
+            }
+            boolean cjk = isCjk(cp);
+            if (!current.isEmpty() && cjk != currentCjk) {
+                flush(current, currentCjk, runs);
+            }
+            currentCjk = cjk;
+            current.appendCodePoint(cp);
+        }
+        flush(current, currentCjk, runs);
+        return runs;
+    }
+
+    /**
+     * 🔠 본문 비교용 정규화 (검색 결과 검증에도 같은 규칙 사용)
+     */
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 🧩 CJK 덩어리의 n-gram (unigrams=true면 1-gram도 포함, 1글자 덩어리는 항상 1-gram)
+     */
+    static void addGrams(String run, Set<String> out, boolean unigrams) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1 || unigrams) {
+            for (int cp : cps) {
+                out.add(new String(Character.toChars(cp)));
+            }
+        }
+        for (int i = 0; i + 1 < cps.length; i++) {
+            out.add(new String(cps, i, 2));
+        }
+    }
+
+    private static void flush(StringBuilder current, boolean cjk, List<Run> runs) {
+        if (!current.isEmpty()) {
+            runs.add(new Run(current.toString(), cjk));
+            current.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    /**
+     * 🧱 같은 종류 문자가 이어진 덩어리
+     *
+     * @param text 정규화된 문자열
+     * @param cjk 한글/한자/가나 덩어리 여부
+     */
+    record Run(String text, boolean cjk) {
+    }
+}
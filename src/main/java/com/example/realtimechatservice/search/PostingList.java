@@ -0,0 +1,85 @@
+package com.example.realtimechatservice.search;
+
+import java.util.Arrays;
+
+/**
+ * 📑 PostingList - 토큰 하나가 나온 메시지 ID 목록 (오름차순, 중복 없음)
+ *
+ * - 메시지는 대부분 ID 순서대로 들어오므로 보통은 끝에 덧붙이고, 늦게 도착한 ID만 이분 탐색 위치에 끼워 넣습니다.
+ * - 박싱 없는 long[] 하나로 유지해 메시지 수백만 건 방에서도 메모리와 교집합 비용을 작게 유지합니다.
+ * - 동기화는 RoomSearchIndex의 락이 담당합니다.
+ */
+final class PostingList {
+
+    private long[] ids;
+    private int size;
+
+    PostingList() {
+        this(new long[4], 0);
+    }
+
+    PostingList(long[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * ➕ ID 추가 (이미 있으면 false)
+     */
+    boolean add(long id) {
+        if (size == 0 || id > ids[size - 1]) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return false;
+        }
+        int insert = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+        ids[insert] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * ➖ ID 제거 (없으면 false)
+     */
+    boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * 🔎 id보다 작은 마지막 원소 위치 (없으면 -1)
+     */
+    int lastIndexBefore(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        return (pos >= 0 ? pos : -pos - 1) - 1;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.realtimechatservice.search;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 🗂️ RoomSearchIndex - 채팅방 하나의 역색인 (토큰 → 메시지 ID 목록)
+ *
+ * - 방 단위로 나뉘어 있어 다른 방의 색인/검색과 락을 공유하지 않습니다. (읽기-쓰기 락)
+ * - indexedSeq: 1..indexedSeq 순번의 메시지가 모두 색인되었다는 표시 (스냅샷 이후 따라잡기 시작점)
+ *   순번이 앞질러 도착한 메시지는 pendingSeqs에 두었다가 빈틈이 채워지면 함께 올립니다.
+ * - 추정 메모리(bytes)와 마지막 사용 시각을 들고 있어, 상한을 넘으면 ChatSearchIndex가 오래 안 쓰인 방부터 내립니다. (close)
+ */
+final class RoomSearchIndex {
+
+    // 토큰 하나의 고정 오버헤드 추정치 (맵 엔트리, 문자열, PostingList 객체와 배열 헤더)
+    private static final long TERM_OVERHEAD_BYTES = 96;
+    private static final long ID_BYTES = Long.BYTES;
+
+    final Long roomId;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings;
+    private final TreeSet<Long> pendingSeqs = new TreeSet<>();
+    private long indexedSeq;
+    private long bytes;
+    private boolean closed; // 메모리에서 내린 색인 (이후 변경은 무시, 스냅샷에서 다시 읽음)
+    private volatile boolean dirty;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    RoomSearchIndex(Long roomId) {
+        this(roomId, new HashMap<>(), 0);
+    }
+
+    RoomSearchIndex(Long roomId, Map<String, PostingList> postings, long indexedSeq) {
+        this.roomId = roomId;
+        this.postings = postings;
+        this.indexedSeq = indexedSeq;
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            this.bytes += termBytes(entry.getKey()) + ID_BYTES * entry.getValue().size();
+        }
+    }
+
+    /**
+     * ➕ 메시지 색인 (같은 메시지를 다시 넣어도 결과는 같음)
+     *
+     * @return 추정 메모리 변화량 (내린 색인이면 0)
+     */
+    long add(long id, Long seq, Collection<String> tokens) {
+        lock.writeLock().lock();
+        try {
+            lastAccess = System.currentTimeMillis();
+            if (closed) {
+                return 0;
+            }
+            long delta = 0;
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list == null) {
+                    list = new PostingList();
+                    postings.put(token, list);
+                    delta += termBytes(token);
+                }
+                if (list.add(id)) {
+                    delta += ID_BYTES;
+                }
+            }
+            if (seq != null) {
+                advance(seq);
+            }
+            bytes += delta;
+            dirty = true;
+            return delta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ➖ 삭제된 메시지를 색인에서 제거
+     *
+     * @return 추정 메모리 변화량 (내린 색인이면 0)
+     */
+    long remove(long id, Collection<String> tokens) {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return 0;
+            }
+            long delta = 0;
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list != null && list.remove(id)) {
+                    delta -= ID_BYTES;
+                    if (list.size() == 0) {
+                        postings.remove(token);
+                        delta -= termBytes(token);
+                    }
+                }
+            }
+            bytes += delta;
+            dirty = true;
+            return delta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 🧊 메모리에서 내리기 전: 바뀐 내용이 있으면 스냅샷으로 남기고 이후 변경을 막음
+     * - 스냅샷 기록이 실패하면 예외를 던지고 색인은 그대로 둡니다.
+     *
+     * @return 내린 시점의 추정 메모리
+     */
+    long close(SnapshotWriter writer) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (dirty) {
+                writer.write(roomId, indexedSeq, postings);
+                dirty = false;
+            }
+            closed = true;
+            return bytes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 🔢 전체 재색인이 끝났을 때: 그 시점까지의 순번은 모두 색인된 것으로 표시
+     */
+    void markIndexedThrough(long seq) {
+        lock.writeLock().lock();
+        try {
+            indexedSeq = Math.max(indexedSeq, seq);
+            while (!pendingSeqs.isEmpty() && pendingSeqs.first() <= indexedSeq + 1) {
+                indexedSeq = Math.max(indexedSeq, pendingSeqs.pollFirst());
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long indexedSeq() {
+        lock.readLock().lock();
+        try {
+            return indexedSeq;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 🔎 모든 토큰이 나온 메시지 ID를 beforeId 미만에서 큰 순서로 최대 max개
+     * - 가장 짧은 목록을 뒤에서부터 훑고, 나머지 목록은 이분 탐색으로 확인
+     */
+    long[] candidates(Set<String> tokens, long beforeId, int max) {
+        lock.readLock().lock();
+        try {
+            lastAccess = System.currentTimeMillis();
+            PostingList[] lists = new PostingList[tokens.size()];
+            int n = 0;
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists[n++] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+            long[] result = new long[Math.min(max, lists[0].size())];
+            int found = 0;
+            for (int i = lists[0].lastIndexBefore(beforeId); i >= 0 && found < result.length; i--) {
+                long id = lists[0].get(i);
+                boolean all = true;
+                for (int l = 1; l < lists.length && all; l++) {
+                    all = lists[l].contains(id);
+                }
+                if (all) {
+                    result[found++] = id;
+                }
+            }
+            return found == result.length ? result : Arrays.copyOf(result, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 📸 읽기 락 안에서 현재 상태를 내보냄 (스냅샷 기록용), 변경 표시는 지움
+     */
+    void export(SnapshotWriter writer) throws IOException {
+        lock.readLock().lock();
+        try {
+            writer.write(roomId, indexedSeq, postings);
+            dirty = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    long bytes() {
+        lock.readLock().lock();
+        try {
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    private static long termBytes(String token) {
+        return TERM_OVERHEAD_BYTES + 2L * token.length();
+    }
+
+    private void advance(long seq) {
+        if (seq <= indexedSeq) {
+            return;
+        }
+        if (seq == indexedSeq + 1) {
+            indexedSeq = seq;
+            while (!pendingSeqs.isEmpty() && pendingSeqs.first() == indexedSeq + 1) {
+                indexedSeq = pendingSeqs.pollFirst();
+            }
+        } else {
+            pendingSeqs.add(seq);
+        }
+    }
+
+    @FunctionalInterface
+    interface SnapshotWriter {
+        void write(Long roomId, long indexedSeq, Map<String, PostingList> postings) throws IOException;
+    }
+}
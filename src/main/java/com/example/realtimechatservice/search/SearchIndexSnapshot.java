@@ -0,0 +1,125 @@
+package com.example.realtimechatservice.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 💾 SearchIndexSnapshot - 방 하나의 역색인 스냅샷 파일 (room-{id}.snap)
+ *
+ * 📐 레이아웃 (gzip, 빅 엔디언)
+ * <pre>
+ * int     magic ("CHSI"), int version (=1)
+ * long    roomId, long indexedSeq
+ * int     termCount
+ * termCount × { UTF term, int size, size × varint (이전 ID와의 차이) }
+ * </pre>
+ * - 임시 파일에 쓴 뒤 이름을 바꿔 교체하므로 읽는 쪽은 항상 완전한 스냅샷만 봅니다.
+ */
+final class SearchIndexSnapshot {
+
+    static final int MAGIC = 0x43485349; // "CHSI"
+    static final int VERSION = 1;
+    static final String SUFFIX = ".snap";
+
+    private SearchIndexSnapshot() {
+    }
+
+    static Path file(Path dir, Long roomId) {
+        return dir.resolve("room-" + roomId + SUFFIX);
+    }
+
+    /**
+     * 🏷️ 파일 이름에서 방 ID (room-{id}.snap 형식이 아니면 null)
+     */
+    static Long roomId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("room-") || !name.endsWith(SUFFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(name.substring("room-".length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static void write(Path dir, Long roomId, long indexedSeq, Map<String, PostingList> postings) throws IOException {
+        Files.createDirectories(dir);
+        Path target = file(dir, roomId);
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(roomId);
+            out.writeLong(indexedSeq);
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                PostingList list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(list.size());
+                long previous = 0;
+                for (int i = 0; i < list.size(); i++) {
+                    writeVarLong(out, list.get(i) - previous);
+                    previous = list.get(i);
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static RoomSearchIndex read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("검색 색인 스냅샷 형식이 아님: " + file);
+            }
+            long roomId = in.readLong();
+            long indexedSeq = in.readLong();
+            int termCount = in.readInt();
+            Map<String, PostingList> postings = new HashMap<>(termCount * 4 / 3 + 1);
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                long[] ids = new long[Math.max(size, 1)];
+                long previous = 0;
+                for (int i = 0; i < size; i++) {
+                    previous += readVarLong(in);
+                    ids[i] = previous;
+                }
+                postings.put(term, new PostingList(ids, size));
+            }
+            return new RoomSearchIndex(roomId, postings, indexedSeq);
+        }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("잘못된 varint");
+    }
+}
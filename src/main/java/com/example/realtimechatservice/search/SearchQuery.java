@@ -0,0 +1,81 @@
+package com.example.realtimechatservice.search;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 🔎 SearchQuery - 파싱된 검색어
+ *
+ * - 검색어의 모든 덩어리를 포함한 메시지가 결과입니다. (AND)
+ * - 영문 단어는 단어 단위로 정확히 일치해야 하고, 한글 등은 본문 안에 연속으로 나타나면 일치합니다.
+ * - 색인 조회(토큰 교집합)는 후보만 고르고, 2-gram으로는 연속성을 보장할 수 없으므로 최종 판정은 {@link #matches}로 합니다.
+ */
+public final class SearchQuery {
+
+    // 검색어 덩어리 수 상한 (교집합 비용 제한)
+    static final int MAX_RUNS = 8;
+
+    private final List<ChatTokenizer.Run> runs;
+    private final Set<String> tokens;
+
+    private SearchQuery(List<ChatTokenizer.Run> runs, Set<String> tokens) {
+        this.runs = runs;
+        this.tokens = tokens;
+    }
+
+    /**
+     * ✅ 검색어 파싱 (글자/숫자가 없거나 덩어리가 너무 많으면 empty)
+     */
+    public static Optional<SearchQuery> parse(String q) {
+        List<ChatTokenizer.Run> runs = ChatTokenizer.runs(q);
+        if (runs.isEmpty() || runs.size() > MAX_RUNS) {
+            return Optional.empty();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (ChatTokenizer.Run run : runs) {
+            if (run.cjk()) {
+                ChatTokenizer.addGrams(run.text(), tokens, false);
+            } else if (run.text().length() <= ChatTokenizer.MAX_WORD_LENGTH) {
+                tokens.add(run.text());
+            } else {
+                return Optional.empty(); // 색인되지 않는 길이의 단어
+            }
+        }
+        return Optional.of(new SearchQuery(List.copyOf(runs), tokens));
+    }
+
+    /**
+     * 🧩 색인에서 교집합을 구할 토큰
+     */
+    Set<String> tokens() {
+        return tokens;
+    }
+
+    /**
+     * ✅ 본문이 검색어와 일치하는지 최종 판정
+     */
+    public boolean matches(String content) {
+        if (content == null) {
+            return false;
+        }
+        Set<String> words = null;
+        String normalized = ChatTokenizer.normalize(content);
+        for (ChatTokenizer.Run run : runs) {
+            if (run.cjk()) {
+                if (!normalized.contains(run.text())) {
+                    return false;
+                }
+            } else {
+                if (words == null) {
+                    words = ChatTokenizer.tokens(content);
+                }
+                if (!words.contains(run.text())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.archive.MessageArchive;
+import com.example.realtimechatservice.dto.ChatMessagePageDTO;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 📜 ChatHistoryService
+ * - 채팅방 메시지 이력을 커서(keyset) 방식으로 페이지 조회하는 서비스입니다.
+ * - 방 크기와 관계없이 한 페이지 조회가 인덱스 범위 스캔 한 번으로 끝나도록 OFFSET을 사용하지 않습니다.
+ * - 커서 없는 "최신 N건" 조회는 RecentMessageBuffer에서 먼저 응답하고, 버퍼가 비어 있을 때만 DB를 읽어 채웁니다.
+ * - 재연결한 클라이언트는 마지막으로 받은 순번(seq) 이후 메시지만 받아 갑니다. (버퍼 우선, 없으면 DB)
+ * - hot 테이블에서 모자란 부분은 보관 세그먼트(MessageArchive)에서 이어서 채우므로, 커서가 보관 구간으로 넘어가도 그대로 조회됩니다.
+ *   (보관된 메시지는 항상 hot 테이블의 메시지보다 오래됨)
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryService {
+
+    // 한 페이지 기본 / 최대 메시지 수
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final MessageArchive messageArchive;
+
+    /**
+     * ✅ 메시지 이력 한 페이지 조회
+     * - before, after 모두 없으면 가장 최근 메시지부터 최신순으로 조회
+     * - before: 해당 메시지보다 오래된 메시지를 최신순으로 조회
+     * - after: 해당 메시지보다 새로운 메시지를 오래된 순으로 조회
+     *
+     * @param roomId 채팅방 ID
+     * @param before 이 메시지 ID 이전 페이지 (nullable)
+     * @param after 이 메시지 ID 이후 페이지 (nullable)
+     * @param limit 페이지 크기 (1 ~ MAX_LIMIT 로 보정)
+     * @return 페이지 결과, 커서 메시지가 이 방에 없으면 Optional.empty()
+     */
+    public Optional<ChatMessagePageDTO> getPage(Long roomId, Long before, Long after, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        Limit fetch = Limit.of(size + 1); // 한 건 더 조회해 다음 페이지 존재 여부 판단
+
+        List<ChatMessageView> rows;
+        if (before != null) {
+            Optional<LocalDateTime> cursor = findCursor(roomId, before);
+            if (cursor.isEmpty()) {
+                return Optional.empty();
+            }
+            rows = withOlderArchived(roomId, chatMessageRepository.findBefore(roomId, cursor.get(), before, fetch),
+                    cursor.get(), before, size + 1);
+        } else if (after != null) {
+            Optional<LocalDateTime> cursor = findCursor(roomId, after);
+            if (cursor.isEmpty()) {
+                return Optional.empty();
+            }
+            rows = findAfter(roomId, cursor.get(), after, size + 1);
+        } else {
+            rows = withOlderArchived(roomId, findLatest(roomId, size + 1), null, null, size + 1);
+        }
+
+        return Optional.of(toPage(rows, size, ChatMessageView::getId));
+    }
+
+    /**
+     * ✅ 순번 afterSeq 이후의 메시지를 순번 오름차순으로 조회 (재연결 시 놓친 메시지)
+     * - nextCursor는 이번 페이지 마지막 메시지의 seq이며, hasMore면 그 값으로 다시 요청합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param afterSeq 클라이언트가 마지막으로 받은 순번
+     * @param limit 페이지 크기 (1 ~ MAX_LIMIT 로 보정)
+     */
+    public ChatMessagePageDTO getSince(Long roomId, long afterSeq, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<ChatMessageView> rows = recentMessageBuffer.since(roomId, afterSeq, size + 1);
+        if (rows == null) {
+            rows = chatMessageRepository.findSince(roomId, afterSeq, Limit.of(size + 1));
+        }
+
+        // hot 테이블 결과가 afterSeq + 1부터 시작하지 않으면 앞부분은 보관 구간에 있음
+        boolean contiguous = !rows.isEmpty() && rows.get(0).getSeq() != null && rows.get(0).getSeq() == afterSeq + 1;
+        if (!contiguous && messageArchive.maxSeq(roomId) > afterSeq) {
+            List<ChatMessageView> archived = messageArchive.findSince(roomId, afterSeq, size + 1);
+            if (!archived.isEmpty() && archived.size() < size + 1) {
+                long lastArchivedSeq = archived.get(archived.size() - 1).getSeq();
+                archived.addAll(chatMessageRepository.findSince(roomId, lastArchivedSeq,
+                        Limit.of(size + 1 - archived.size())));
+            }
+            if (!archived.isEmpty()) {
+                rows = archived;
+            }
+        }
+        return toPage(rows, size, ChatMessageView::getSeq);
+    }
+
+    /**
+     * 🔍 페이지 커서 메시지의 생성 시각 (hot 테이블 → 보관 세그먼트 순으로 찾음)
+     */
+    private Optional<LocalDateTime> findCursor(Long roomId, Long messageId) {
+        Optional<LocalDateTime> cursor = chatMessageRepository.findCreatedAtByRoomIdAndId(roomId, messageId);
+        return cursor.isPresent() ? cursor : messageArchive.findCreatedAt(roomId, messageId);
+    }
+
+    /**
+     * 🧊 최신순 결과가 want건보다 적으면 그보다 오래된 보관 메시지로 이어서 채움
+     * - hot 결과가 모자랐다면 hot 테이블에는 그보다 오래된 메시지가 없으므로 중복되지 않음
+     */
+    private List<ChatMessageView> withOlderArchived(Long roomId, List<ChatMessageView> newestFirst,
+                                                    LocalDateTime cursorCreatedAt, Long cursorId, int want) {
+        if (newestFirst.size() >= want) {
+            return newestFirst;
+        }
+        LocalDateTime createdAt = cursorCreatedAt;
+        Long id = cursorId;
+        if (!newestFirst.isEmpty()) {
+            ChatMessageView oldest = newestFirst.get(newestFirst.size() - 1);
+            createdAt = oldest.getCreatedAt();
+            id = oldest.getId();
+        }
+        List<ChatMessageView> archived = messageArchive.findBefore(roomId, createdAt, id, want - newestFirst.size());
+        if (archived.isEmpty()) {
+            return newestFirst;
+        }
+        List<ChatMessageView> rows = new ArrayList<>(newestFirst);
+        rows.addAll(archived);
+        return rows;
+    }
+
+    /**
+     * 🧊 커서 이후 메시지를 오래된 순으로 조회 (보관 구간 → hot 테이블 순)
+     */
+    private List<ChatMessageView> findAfter(Long roomId, LocalDateTime createdAt, Long id, int want) {
+        List<ChatMessageView> rows = new ArrayList<>();
+        Optional<MessageArchive.ArchivedKey> last = messageArchive.lastArchived(roomId);
+        if (last.isPresent() && (createdAt.isBefore(last.get().createdAt())
+                || (createdAt.isEqual(last.get().createdAt()) && id < last.get().id()))) {
+            rows.addAll(messageArchive.findAfter(roomId, createdAt, id, want));
+            if (rows.size() >= want) {
+                return rows;
+            }
+            if (!rows.isEmpty()) {
+                ChatMessageView newest = rows.get(rows.size() - 1);
+                createdAt = newest.getCreatedAt();
+                id = newest.getId();
+            }
+        }
+        rows.addAll(chatMessageRepository.findAfter(roomId, createdAt, id, Limit.of(want - rows.size())));
+        return rows;
+    }
+
+    /**
+     * 🧺 최신 n건 조회 (링 버퍼 우선, 부족하면 DB에서 버퍼 용량만큼 읽어 버퍼를 채움)
+     */
+    private List<ChatMessageView> findLatest(Long roomId, int n) {
+        if (n > recentMessageBuffer.capacity()) {
+            return chatMessageRepository.findLatest(roomId, Limit.of(n));
+        }
+
+        List<ChatMessageView> buffered = recentMessageBuffer.latest(roomId, n);
+        if (buffered != null) {
+            return buffered;
+        }
+
+        List<ChatMessageView> rows = chatMessageRepository.findLatest(roomId, Limit.of(recentMessageBuffer.capacity()));
+        recentMessageBuffer.prime(roomId, rows);
+        return rows.subList(0, Math.min(n, rows.size()));
+    }
+
+    /**
+     * 🔁 limit+1 조회 결과를 페이지 응답으로 변환
+     */
+    private ChatMessagePageDTO toPage(List<ChatMessageView> rows, int size, Function<ChatMessageView, Long> cursor) {
+        boolean hasMore = rows.size() > size;
+        List<ChatMessageView> messages = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = hasMore ? cursor.apply(messages.get(messages.size() - 1)) : null;
+        return new ChatMessagePageDTO(messages, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.config.RabbitConfig;
+import com.example.realtimechatservice.dto.ChatErrorDTO;
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import com.example.realtimechatservice.exception.ChatBackpressureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.Principal;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📨 ChatMessagePublisher
+ *
+ * - 채팅 메시지를 RabbitMQ로 발행하고, 브로커 확인(publisher confirm)을 비동기로 추적하는 서비스
+ * - 확인 대기 중인 메시지 수를 chat.publish.max-unconfirmed로 제한하고,
+ *   상한에 도달하면 기다리지 않고 ChatBackpressureException을 던져 인바운드 채널 스레드가 멈추지 않게 함
+ * - 발행 → 확인까지의 지연 시간을 히스토그램으로 기록해 브로커 지연을 바로 확인할 수 있음
+ * - 브로커가 nack를 주거나 확인이 실패하면 경고 로그(채팅방, correlation id)를 남기고,
+ *   CorrelationData에 담아 둔 보낸 사람 세션으로 "/user/queue/errors" PUBLISH_FAILED 오류 프레임을 보냄
+ */
+@Slf4j
+@Service
+public class ChatMessagePublisher {
+
+    // 📍 보낸 사람 오류 프레임 경로 (ChatController의 @SendToUser와 같은 곳)
+    private static final String ERROR_DESTINATION = "/queue/errors";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ChatPartitioner chatPartitioner;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // 🚦 확인 대기 가능한 메시지 수 (permit 1개 = 미확인 메시지 1건)
+    private final Semaphore unconfirmed;
+    private final int maxUnconfirmed;
+
+    // 📊 확인 지연 / 거절 지표
+    private final Timer confirmAck;
+    private final Timer confirmNack;
+    private final Counter rejected;
+    private final Counter nacked;
+
+    public ChatMessagePublisher(RabbitTemplate rabbitTemplate,
+                                ChatPartitioner chatPartitioner,
+                                SimpMessagingTemplate messagingTemplate,
+                                @Value("${chat.publish.max-unconfirmed}") int maxUnconfirmed,
+                                MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.chatPartitioner = chatPartitioner;
+        this.messagingTemplate = messagingTemplate;
+        this.maxUnconfirmed = maxUnconfirmed;
+        this.unconfirmed = new Semaphore(maxUnconfirmed);
+
+        this.confirmAck = confirmTimer(meterRegistry, "ack");
+        this.confirmNack = confirmTimer(meterRegistry, "nack");
+        this.rejected = Counter.builder("chat.publish.rejected")
+                .description("미확인 메시지 상한 초과로 거절된 발행 수")
+                .register(meterRegistry);
+        this.nacked = Counter.builder("chat.publish.nacked")
+                .description("브로커가 nack를 주거나 확인에 실패한 발행 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.publish.unconfirmed", this, p -> p.maxUnconfirmed - p.unconfirmed.availablePermits())
+                .description("브로커 확인 대기 중인 메시지 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ 메시지를 MQ로 발행 (Exchange + 방별/파티션 라우팅 키)
+     * - 확인은 기다리지 않고 반환하며, 확인 결과는 CorrelationData 콜백에서 처리됨
+     * - 확인에 실패하면 보낸 사람(sessionId, user)에게 PUBLISH_FAILED 오류 프레임을 보냄
+     *
+     * @param sessionId 보낸 사람의 WebSocket 세션 ID
+     * @param user      보낸 사람 (인증되지 않은 세션이면 null)
+     * @throws ChatBackpressureException 미확인 메시지가 상한에 도달한 경우
+     */
+    public void publish(ChatMessageDTO dto, String sessionId, Principal user) {
+        if (!unconfirmed.tryAcquire()) {
+            rejected.increment();
+            throw new ChatBackpressureException("메시지 전송이 많아 잠시 후 다시 시도해 주세요.");
+        }
+
+        long start = System.nanoTime();
+        SenderCorrelation correlation = new SenderCorrelation(dto.getRoomId(), sessionId,
+                user != null ? user.getName() : sessionId);
+        correlation.getFuture().whenComplete((confirm, ex) -> {
+            unconfirmed.release();
+            boolean acked = ex == null && confirm != null && confirm.isAck();
+            (acked ? confirmAck : confirmNack).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acked) {
+                onNack(correlation, ex != null ? ex.toString() : confirm != null ? confirm.getReason() : null);
+            }
+        });
+
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitConfig.EXCHANGE_NAME,                  // 메시지를 보낼 Exchange 이름
+                    chatPartitioner.routingKey(dto.getRoomId()), // 라우팅 키: 어떤 (파티션) 큐로 보낼지 결정
+                    dto,                                         // 전송할 메시지 객체 (ChatMessageDTO)
+                    message -> {                                 // 큐 대기 시간 측정용 발행 시각
+                        message.getMessageProperties().setHeader(RabbitConfig.PUBLISHED_AT_HEADER, System.currentTimeMillis());
+                        return message;
+                    },
+                    correlation                                  // 브로커 확인 추적용
+            );
+        } catch (AmqpException e) {
+            // 발행 자체가 실패하면 확인 콜백이 오지 않으므로 직접 완료 처리
+            correlation.getFuture().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * ⚠️ 확인 실패 처리: 경고 로그 + 지표 + 보낸 사람에게만 오류 프레임
+     * - 보낸 사람이 다른 노드/끊긴 세션이면 프레임은 전달되지 않고 버려짐
+     */
+    private void onNack(SenderCorrelation correlation, String reason) {
+        nacked.increment();
+        log.warn("📨 채팅방 {} 메시지 발행 확인 실패 (correlation {}, session {}): {}",
+                correlation.roomId, correlation.getId(), correlation.sessionId, reason);
+        if (correlation.sessionId == null) {
+            return;
+        }
+        try {
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setSessionId(correlation.sessionId); // broadcast=false와 같이 보낸 세션에만 전달
+            headers.setLeaveMutable(true);
+            messagingTemplate.convertAndSendToUser(correlation.userName, ERROR_DESTINATION,
+                    new ChatErrorDTO("PUBLISH_FAILED", "메시지를 전송하지 못했습니다. 다시 시도해 주세요."),
+                    headers.getMessageHeaders());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ 발행 실패 오류 프레임 전송 실패 (session {})", correlation.sessionId, e);
+        }
+    }
+
+    private static Timer confirmTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("chat.publish.confirm")
+                .description("발행 후 브로커 확인까지 걸린 시간")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 🏷️ 확인 콜백에서 보낸 사람을 찾기 위한 CorrelationData (id는 기본 생성되는 UUID)
+     */
+    private static final class SenderCorrelation extends CorrelationData {
+
+        private final Long roomId;
+        private final String sessionId;
+        private final String userName;
+
+        private SenderCorrelation(Long roomId, String sessionId, String userName) {
+            this.roomId = roomId;
+            this.sessionId = sessionId;
+            this.userName = userName;
+        }
+    }
+}
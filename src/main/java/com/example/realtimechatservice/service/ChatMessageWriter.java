@@ -0,0 +1,70 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.entity.ChatMessage;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import com.example.realtimechatservice.repository.ChatRoomSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * ✍️ ChatMessageWriter
+ * - 채팅 메시지에 방별 순번(seq)을 발급하고 같은 트랜잭션에서 저장하는 서비스입니다.
+ * - 순번 카운터 행을 먼저 갱신해 잠그므로 같은 방의 동시 저장은 순서대로 처리되고,
+ *   저장이 실패하면 순번 발급도 롤백되어 방 안의 seq는 1, 2, 3 ... 빈틈 없이 이어집니다.
+ * - 카운터가 없는 방은 기존 메시지의 최대 seq부터 이어서 시작합니다.
+ *   (카운터 생성과 증가가 upsert 한 문장이라, 새 방의 첫 메시지가 여러 노드에서 동시에 저장되어도 순서대로 처리됩니다.)
+ * - 같은 트랜잭션에서 채팅방 목록 요약(마지막 메시지, 활동 시각, 메시지 수)도 함께 갱신합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatMessageWriter {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomSequenceRepository chatRoomSequenceRepository;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+
+    /**
+     * ✅ 메시지 한 건에 순번을 발급하고 저장
+     */
+    @Transactional
+    public ChatMessage save(ChatMessage message) {
+        message.setSeq(allocate(message.getRoomId(), 1));
+        ChatMessage saved = chatMessageRepository.save(message);
+        chatRoomSummaryService.recordMessages(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * ✅ 메시지 목록에 방별로 연속된 순번을 발급하고 하나의 배치 INSERT로 저장
+     * - 방 ID 오름차순으로 카운터를 잠가 동시 배치끼리 교착 상태가 생기지 않게 합니다.
+     * - 같은 방 안에서는 목록 순서대로 순번이 매겨집니다.
+     */
+    @Transactional
+    public List<ChatMessage> saveAll(List<ChatMessage> messages) {
+        Map<Long, List<ChatMessage>> byRoom = messages.stream()
+                .collect(Collectors.groupingBy(ChatMessage::getRoomId, TreeMap::new, Collectors.toList()));
+        byRoom.forEach((roomId, roomMessages) -> {
+            long seq = allocate(roomId, roomMessages.size());
+            for (ChatMessage message : roomMessages) {
+                message.setSeq(seq++);
+            }
+        });
+        List<ChatMessage> saved = chatMessageRepository.saveAllInBatch(messages);
+        byRoom.values().forEach(chatRoomSummaryService::recordMessages);
+        return saved;
+    }
+
+    /**
+     * 🔢 방의 순번 count개를 발급하고 첫 번째 순번을 반환
+     */
+    private long allocate(Long roomId, int count) {
+        chatRoomSequenceRepository.incrementOrCreate(roomId, count);
+        return chatRoomSequenceRepository.findLastSeq(roomId) - count + 1;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.config.RabbitConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 🧩 ChatPartitioner
+ *
+ * - roomId를 N개의 파티션 중 하나로 매핑하는 컴포넌트
+ * - 같은 방의 메시지는 항상 같은 파티션 큐로 가므로, 파티션마다 소비자를 하나만 두면 방 내부 순서가 유지됨
+ * - Jump Consistent Hash를 사용해 파티션 수가 바뀌어도 재배치되는 방을 최소화함
+ */
+@Component
+public class ChatPartitioner {
+
+    private final boolean enabled;
+    private final int partitionCount;
+    private final List<Integer> assignedPartitions;
+
+    public ChatPartitioner(@Value("${chat.partition.enabled}") boolean enabled,
+                           @Value("${chat.partition.count}") int partitionCount,
+                           @Value("${chat.partition.assigned}") List<Integer> assigned) {
+        this.enabled = enabled;
+        this.partitionCount = partitionCount;
+        this.assignedPartitions = assigned.isEmpty()
+                ? IntStream.range(0, partitionCount).boxed().toList()
+                : assigned.stream().filter(p -> p >= 0 && p < partitionCount).toList();
+    }
+
+    /** ✅ 파티션 모드 사용 여부 */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** ✅ 이 노드가 소비할 파티션 번호 목록 (설정이 비어 있으면 전체) */
+    public List<Integer> assignedPartitions() {
+        return assignedPartitions;
+    }
+
+    /** ✅ roomId → 파티션 번호 */
+    public int partitionOf(Long roomId) {
+        return jumpConsistentHash(roomId == null ? 0L : roomId, partitionCount);
+    }
+
+    /**
+     * ✅ 메시지 발행 시 사용할 라우팅 키
+     * - 파티션 모드: "chat.message.p{n}", 아니면 기존 "chat.message"
+     */
+    public String routingKey(Long roomId) {
+        return enabled ? partitionRoutingKey(partitionOf(roomId)) : RabbitConfig.ROUTING_KEY;
+    }
+
+    public static String partitionRoutingKey(int partition) {
+        return RabbitConfig.ROUTING_KEY + ".p" + partition;
+    }
+
+    public static String partitionQueueName(int partition) {
+        return RabbitConfig.QUEUE_NAME + ".p" + partition;
+    }
+
+    /**
+     * 🔢 Jump Consistent Hash (Lamping &amp; Veach)
+     * - 버킷 수가 n → n+1로 늘어날 때 약 1/(n+1)의 키만 새 버킷으로 이동함
+     */
+    static int jumpConsistentHash(long key, int buckets) {
+        long k = key;
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            k = k * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((k >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
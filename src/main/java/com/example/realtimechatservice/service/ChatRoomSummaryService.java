@@ -0,0 +1,149 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.dto.ChatRoomPageDTO;
+import com.example.realtimechatservice.dto.ChatRoomSummaryView;
+import com.example.realtimechatservice.entity.ChatMessage;
+import com.example.realtimechatservice.entity.ChatRoom;
+import com.example.realtimechatservice.repository.ChatRoomRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🏠 ChatRoomSummaryService
+ * - 채팅방 목록 화면용 요약(마지막 메시지 미리보기, 마지막 활동 시각, 메시지 수)을 유지하고 조회하는 서비스입니다.
+ * - 요약은 ChatMessageWriter가 메시지를 저장하는 트랜잭션에서 방마다 UPDATE 한 번으로 갱신됩니다.
+ * - 목록은 keyset 페이지 쿼리 한 번으로 조회하고, 같은 페이지 요청은 chat.room-list.cache-ttl 동안 캐시에서 응답합니다.
+ * - 요약 컬럼이 추가되기 전부터 있던 방은 애플리케이션 시작 시 메시지 테이블 기준으로 한 번 채웁니다.
+ */
+@Slf4j
+@Service
+public class ChatRoomSummaryService {
+
+    // 한 페이지 기본 / 최대 채팅방 수
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    /** 목록 정렬 기준 */
+    public enum RoomSort { RECENT, CREATED }
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final Duration cacheTtl;
+
+    // 🗃️ (정렬, 커서, 크기) → 페이지 캐시 (커서가 잘못된 요청은 Optional.empty로 캐시)
+    private final Cache<PageKey, Optional<ChatRoomPageDTO>> pageCache;
+
+    public ChatRoomSummaryService(ChatRoomRepository chatRoomRepository,
+                                  @Value("${chat.room-list.cache-ttl}") Duration cacheTtl,
+                                  @Value("${chat.room-list.cache-max-size}") long cacheMaxSize,
+                                  MeterRegistry meterRegistry) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cacheTtl = cacheTtl;
+        this.pageCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+
+        // 📊 hit/miss 등의 캐시 지표를 "cache.*{cache=room-list}"로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, pageCache, "room-list");
+    }
+
+    /**
+     * ⏱️ 목록 응답을 캐시해도 되는 시간 (HTTP Cache-Control max-age에도 사용)
+     */
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * ✅ 채팅방 목록 한 페이지 조회
+     *
+     * @param sort 정렬 기준 (RECENT: 최근 활동순, CREATED: 최근 생성순)
+     * @param before 이 채팅방 다음부터 조회 (nullable, 이전 페이지의 nextCursor)
+     * @param limit 페이지 크기 (1 ~ MAX_LIMIT 로 보정)
+     * @return 페이지 결과, 커서 채팅방이 없으면 Optional.empty()
+     */
+    public Optional<ChatRoomPageDTO> getPage(RoomSort sort, Long before, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return pageCache.get(new PageKey(sort, before, size), key -> loadPage(sort, before, size));
+    }
+
+    private Optional<ChatRoomPageDTO> loadPage(RoomSort sort, Long before, int size) {
+        Limit fetch = Limit.of(size + 1); // 한 건 더 조회해 다음 페이지 존재 여부 판단
+
+        List<ChatRoomSummaryView> rows;
+        if (sort == RoomSort.CREATED) {
+            rows = chatRoomRepository.findByIdBefore(before, fetch);
+        } else if (before == null) {
+            rows = chatRoomRepository.findByActivity(fetch);
+        } else {
+            // 커서 방의 "현재" 활동 시각 기준 (그 사이 새 메시지가 온 방은 앞 페이지로 이동해 있을 수 있음)
+            Optional<LocalDateTime> cursor = chatRoomRepository.findLastActivityAtById(before);
+            if (cursor.isEmpty()) {
+                return Optional.empty();
+            }
+            rows = chatRoomRepository.findByActivityBefore(cursor.get(), before, fetch);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<ChatRoomSummaryView> rooms = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = hasMore ? rooms.get(rooms.size() - 1).getId() : null;
+        return Optional.of(new ChatRoomPageDTO(rooms, nextCursor, hasMore));
+    }
+
+    /**
+     * ✍️ 한 방에 새로 저장된 메시지(저장 순서대로)를 요약에 반영
+     * - 메시지 저장 트랜잭션 안에서 호출되어야 합니다. (방 순번 카운터 잠금 이후라 같은 방의 갱신은 순서대로 적용됨)
+     */
+    void recordMessages(List<ChatMessage> roomMessages) {
+        if (roomMessages.isEmpty()) {
+            return;
+        }
+        ChatMessage last = roomMessages.get(roomMessages.size() - 1);
+        chatRoomRepository.recordMessages(
+                last.getRoomId(),
+                roomMessages.size(),
+                last.getCreatedAt(),
+                ChatRoom.preview(last.getContent()),
+                last.getUserName()
+        );
+    }
+
+    /**
+     * 🗑️ 메시지 한 건 삭제를 요약에 반영 (메시지 수 감소, 미리보기는 남은 최근 메시지 기준)
+     * - 보관된 메시지는 hot 테이블에 없으므로 전체를 다시 세지 않고 증감만 반영합니다.
+     */
+    @Transactional
+    public void recordDeleted(Long roomId) {
+        chatRoomRepository.recordMessageDeleted(roomId);
+    }
+
+    /**
+     * 🚚 요약이 비어 있는 기존 방을 시작 시 한 번에 채움
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = chatRoomRepository.rebuildSummaries(null);
+        if (updated > 0) {
+            log.info("🏠 채팅방 요약 {}건 채움", updated);
+        }
+    }
+
+    private record PageKey(RoomSort sort, Long before, int size) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.archive.MessageArchive;
+import com.example.realtimechatservice.dto.ChatMessagePageDTO;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import com.example.realtimechatservice.search.ChatSearchIndex;
+import com.example.realtimechatservice.search.SearchQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 🔎 ChatSearchService
+ * - 채팅방 안 메시지 검색을 처리하는 서비스입니다. (LIKE '%x%' 전체 스캔 대신 ChatSearchIndex 역색인 사용)
+ * - 검색 전에 방 색인을 마지막 순번까지 따라잡고(ChatSearchIndex.catchUpRoom), 색인에서 후보 ID를 최신순으로 받아, 본문을 ID로 조회(hot 테이블 → 보관 세그먼트)하고 검색어와 최종 대조합니다.
+ * - 결과는 메시지 ID 기준 keyset 페이지입니다. (nextCursor를 다음 요청의 before로 전달)
+ * - 요청 하나가 살펴보는 후보 수는 chat.search.max-candidates로 제한되며, 상한에 닿으면
+ *   결과가 limit보다 적어도 hasMore=true와 마지막으로 살펴본 위치를 nextCursor로 돌려줍니다.
+ */
+@Service
+public class ChatSearchService {
+
+    // 한 페이지 기본 / 최대 결과 수
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // 본문을 한 번에 조회할 후보 수
+    private static final int FETCH_CHUNK = 100;
+
+    private final ChatSearchIndex chatSearchIndex;
+    private final ChatMessageRepository chatMessageRepository;
+    private final MessageArchive messageArchive;
+    private final int maxCandidates;
+    private final Timer queryTimer;
+
+    public ChatSearchService(ChatSearchIndex chatSearchIndex,
+                             ChatMessageRepository chatMessageRepository,
+                             MessageArchive messageArchive,
+                             @Value("${chat.search.max-candidates}") int maxCandidates,
+                             MeterRegistry meterRegistry) {
+        this.chatSearchIndex = chatSearchIndex;
+        this.chatMessageRepository = chatMessageRepository;
+        this.messageArchive = messageArchive;
+        this.maxCandidates = maxCandidates;
+        this.queryTimer = Timer.builder("chat.search.query")
+                .description("메시지 검색 한 페이지 처리 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ 검색 기능 사용 여부
+     */
+    public boolean isEnabled() {
+        return chatSearchIndex.isEnabled();
+    }
+
+    /**
+     * ✅ 채팅방 메시지 검색 (최신순)
+     *
+     * @param roomId 채팅방 ID
+     * @param q 검색어 (공백/기호로 나뉜 모든 단어가 포함된 메시지)
+     * @param before 이 메시지 ID보다 오래된 결과부터 (nullable, 이전 페이지의 nextCursor)
+     * @param limit 페이지 크기 (1 ~ MAX_LIMIT 로 보정)
+     * @return 검색 결과 페이지, 검색어가 올바르지 않으면 Optional.empty()
+     */
+    public Optional<ChatMessagePageDTO> search(Long roomId, String q, Long before, int limit) {
+        Optional<SearchQuery> parsed = SearchQuery.parse(q);
+        if (parsed.isEmpty()) {
+            return Optional.empty();
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return Optional.of(queryTimer.record(() -> search(roomId, parsed.get(), before, size)));
+    }
+
+    private ChatMessagePageDTO search(Long roomId, SearchQuery query, Long before, int size) {
+        chatSearchIndex.catchUpRoom(roomId); // 다른 노드가 저장한 메시지까지 색인된 상태에서 검색
+        long[] candidates = chatSearchIndex.candidates(roomId, query, before == null ? Long.MAX_VALUE : before, maxCandidates);
+
+        List<ChatMessageView> hits = new ArrayList<>(size + 1);
+        int scanned = 0;
+        while (scanned < candidates.length && hits.size() <= size) {
+            int end = Math.min(scanned + FETCH_CHUNK, candidates.length);
+            Map<Long, ChatMessageView> found = fetch(roomId, candidates, scanned, end);
+            for (; scanned < end && hits.size() <= size; scanned++) {
+                ChatMessageView message = found.get(candidates[scanned]);
+                if (message != null && query.matches(message.getContent())) {
+                    hits.add(message);
+                }
+            }
+        }
+
+        if (hits.size() > size) {
+            List<ChatMessageView> page = hits.subList(0, size);
+            return new ChatMessagePageDTO(page, page.get(size - 1).getId(), true);
+        }
+        if (candidates.length == maxCandidates) {
+            // 후보 상한에 닿음: 살펴본 마지막 위치부터 이어서 검색
+            return new ChatMessagePageDTO(hits, candidates[candidates.length - 1], true);
+        }
+        return new ChatMessagePageDTO(hits, null, false);
+    }
+
+    /**
+     * 📥 후보 ID의 본문 조회 (hot 테이블에 없는 ID는 보관 세그먼트에서, 둘 다 없으면 삭제된 메시지)
+     */
+    private Map<Long, ChatMessageView> fetch(Long roomId, long[] candidates, int from, int to) {
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(candidates[i]);
+        }
+        Map<Long, ChatMessageView> found = new HashMap<>();
+        chatMessageRepository.findByIds(roomId, ids).forEach(m -> found.put(m.getId(), m));
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            messageArchive.findByIds(roomId, missing).forEach(m -> found.put(m.getId(), m));
+        }
+        return found;
+    }
+}
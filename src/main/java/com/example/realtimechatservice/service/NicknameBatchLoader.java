@@ -0,0 +1,117 @@
+package com.example.realtimechatservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 🧺 NicknameBatchLoader - 짧은 시간 안에 들어온 닉네임 조회를 모아 한 번에 요청 (data loader 방식)
+ *
+ * - 첫 조회가 들어오면 window 뒤에 그때까지 모인 이메일을 한 번에 조회합니다.
+ *   (maxSize개가 먼저 모이면 기다리지 않고 바로 조회)
+ * - 조회는 별도 스레드 풀에서 실행되고, 결과는 이메일별 CompletableFuture로 돌려줍니다.
+ *   (응답에 없는 이메일은 Optional.empty, 조회 실패는 그 묶음의 모든 future를 실패로 완료)
+ * - 같은 이메일의 동시 조회는 앞단 캐시(AsyncLoadingCache)가 하나로 합치므로 여기서는 중복을 신경 쓰지 않습니다.
+ */
+final class NicknameBatchLoader implements AutoCloseable {
+
+    // 동시에 진행할 수 있는 묶음 조회 수
+    private static final int FETCH_THREADS = 4;
+
+    private final Function<List<String>, Map<String, String>> fetcher;
+    private final long windowNanos;
+    private final int maxSize;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService fetchExecutor;
+
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private boolean scheduled;
+
+    /**
+     * @param fetcher 이메일 목록 → (이메일 → 닉네임) 조회 (없는 이메일은 결과에서 빠짐)
+     * @param window 첫 조회 후 다른 조회를 기다리는 시간
+     * @param maxSize 한 번에 조회할 최대 이메일 수
+     */
+    NicknameBatchLoader(Function<List<String>, Map<String, String>> fetcher, Duration window, int maxSize) {
+        this.fetcher = fetcher;
+        this.windowNanos = window.toNanos();
+        this.maxSize = Math.max(1, maxSize);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("nickname-batch"));
+        this.fetchExecutor = Executors.newFixedThreadPool(FETCH_THREADS, daemon("nickname-fetch"));
+    }
+
+    /**
+     * ✅ 닉네임 조회 예약 (다음 묶음에 포함)
+     */
+    CompletableFuture<Optional<String>> load(String email) {
+        CompletableFuture<Optional<String>> future = new CompletableFuture<>();
+        List<Pending> full = null;
+        synchronized (lock) {
+            pending.add(new Pending(email, future));
+            if (pending.size() >= maxSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else if (!scheduled) {
+                scheduled = true;
+                scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            submit(full);
+        }
+        return future;
+    }
+
+    private void flush() {
+        List<Pending> batch;
+        synchronized (lock) {
+            scheduled = false;
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    private void submit(List<Pending> batch) {
+        fetchExecutor.execute(() -> {
+            try {
+                List<String> emails = new ArrayList<>(batch.size());
+                batch.forEach(p -> emails.add(p.email()));
+                Map<String, String> nicknames = fetcher.apply(emails);
+                batch.forEach(p -> p.future().complete(Optional.ofNullable(nicknames.get(p.email()))));
+            } catch (RuntimeException e) {
+                batch.forEach(p -> p.future().completeExceptionally(e));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Pending(String email, CompletableFuture<Optional<String>> future) {
+    }
+}
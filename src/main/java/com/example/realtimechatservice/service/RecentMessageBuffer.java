@@ -0,0 +1,330 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.dto.ChatMessageView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 🧺 RecentMessageBuffer
+ * - 채팅방별 최근 메시지를 고정 크기 링 버퍼로 보관하는 인메모리 저장소입니다.
+ * - ChatMessageConsumer가 저장에 성공한 메시지를 채우고, "최신 N건" 조회는 DB 대신 여기서 응답합니다.
+ * - 일정 시간 조회/추가가 없는 방은 제거되며, 전체 추정 메모리가 상한을 넘으면 가장 오래 쓰이지 않은 방부터 제거합니다.
+ * - 멀티 노드 팬아웃 모드에서는 이 노드가 모든 메시지를 받는 방(팬아웃 바인딩된 방)만 보관합니다. (trackOnly)
+ *   → 다른 노드가 저장한 메시지가 빠진 채로 "최신 N건"을 응답하지 않도록
+ */
+@Component
+public class RecentMessageBuffer {
+
+    // 메시지 한 건의 고정 오버헤드 추정치 (객체 헤더, 필드, 참조 등)
+    private static final long MESSAGE_OVERHEAD_BYTES = 96;
+
+    private final int capacity;
+    private final long idleTimeoutMillis;
+    private final long maxBytes;
+
+    private final Map<Long, RoomBuffer> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    // 보관 대상 방 조건 (null이면 모든 방)
+    private volatile Predicate<Long> trackedRooms;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecentMessageBuffer(@Value("${chat.recent-buffer.capacity}") int capacity,
+                               @Value("${chat.recent-buffer.idle-timeout}") Duration idleTimeout,
+                               @Value("${chat.recent-buffer.max-memory}") DataSize maxMemory,
+                               MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.maxBytes = maxMemory.toBytes();
+
+        this.hits = Counter.builder("chat.recent-buffer.reads").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("chat.recent-buffer.reads").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("chat.recent-buffer.rooms", rooms, Map::size).register(meterRegistry);
+        Gauge.builder("chat.recent-buffer.bytes", totalBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * 📏 버퍼 한 방당 최대 보관 메시지 수
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 🎯 보관 대상 방 제한 (RoomFanoutListener가 바인딩 상태로 지정)
+     * - 대상이 아닌 방은 추가/프라이밍을 무시하고, 조회는 항상 null(DB 조회)을 반환합니다.
+     * - 방이 대상에 들어오거나 빠질 때는 호출 측이 evict()로 이전 내용을 비워야 합니다.
+     */
+    public void trackOnly(Predicate<Long> trackedRooms) {
+        this.trackedRooms = trackedRooms;
+    }
+
+    /**
+     * ✅ 저장이 끝난 메시지를 해당 방 버퍼에 추가
+     * - 이미 버퍼에 있는 ID 이하의 메시지는 무시합니다 (프라이밍과 경합했거나 팬아웃으로 다시 받은 경우).
+     */
+    public void append(ChatMessageView message) {
+        if (!isTracked(message.getRoomId())) {
+            return;
+        }
+        RoomBuffer buffer = rooms.computeIfAbsent(message.getRoomId(), id -> new RoomBuffer());
+        totalBytes.addAndGet(buffer.append(message));
+        enforceMemoryCap();
+    }
+
+    /**
+     * ✅ 최근 메시지 최대 n건을 최신순으로 조회
+     * - 버퍼만으로 정확히 답할 수 없으면(메시지가 부족하고 방 전체를 담고 있지도 않거나, 순번 사이에 빈틈이 있으면) null을 반환합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param n 조회할 개수 (capacity 이하)
+     * @return 최신순 메시지 목록 또는 null
+     */
+    public List<ChatMessageView> latest(Long roomId, int n) {
+        RoomBuffer buffer = isTracked(roomId) ? rooms.get(roomId) : null;
+        List<ChatMessageView> result = buffer == null ? null : buffer.latest(n);
+        (result == null ? misses : hits).increment();
+        return result;
+    }
+
+    /**
+     * ✅ 순번 afterSeq 이후의 메시지 최대 n건을 순번 오름차순으로 조회 (재연결 시 놓친 메시지)
+     * - 버퍼에 afterSeq + 1부터 빈틈 없이 이어진 메시지가 있을 때만 응답하고, 그렇지 않으면 null을 반환합니다.
+     *
+     * @param roomId 채팅방 ID
+     * @param afterSeq 클라이언트가 마지막으로 받은 순번
+     * @param n 조회할 최대 개수
+     * @return 순번 오름차순 메시지 목록 또는 null
+     */
+    public List<ChatMessageView> since(Long roomId, long afterSeq, int n) {
+        RoomBuffer buffer = isTracked(roomId) ? rooms.get(roomId) : null;
+        List<ChatMessageView> result = buffer == null ? null : buffer.since(afterSeq, n);
+        (result == null ? misses : hits).increment();
+        return result;
+    }
+
+    /**
+     * ✅ DB에서 읽어온 최신 메시지(최신순, 최대 capacity건)로 방 버퍼를 채움
+     * - capacity보다 적게 읽혔다면 방의 전체 이력을 담고 있는 것으로 표시합니다.
+     */
+    public void prime(Long roomId, List<ChatMessageView> newestFirst) {
+        if (!isTracked(roomId)) {
+            return;
+        }
+        RoomBuffer buffer = rooms.computeIfAbsent(roomId, id -> new RoomBuffer());
+        totalBytes.addAndGet(buffer.prime(newestFirst));
+        enforceMemoryCap();
+    }
+
+    /**
+     * 🗑️ 방 버퍼 제거 (메시지 삭제 등으로 내용이 DB와 달라졌을 때)
+     */
+    public void evict(Long roomId) {
+        RoomBuffer removed = rooms.remove(roomId);
+        if (removed != null) {
+            totalBytes.addAndGet(-removed.close());
+        }
+    }
+
+    /**
+     * ⏰ 유휴 시간이 지난 방 버퍼를 주기적으로 제거
+     */
+    @Scheduled(fixedDelayString = "${chat.recent-buffer.sweep-interval}")
+    public void evictIdleRooms() {
+        long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+        rooms.forEach((roomId, buffer) -> {
+            if (buffer.lastAccess() < deadline) {
+                evict(roomId);
+            }
+        });
+    }
+
+    /**
+     * 🧯 전체 메모리 상한 초과 시 가장 오래 사용되지 않은 방부터 제거
+     */
+    private void enforceMemoryCap() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (totalBytes.get() <= maxBytes) {
+                return;
+            }
+            List<Map.Entry<Long, RoomBuffer>> byAccess = new ArrayList<>(rooms.entrySet());
+            byAccess.sort(Comparator.comparingLong(e -> e.getValue().lastAccess()));
+            for (Map.Entry<Long, RoomBuffer> entry : byAccess) {
+                if (totalBytes.get() <= maxBytes) {
+                    break;
+                }
+                evict(entry.getKey());
+            }
+        }
+    }
+
+    private boolean isTracked(Long roomId) {
+        Predicate<Long> tracked = trackedRooms;
+        return tracked == null || tracked.test(roomId);
+    }
+
+    // 두 메시지의 순번이 연속인지 (순번이 없는 이전 메시지는 비교하지 않음)
+    private static boolean isNext(ChatMessageView older, ChatMessageView newer) {
+        return older.getSeq() == null || newer.getSeq() == null || older.getSeq() + 1 == newer.getSeq();
+    }
+
+    private static long estimateBytes(ChatMessageView m) {
+        return MESSAGE_OVERHEAD_BYTES
+                + 2L * (length(m.getContent()) + length(m.getUserEmail()) + length(m.getUserName()));
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    /**
+     * 🔁 방 하나의 고정 크기 링 버퍼
+     * - 오래된 순으로 보관하며, 가득 차면 가장 오래된 메시지를 덮어씀
+     */
+    private final class RoomBuffer {
+
+        private final ChatMessageView[] ring = new ChatMessageView[capacity];
+        private int head;     // 가장 오래된 메시지 위치
+        private int size;
+        private long bytes;
+        private boolean complete; // 방의 전체 이력을 담고 있는지 여부
+        private boolean closed;   // 맵에서 제거된 버퍼 (이후 추가분은 메모리 집계에서 제외)
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        long lastAccess() {
+            return lastAccess;
+        }
+
+        /** @return 제거 시점의 추정 메모리 */
+        synchronized long close() {
+            closed = true;
+            return bytes;
+        }
+
+        /** @return 추정 메모리 변화량 */
+        synchronized long append(ChatMessageView message) {
+            lastAccess = System.currentTimeMillis();
+            if (closed || (size > 0 && newest().getId() >= message.getId())) {
+                return 0;
+            }
+            long delta = estimateBytes(message);
+            if (size == capacity) {
+                delta -= estimateBytes(ring[head]);
+                ring[head] = message;
+                head = (head + 1) % capacity;
+                complete = false; // 가장 오래된 메시지가 밀려남
+            } else {
+                ring[(head + size) % capacity] = message;
+                size++;
+            }
+            bytes += delta;
+            return delta;
+        }
+
+        synchronized List<ChatMessageView> latest(int n) {
+            lastAccess = System.currentTimeMillis();
+            if (size < n && !complete) {
+                return null;
+            }
+            int count = Math.min(n, size);
+            List<ChatMessageView> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ChatMessageView m = ring[(head + size - 1 - i) % capacity];
+                if (!result.isEmpty() && !isNext(m, result.get(result.size() - 1))) {
+                    return null; // 버퍼 중간에 빠진 메시지가 있음 (다른 노드 저장분 등) → DB에서 조회 후 다시 채움
+                }
+                result.add(m);
+            }
+            return result;
+        }
+
+        synchronized List<ChatMessageView> since(long afterSeq, int n) {
+            lastAccess = System.currentTimeMillis();
+            if (size == 0) {
+                return complete ? List.of() : null;
+            }
+
+            // 가장 오래된 메시지가 afterSeq + 1보다 새로우면 그 사이 메시지가 버퍼에 없음
+            Long oldestSeq = ring[head].getSeq();
+            if (oldestSeq == null || (oldestSeq > afterSeq + 1 && !complete)) {
+                return null;
+            }
+
+            List<ChatMessageView> result = new ArrayList<>(Math.min(n, size));
+            long expected = afterSeq + 1;
+            for (int i = 0; i < size && result.size() < n; i++) {
+                ChatMessageView m = ring[(head + i) % capacity];
+                if (m.getSeq() == null) {
+                    return null;
+                }
+                if (m.getSeq() <= afterSeq) {
+                    continue;
+                }
+                if (m.getSeq() != expected && !(result.isEmpty() && complete)) {
+                    return null; // 버퍼 중간에 빠진 메시지가 있음 → DB에서 조회
+                }
+                result.add(m);
+                expected = m.getSeq() + 1;
+            }
+            return result;
+        }
+
+        /** @return 추정 메모리 변화량 */
+        synchronized long prime(List<ChatMessageView> newestFirst) {
+            lastAccess = System.currentTimeMillis();
+            if (closed) {
+                return 0;
+            }
+            long before = bytes;
+
+            // DB 결과(오래된 순) + 그 이후 이미 추가된 메시지를 합쳐 다시 구성
+            List<ChatMessageView> merged = new ArrayList<>(newestFirst.size() + size);
+            for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                merged.add(newestFirst.get(i));
+            }
+            long maxPrimedId = newestFirst.isEmpty() ? Long.MIN_VALUE : newestFirst.get(0).getId();
+            for (int i = 0; i < size; i++) {
+                ChatMessageView m = ring[(head + i) % capacity];
+                if (m.getId() > maxPrimedId) {
+                    merged.add(m);
+                }
+            }
+
+            int from = Math.max(0, merged.size() - capacity);
+            Arrays.fill(ring, null);
+            head = 0;
+            size = 0;
+            bytes = 0;
+            for (int i = from; i < merged.size(); i++) {
+                ring[size++] = merged.get(i);
+                bytes += estimateBytes(merged.get(i));
+            }
+            complete = newestFirst.size() < capacity && from == 0;
+            return bytes - before;
+        }
+
+        private ChatMessageView newest() {
+            return ring[(head + size - 1) % capacity];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.realtimechatservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📈 RoomMessageMetrics
+ * - 채팅방별 저장 메시지 수를 chat.room.messages{room} 카운터로 기록합니다. (rate()로 방별 초당 메시지 수)
+ * - 방 태그 값은 먼저 관측된 chat.metrics.room-tags.max개 방까지만 만들고, 이후 방은 모두 room="other"로 합쳐
+ *   방이 아무리 많아도 시계열 수가 일정하게 유지됩니다.
+ */
+@Component
+public class RoomMessageMetrics {
+
+    private static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRoomTags;
+    private final Map<Long, Counter> roomCounters = new ConcurrentHashMap<>();
+    private final Counter other;
+
+    public RoomMessageMetrics(MeterRegistry meterRegistry,
+                              @Value("${chat.metrics.room-tags.max}") int maxRoomTags) {
+        this.meterRegistry = meterRegistry;
+        this.maxRoomTags = maxRoomTags;
+        this.other = counter(OTHER);
+    }
+
+    /**
+     * ✅ 방에 메시지 한 건 저장됨
+     */
+    public void increment(Long roomId) {
+        Counter counter = roomCounters.get(roomId);
+        if (counter == null) {
+            // 상한을 약간 넘길 수 있는 경합은 허용 (동시에 처음 관측된 방 몇 개)
+            counter = roomCounters.size() < maxRoomTags
+                    ? roomCounters.computeIfAbsent(roomId, id -> counter(String.valueOf(id)))
+                    : other;
+        }
+        counter.increment();
+    }
+
+    private Counter counter(String room) {
+        return Counter.builder("chat.room.messages")
+                .description("채팅방별 저장된 메시지 수 (상위 N개 방 외에는 other)")
+                .tag("room", room)
+                .register(meterRegistry);
+    }
+}
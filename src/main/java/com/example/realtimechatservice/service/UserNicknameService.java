@@ -1,13 +1,42 @@
 package com.example.realtimechatservice.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 /**
  * 👤 UserNicknameService
  * - 사용자 이메일을 기반으로 닉네임을 외부 서비스(UserService)에서 조회하는 서비스 클래스입니다.
  * - RestTemplate을 사용하여 HTTP GET 요청을 보내고, 문자열 형태의 닉네임을 응답받습니다.
+ * - 조회 결과는 TTL/최대 크기가 제한된 인메모리 니어 캐시에 보관되어 메시지마다 HTTP 호출이 발생하지 않습니다.
+ * - 캐시 미스는 NicknameBatchLoader가 chat.nickname-batch.window 동안 모아 "POST /api/users/nicknames" 한 번으로 조회합니다.
+ *   (동시 접속이 몰려도 이메일마다 요청하지 않음, 한 건만 모이면 기존 단건 API 사용)
+ * - 닉네임 변경은 UserService의 user.profile.changed 이벤트로 바로 반영되므로(UserProfileEventListener) TTL은 길게 둡니다.
+ *   (TTL은 이벤트를 놓친 경우의 안전망)
  */
 @Service
 public class UserNicknameService {
@@ -15,27 +44,195 @@ public class UserNicknameService {
     // RestTemplate: 외부 API 호출용 HTTP 클라이언트
     private final RestTemplate restTemplate = new RestTemplate();
 
+    // UserService 기본 주소 (예: http://localhost:8123)
+    private final String userServiceUrl;
+
+    /**
+     * 🗃️ 이메일 → 닉네임 니어 캐시
+     * - 값이 비어 있으면(Optional.empty) 존재하지 않는 유저로 기록된 네거티브 캐시 항목
+     * - 같은 이메일에 대한 동시 미스는 하나의 조회로 합쳐짐 (single-flight)
+     * - 서로 다른 이메일의 동시 미스는 batchLoader가 한 번의 요청으로 묶음
+     */
+    private final AsyncLoadingCache<String, Optional<String>> nicknameCache;
+
+    // 🧺 캐시 미스 묶음 조회
+    private final NicknameBatchLoader batchLoader;
+
+    // 📊 묶음 조회 한 번에 담긴 이메일 수
+    private final DistributionSummary batchSize;
+
+    public UserNicknameService(@Value("${chat.user-service.url}") String userServiceUrl,
+                               @Value("${chat.nickname-cache.max-size}") long maxSize,
+                               @Value("${chat.nickname-cache.ttl}") Duration ttl,
+                               @Value("${chat.nickname-cache.negative-ttl}") Duration negativeTtl,
+                               @Value("${chat.nickname-batch.window}") Duration batchWindow,
+                               @Value("${chat.nickname-batch.max-size}") int batchMaxSize,
+                               MeterRegistry meterRegistry) {
+        this.userServiceUrl = userServiceUrl;
+        this.batchLoader = new NicknameBatchLoader(this::fetchNicknames, batchWindow, batchMaxSize);
+        this.batchSize = DistributionSummary.builder("chat.nickname.batch.size")
+                .description("UserService 닉네임 조회 한 번에 담긴 이메일 수")
+                .register(meterRegistry);
+        this.nicknameCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new NicknameExpiry(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync(new BatchingLoader());
+
+        // 📊 hit/miss/load 시간 등의 캐시 지표를 "cache.*{cache=nickname}"으로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, nicknameCache, "nickname");
+    }
+
     /**
      * ✅ 이메일로 닉네임 조회
-     * - UserService의 "/api/users/nickname?email=..." 엔드포인트로 요청
+     * - 캐시에 있으면 바로 반환하고, 없으면 UserService에서 조회 후 캐시에 저장합니다.
      *
      * @param email 조회할 사용자 이메일
      * @return 해당 사용자의 닉네임
+     * @throws RuntimeException 존재하지 않는 이메일일 경우
      */
     public String getNicknameByEmail(String email) {
-        // 요청 URL 생성
-        String url = UriComponentsBuilder.newInstance()
-                .scheme("http")
-                .host("localhost")
-                .port(8123)
+        return join(nicknameCache.get(email))
+                .orElseThrow(() -> new RuntimeException("해당 이메일의 유저를 찾을 수 없습니다."));
+    }
+
+    /**
+     * ✅ 여러 이메일의 닉네임 조회
+     * - 캐시에 없는 이메일만 묶어서 조회합니다.
+     *
+     * @param emails 조회할 사용자 이메일 목록
+     * @return 이메일 → 닉네임 (존재하지 않는 유저는 빠짐)
+     */
+    public Map<String, String> getNicknamesByEmails(Collection<String> emails) {
+        Map<String, String> result = new HashMap<>();
+        join(nicknameCache.getAll(emails)).forEach((email, nickname) -> nickname.ifPresent(n -> result.put(email, n)));
+        return result;
+    }
+
+    /**
+     * ⚡ 이미 캐시에 있는 닉네임 (조회하지 않음, 메시지 처리 경로용)
+     * - 캐시에 없거나 아직 조회 중이면 fallback을 반환합니다. (예: CONNECT 때 확인한 세션의 닉네임)
+     *
+     * @param email 사용자 이메일
+     * @param fallback 캐시에 없을 때 쓸 닉네임
+     */
+    public String getCachedNickname(String email, String fallback) {
+        CompletableFuture<Optional<String>> cached = nicknameCache.getIfPresent(email);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return fallback;
+        }
+        return cached.join().orElse(fallback);
+    }
+
+    /**
+     * ✏️ 닉네임 변경 반영 (UserService 프로필 변경 이벤트)
+     * - 캐시 항목을 새 닉네임으로 바꾸고 TTL을 다시 시작합니다. (다음 조회부터 UserService 호출 없이 새 닉네임)
+     *
+     * @param email 사용자 이메일
+     * @param nickname 변경된 닉네임
+     */
+    public void updateNickname(String email, String nickname) {
+        nicknameCache.put(email, CompletableFuture.completedFuture(Optional.of(nickname)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchLoader.close();
+    }
+
+    /**
+     * 🌐 UserService에서 닉네임 묶음 조회
+     * - 한 건이면 "/api/users/nickname?email=..." (404는 존재하지 않는 유저)
+     * - 여러 건이면 "POST /api/users/nicknames" (응답에 없는 이메일은 존재하지 않는 유저)
+     * - 그 외 오류(연결 실패, 5xx 등)는 캐시하지 않고 그대로 전파합니다.
+     */
+    private Map<String, String> fetchNicknames(List<String> emails) {
+        batchSize.record(emails.size());
+        if (emails.size() == 1) {
+            String email = emails.get(0);
+            try {
+                String nickname = restTemplate.getForObject(nicknameUrl(email), String.class);
+                return nickname == null ? Map.of() : Map.of(email, nickname);
+            } catch (HttpClientErrorException.NotFound e) {
+                return Map.of();
+            }
+        }
+        Map<String, String> nicknames = restTemplate.exchange(
+                userServiceUrl + "/api/users/nicknames",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("emails", emails)),
+                new ParameterizedTypeReference<Map<String, String>>() {}
+        ).getBody();
+        return nicknames == null ? Map.of() : nicknames;
+    }
+
+    /**
+     * ⏳ 캐시 조회 결과 대기 (조회 실패는 원래 예외로 전파)
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 🔗 닉네임 조회 요청 URL 생성 (벤치마크에서 직접 호출하므로 package-private)
+     */
+    String nicknameUrl(String email) {
+        return UriComponentsBuilder.fromUriString(userServiceUrl)
                 .path("/api/users/nickname")
                 .queryParam("email", email)
                 .build()
                 .toUriString();  // 자동 인코딩 적용
+    }
+
+    /**
+     * 🧺 캐시 미스 → NicknameBatchLoader (단건 / 여러 건 모두 다음 묶음에 포함)
+     */
+    private class BatchingLoader implements AsyncCacheLoader<String, Optional<String>> {
+
+        @Override
+        public CompletableFuture<Optional<String>> asyncLoad(String email, Executor executor) {
+            return batchLoader.load(email);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Optional<String>>> asyncLoadAll(Set<? extends String> emails, Executor executor) {
+            Map<String, CompletableFuture<Optional<String>>> futures = new HashMap<>();
+            emails.forEach(email -> futures.put(email, batchLoader.load(email)));
+            return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> {
+                        Map<String, Optional<String>> result = new HashMap<>();
+                        futures.forEach((email, future) -> result.put(email, future.join()));
+                        return result;
+                    });
+        }
+    }
+
+    /**
+     * ⏱️ 캐시 항목 만료 정책
+     * - 정상 닉네임은 ttl, 존재하지 않는 유저(네거티브 항목)는 negativeTtl 동안 유지
+     */
+    private record NicknameExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<String>> {
+
+        @Override
+        public long expireAfterCreate(String email, Optional<String> nickname, long currentTime) {
+            return (nickname.isPresent() ? ttl : negativeTtl).toNanos();
+        }
 
-        System.out.println("🎯 요청 URL: " + url); // 개발용 로그
+        @Override
+        public long expireAfterUpdate(String email, Optional<String> nickname, long currentTime, long currentDuration) {
+            return expireAfterCreate(email, nickname, currentTime);
+        }
 
-        // HTTP GET 요청 → 닉네임 반환
-        return restTemplate.getForObject(url, String.class);
+        @Override
+        public long expireAfterRead(String email, Optional<String> nickname, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
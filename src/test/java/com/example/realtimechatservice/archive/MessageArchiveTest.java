@@ -0,0 +1,148 @@
+package com.example.realtimechatservice.archive;
+
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🧊 MessageArchive / ArchiveFormat - 블록·인덱스 레이아웃 왕복, 디스크에서 다시 읽기, 중단 후 이어서 보관
+ */
+class MessageArchiveTest {
+
+    private static final long ROOM = 1L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void blockRoundTripsMessages() throws IOException {
+        List<ChatMessageView> messages = List.of(
+                new ChatMessageView(10L, ROOM, "a@x.com", "에이", "안녕 👋", T0.plusNanos(123_456_789), 1L),
+                new ChatMessageView(11L, ROOM, null, null, null, T0.plusSeconds(1), null),
+                new ChatMessageView(12L, ROOM, "b@x.com", "", "", T0.plusSeconds(2), 3L));
+
+        List<ChatMessageView> decoded = ArchiveFormat.decodeBlock(ROOM, ArchiveFormat.encodeBlock(messages));
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(messages);
+    }
+
+    @Test
+    void indexRecordHasFixedSizeAndRoundTrips() {
+        ArchiveBlock block = new ArchiveBlock(T0.plusNanos(1), 10L, T0.plusSeconds(5), 19L,
+                10L, 19L, -1L, 7L, 10L, 4096L, 321, 10);
+        ByteBuffer buffer = ByteBuffer.allocate(ArchiveFormat.INDEX_RECORD_BYTES);
+
+        ArchiveFormat.writeIndexRecord(buffer, block);
+        buffer.flip();
+
+        assertThat(buffer.remaining()).isEqualTo(ArchiveFormat.INDEX_RECORD_BYTES);
+        assertThat(ArchiveFormat.readIndexRecord(buffer)).isEqualTo(block);
+    }
+
+    @Test
+    void appendedSegmentsAreReadBackFromDisk() throws IOException {
+        List<ChatMessageView> messages = messages(1, 25);
+        MessageArchive writer = archive();
+        writer.append(ROOM, messages.subList(0, 10), 4);  // 블록 4 + 4 + 2
+        writer.append(ROOM, messages.subList(10, 25), 4); // 블록 4 + 4 + 4 + 3
+
+        // 새 인스턴스 = 인덱스 캐시 없이 index.idx부터 다시 읽음
+        MessageArchive reader = archive();
+
+        assertThat(reader.lastArchived(ROOM)).contains(new MessageArchive.ArchivedKey(T0.plusSeconds(25), 25L));
+        assertThat(reader.maxSeq(ROOM)).isEqualTo(25);
+        assertThat(ids(reader.findSince(ROOM, 0, 100))).containsExactlyElementsOf(range(1, 25));
+        assertThat(ids(reader.findSince(ROOM, 7, 5))).containsExactly(8L, 9L, 10L, 11L, 12L);
+        assertThat(ids(reader.findBefore(ROOM, T0.plusSeconds(12), 12L, 3))).containsExactly(11L, 10L, 9L);
+        assertThat(ids(reader.findBefore(ROOM, null, null, 2))).containsExactly(25L, 24L);
+        assertThat(ids(reader.findAfter(ROOM, T0.plusSeconds(9), 9L, 3))).containsExactly(10L, 11L, 12L);
+        assertThat(ids(reader.findByIds(ROOM, List.of(3L, 17L, 99L)))).containsExactlyInAnyOrder(3L, 17L);
+        assertThat(reader.findCreatedAt(ROOM, 14L)).contains(T0.plusSeconds(14));
+        assertThat(reader.findSince(2L, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void tornIndexRecordIsIgnoredAndOverwritten() throws IOException {
+        List<ChatMessageView> messages = messages(1, 12);
+        archive().append(ROOM, messages.subList(0, 6), 3);
+        // 레코드를 쓰다 멈춘 상황: 고정 크기보다 짧은 꼬리
+        Path index = dir.resolve("room-" + ROOM).resolve("index.idx");
+        Files.write(index, new byte[ArchiveFormat.INDEX_RECORD_BYTES / 2], StandardOpenOption.APPEND);
+
+        assertThat(ids(archive().findSince(ROOM, 0, 100))).containsExactlyElementsOf(range(1, 6));
+
+        archive().append(ROOM, messages.subList(6, 12), 3);
+
+        assertThat(Files.size(index)).isEqualTo(ArchiveFormat.INDEX_HEADER_BYTES + 4L * ArchiveFormat.INDEX_RECORD_BYTES);
+        assertThat(ids(archive().findSince(ROOM, 0, 100))).containsExactlyElementsOf(range(1, 12));
+    }
+
+    @Test
+    void archiverResumesByDeletingRowsAlreadyArchived() throws IOException {
+        List<ChatMessageView> messages = messages(1, 8);
+        MessageArchive archive = archive();
+        // 이전 실행: 1~5번을 세그먼트에 기록한 뒤 DB 삭제 전에 멈춤
+        archive.append(ROOM, messages.subList(0, 5), 2);
+
+        ChatMessageRepository repository = mock(ChatMessageRepository.class);
+        LocalDateTime cutoff = T0.plusDays(1);
+        when(repository.findOldest(eq(ROOM), eq(cutoff), any(Limit.class)))
+                .thenReturn(messages.subList(5, 8))
+                .thenReturn(List.of());
+        MessageArchiver archiver = new MessageArchiver(repository, archive, true, Duration.ofDays(30),
+                3, 2, 100, new SimpleMeterRegistry());
+
+        long archived = archiver.archiveRoom(ROOM, cutoff);
+
+        assertThat(archived).isEqualTo(3);
+        InOrder order = inOrder(repository);
+        order.verify(repository).deleteUpTo(ROOM, T0.plusSeconds(5), 5L); // 남아 있던 보관분 먼저 정리
+        order.verify(repository).findOldest(eq(ROOM), eq(cutoff), any(Limit.class));
+        order.verify(repository).deleteUpTo(ROOM, T0.plusSeconds(8), 8L);
+        assertThat(ids(archive.findSince(ROOM, 0, 100))).containsExactlyElementsOf(range(1, 8));
+    }
+
+    private MessageArchive archive() {
+        return new MessageArchive(dir, 100, new SimpleMeterRegistry());
+    }
+
+    /** id = seq = i, createdAt = T0 + i초 */
+    private static List<ChatMessageView> messages(int from, int to) {
+        List<ChatMessageView> messages = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            messages.add(new ChatMessageView((long) i, ROOM, "u@x.com", "u", "message " + i, T0.plusSeconds(i), (long) i));
+        }
+        return messages;
+    }
+
+    private static List<Long> ids(List<ChatMessageView> messages) {
+        return messages.stream().map(ChatMessageView::getId).toList();
+    }
+
+    private static List<Long> range(int from, int to) {
+        return IntStream.rangeClosed(from, to).mapToObj(i -> (long) i).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.realtimechatservice.codec;
+
+import com.example.realtimechatservice.dto.ChatMessageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 🧬 BinaryChatMessageCodec - v2 레이아웃 왕복, presence 비트, v1 호환, 잘못된 본문 거절
+ */
+class BinaryChatMessageCodecTest {
+
+    private final BinaryChatMessageCodec codec = new BinaryChatMessageCodec();
+
+    @Test
+    void roundTripsAllFields() {
+        ChatMessageDTO dto = new ChatMessageDTO(7L, "a@x.com", "에이", "안녕하세요 👋",
+                LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_789), 42L, 9L);
+
+        ChatMessageDTO decoded = codec.decode(codec.encode(dto));
+
+        assertThat(decoded).isEqualTo(dto);
+    }
+
+    @Test
+    void presenceBitsKeepMissingFieldsNull() {
+        ChatMessageDTO dto = new ChatMessageDTO(null, null, "닉네임", "", null, null, 3L);
+
+        byte[] body = codec.encode(dto);
+        ChatMessageDTO decoded = codec.decode(body);
+
+        assertThat(body[0]).isEqualTo((byte) BinaryChatMessageCodec.SCHEMA_VERSION);
+        assertThat(body[1]).isEqualTo((byte) 0b1000); // seq만 있음
+        assertThat(decoded).isEqualTo(dto);
+        // 빈 문자열과 null은 구분됨
+        assertThat(decoded.getContent()).isEmpty();
+        assertThat(decoded.getUserEmail()).isNull();
+    }
+
+    @Test
+    void eachPresenceBitCombinationRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 12, 31, 23, 59, 59, 1);
+        for (int presence = 0; presence < 16; presence++) {
+            ChatMessageDTO dto = new ChatMessageDTO(
+                    (presence & 1) != 0 ? 1L : null,
+                    "e", "n", "c",
+                    (presence & 2) != 0 ? createdAt : null,
+                    (presence & 4) != 0 ? Long.MAX_VALUE : null,
+                    (presence & 8) != 0 ? 0L : null);
+
+            byte[] body = codec.encode(dto);
+
+            assertThat(body[1]).as("presence %s", presence).isEqualTo((byte) presence);
+            assertThat(codec.decode(body)).as("presence %s", presence).isEqualTo(dto);
+        }
+    }
+
+    @Test
+    void decodesVersionOneBody() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        ByteBuffer buf = ByteBuffer.allocate(128);
+        buf.put((byte) 1).put((byte) 0b11).putLong(5L);
+        putString(buf, "a@x.com");
+        putString(buf, null);
+        putString(buf, "hi");
+        buf.putLong(createdAt.toEpochSecond(ZoneOffset.UTC)).putInt(createdAt.getNano());
+
+        ChatMessageDTO decoded = codec.decode(Arrays.copyOf(buf.array(), buf.position()));
+
+        assertThat(decoded).isEqualTo(new ChatMessageDTO(5L, "a@x.com", null, "hi", createdAt, null, null));
+    }
+
+    @Test
+    void rejectsUnsupportedVersion() {
+        byte[] body = codec.encode(new ChatMessageDTO(1L, "e", "n", "c", null, null, null));
+        body[0] = (byte) (BinaryChatMessageCodec.SCHEMA_VERSION + 1);
+
+        assertThatThrownBy(() -> codec.decode(body)).isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void rejectsTruncatedBody() {
+        byte[] body = codec.encode(new ChatMessageDTO(1L, "e", "n", "content",
+                LocalDateTime.of(2025, 1, 1, 0, 0), 2L, 3L));
+
+        for (int length = 0; length < body.length; length++) {
+            byte[] truncated = Arrays.copyOf(body, length);
+            assertThatThrownBy(() -> codec.decode(truncated))
+                    .as("length %s", length)
+                    .isInstanceOf(MessageConversionException.class);
+        }
+    }
+
+    @Test
+    void rejectsStringLengthBeyondBody() {
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        buf.put((byte) 2).put((byte) 0).putInt(1_000).put("abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(buf.array(), buf.position())))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void rejectsNegativeStringLength() {
+        ByteBuffer buf = ByteBuffer.allocate(32);
+        buf.put((byte) 2).put((byte) 0).putInt(-2);
+        putString(buf, "n");
+        putString(buf, "c");
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(buf.array(), buf.position())))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void rejectsOutOfRangeCreatedAt() {
+        byte[] body = codec.encode(new ChatMessageDTO(null, null, null, null,
+                LocalDateTime.of(2025, 1, 1, 0, 0), null, null));
+        ByteBuffer.wrap(body).putInt(body.length - 4, 2_000_000_000); // nanos > 999,999,999
+
+        assertThatThrownBy(() -> codec.decode(body)).isInstanceOf(MessageConversionException.class);
+    }
+
+    private static void putString(ByteBuffer buf, String s) {
+        if (s == null) {
+            buf.putInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putInt(bytes.length).put(bytes);
+    }
+}
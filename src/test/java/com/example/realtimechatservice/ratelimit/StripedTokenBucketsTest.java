@@ -0,0 +1,142 @@
+package com.example.realtimechatservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 🪣 StripedTokenBuckets - GCRA 버스트 / 재충전 / 되돌리기 계산과 동시 사용
+ */
+class StripedTokenBucketsTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long START = 10 * SECOND;
+    private static final long KEY = 42L;
+
+    @Test
+    void allowsExactlyBurstAtOnce() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 10, 5);
+
+        assertThat(acquireAll(buckets, KEY, START, 10)).isEqualTo(5);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 10, 5); // 100ms마다 한 개
+        acquireAll(buckets, KEY, START, 5);
+
+        assertThat(buckets.tryAcquire(KEY, START + 99_000_000L)).isFalse();
+        assertThat(buckets.tryAcquire(KEY, START + 100_000_000L)).isTrue();
+        assertThat(buckets.tryAcquire(KEY, START + 100_000_000L)).isFalse();
+        assertThat(acquireAll(buckets, KEY, START + 400_000_000L, 10)).isEqualTo(3);
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondBurst() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 10, 5);
+        acquireAll(buckets, KEY, START, 5);
+
+        assertThat(acquireAll(buckets, KEY, START + 60 * SECOND, 100)).isEqualTo(5);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 1, 1);
+        assertThat(buckets.tryAcquire(KEY, START)).isTrue();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(buckets.tryAcquire(KEY, START + i)).isFalse();
+        }
+        assertThat(buckets.tryAcquire(KEY, START + SECOND)).isTrue();
+    }
+
+    @Test
+    void refundReturnsOneToken() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 10, 3);
+        acquireAll(buckets, KEY, START, 3);
+        assertThat(buckets.tryAcquire(KEY, START)).isFalse();
+
+        buckets.refund(KEY);
+
+        assertThat(buckets.tryAcquire(KEY, START)).isTrue();
+        assertThat(buckets.tryAcquire(KEY, START)).isFalse();
+    }
+
+    @Test
+    void refundOnIdleBucketDoesNotExceedBurst() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 10, 3);
+        buckets.tryAcquire(KEY, START);
+        buckets.refund(KEY);
+        buckets.refund(KEY); // 쓰지 않은 토큰까지 되돌려도
+
+        assertThat(acquireAll(buckets, KEY, START + SECOND, 10)).isEqualTo(3);
+    }
+
+    @Test
+    void fractionalRateUsesLongInterval() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 0.5, 1); // 2초마다 한 개
+        assertThat(buckets.tryAcquire(KEY, START)).isTrue();
+
+        assertThat(buckets.tryAcquire(KEY, START + 2 * SECOND - 1)).isFalse();
+        assertThat(buckets.tryAcquire(KEY, START + 2 * SECOND)).isTrue();
+    }
+
+    @Test
+    void singleStripeIsSharedByAllKeys() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 10, 2);
+
+        assertThat(buckets.tryAcquire(1L, START)).isTrue();
+        assertThat(buckets.tryAcquire(2L, START)).isTrue();
+        assertThat(buckets.tryAcquire(3L, START)).isFalse();
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedBurst() throws Exception {
+        int burst = 1_000;
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 1, burst);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return acquireAll(buckets, KEY, START, burst);
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            assertThat(total).isEqualTo(burst);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsInvalidRateOrBurst() {
+        assertThatThrownBy(() -> new StripedTokenBuckets(64, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedTokenBuckets(64, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int acquireAll(StripedTokenBuckets buckets, long key, long now, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (buckets.tryAcquire(key, now)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+}
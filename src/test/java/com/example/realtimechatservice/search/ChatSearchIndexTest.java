@@ -0,0 +1,108 @@
+package com.example.realtimechatservice.search;
+
+import com.example.realtimechatservice.archive.MessageArchive;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import com.example.realtimechatservice.repository.ChatRoomRepository;
+import com.example.realtimechatservice.repository.ChatRoomSequenceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🧊 ChatSearchIndex - 메모리 상한 초과 시 스냅샷 후 내리기, 검색/삭제 때 다시 읽고 따라잡기
+ */
+class ChatSearchIndexTest {
+
+    private static final long ROOM_A = 1L;
+    private static final long ROOM_B = 2L;
+    private static final long MAX_BYTES = 1_000;
+    private static final SearchQuery HELLO = SearchQuery.parse("hello").orElseThrow();
+
+    @TempDir
+    Path dir;
+
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final ChatRoomSequenceRepository chatRoomSequenceRepository = mock(ChatRoomSequenceRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChatSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ChatSearchIndex(chatMessageRepository, mock(ChatRoomRepository.class), chatRoomSequenceRepository,
+                mock(MessageArchive.class), true, dir, 100, DataSize.ofBytes(MAX_BYTES), meterRegistry);
+        index.catchUp(); // 방이 없으므로 바로 준비 완료
+    }
+
+    @Test
+    void leastRecentlyUsedRoomIsSnapshottedAndDropped() throws InterruptedException {
+        fill(ROOM_A, 0);
+        Thread.sleep(10); // 마지막 사용 시각 구분
+        fill(ROOM_B, 10);
+
+        assertThat(gauge("chat.search.cold-rooms")).isEqualTo(1);
+        assertThat(gauge("chat.search.rooms")).isEqualTo(1);
+        assertThat(gauge("chat.search.bytes")).isPositive().isLessThanOrEqualTo(MAX_BYTES);
+        assertThat(SearchIndexSnapshot.file(dir, ROOM_A)).exists();
+        assertThat(index.candidates(ROOM_A, HELLO, Long.MAX_VALUE, 100)).isEmpty();
+        assertThat(index.candidates(ROOM_B, HELLO, Long.MAX_VALUE, 100)).containsExactly(15L, 14L, 13L, 12L, 11L);
+    }
+
+    @Test
+    void coldRoomIsRestoredAndCaughtUpBeforeSearch() throws InterruptedException {
+        fill(ROOM_A, 0);
+        Thread.sleep(10);
+        fill(ROOM_B, 10);
+        ChatMessageView missed = message(ROOM_A, 6, 6);
+        index.index(missed); // 내린 방 → 색인하지 않고 다시 읽을 때 따라잡음
+        when(chatRoomSequenceRepository.findCurrentSeq(ROOM_A)).thenReturn(Optional.of(6L));
+        when(chatMessageRepository.findSince(eq(ROOM_A), eq(5L), any())).thenReturn(List.of(missed));
+
+        index.catchUpRoom(ROOM_A);
+
+        assertThat(index.candidates(ROOM_A, HELLO, Long.MAX_VALUE, 100)).containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+        // 다시 읽은 방이 상한을 넘겨 이번에는 B가 내려감
+        assertThat(SearchIndexSnapshot.file(dir, ROOM_B)).exists();
+        assertThat(index.candidates(ROOM_B, HELLO, Long.MAX_VALUE, 100)).isEmpty();
+        assertThat(gauge("chat.search.bytes")).isLessThanOrEqualTo(MAX_BYTES);
+    }
+
+    @Test
+    void removeFromColdRoomRestoresItFirst() throws InterruptedException {
+        fill(ROOM_A, 0);
+        Thread.sleep(10);
+        fill(ROOM_B, 10);
+
+        index.remove(message(ROOM_A, 3, 3));
+
+        assertThat(index.candidates(ROOM_A, HELLO, Long.MAX_VALUE, 100)).containsExactly(5L, 4L, 2L, 1L);
+    }
+
+    /** 방에 "hello m{id}" 메시지 5건 (id = firstId + 1 ..., seq 1 ~ 5) */
+    private void fill(long roomId, long firstId) {
+        for (int seq = 1; seq <= 5; seq++) {
+            index.index(message(roomId, firstId + seq, seq));
+        }
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static ChatMessageView message(long roomId, long id, long seq) {
+        return new ChatMessageView(id, roomId, "u@x.com", "u", "hello m" + id, LocalDateTime.of(2025, 1, 1, 0, 0), seq);
+    }
+}
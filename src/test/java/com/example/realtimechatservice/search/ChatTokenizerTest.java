@@ -0,0 +1,59 @@
+package com.example.realtimechatservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✂️ ChatTokenizer / SearchQuery - 한글 1·2-gram, 문자 종류별 덩어리, 정규화, 긴 단어 제외
+ */
+class ChatTokenizerTest {
+
+    @Test
+    void cjkRunProducesUnigramsAndBigrams() {
+        assertThat(ChatTokenizer.tokens("안녕하세요"))
+                .containsExactly("안", "녕", "하", "세", "요", "안녕", "녕하", "하세", "세요");
+    }
+
+    @Test
+    void singleCharacterCjkRunIsUnigram() {
+        assertThat(ChatTokenizer.tokens("네")).containsExactly("네");
+    }
+
+    @Test
+    void scriptChangeStartsNewRun() {
+        assertThat(ChatTokenizer.runs("카톡3개"))
+                .containsExactly(new ChatTokenizer.Run("카톡", true), new ChatTokenizer.Run("3", false),
+                        new ChatTokenizer.Run("개", true));
+        assertThat(ChatTokenizer.tokens("카톡3개")).containsExactly("카", "톡", "카톡", "3", "개");
+    }
+
+    @Test
+    void latinWordsAreNormalizedAndLowercased() {
+        assertThat(ChatTokenizer.tokens("ＨＥＬＬＯ, World! hello")).containsExactly("hello", "world");
+    }
+
+    @Test
+    void wordsLongerThanLimitAreNotIndexed() {
+        String limit = "a".repeat(ChatTokenizer.MAX_WORD_LENGTH);
+        String tooLong = "b".repeat(ChatTokenizer.MAX_WORD_LENGTH + 1);
+
+        assertThat(ChatTokenizer.tokens(limit + " " + tooLong + " ok")).containsExactly(limit, "ok");
+        assertThat(SearchQuery.parse(limit)).isPresent();
+        assertThat(SearchQuery.parse(tooLong)).isEmpty();
+    }
+
+    @Test
+    void nullOrSymbolsOnlyHaveNoTokens() {
+        assertThat(ChatTokenizer.tokens(null)).isEmpty();
+        assertThat(ChatTokenizer.tokens("!!! ... ???")).isEmpty();
+        assertThat(SearchQuery.parse("  ?! ")).isEmpty();
+    }
+
+    @Test
+    void queryUsesOnlyBigramsForMultiCharacterCjkRuns() {
+        SearchQuery query = SearchQuery.parse("회의실 Zoom 네").orElseThrow();
+
+        assertThat(query.tokens()).containsExactly("회의", "의실", "zoom", "네");
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.realtimechatservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 📑 PostingList - 정렬 유지 / 중복 무시 / 제거 / beforeId 커서 위치
+ */
+class PostingListTest {
+
+    @Test
+    void keepsIdsSortedAndIgnoresDuplicates() {
+        PostingList list = new PostingList();
+
+        assertThat(list.add(30)).isTrue();
+        assertThat(list.add(10)).isTrue(); // 늦게 도착한 ID
+        assertThat(list.add(20)).isTrue();
+        assertThat(list.add(20)).isFalse();
+        assertThat(list.add(40)).isTrue();
+
+        assertThat(ids(list)).containsExactly(10L, 20L, 30L, 40L);
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        PostingList list = new PostingList();
+        for (int id = 1_000; id > 0; id--) {
+            list.add(id);
+        }
+
+        assertThat(list.size()).isEqualTo(1_000);
+        assertThat(ids(list)).isSorted().startsWith(1L).endsWith(1_000L);
+    }
+
+    @Test
+    void removeAndContains() {
+        PostingList list = list(10, 20, 30);
+
+        assertThat(list.remove(20)).isTrue();
+        assertThat(list.remove(20)).isFalse();
+        assertThat(list.contains(20)).isFalse();
+        assertThat(list.contains(30)).isTrue();
+        assertThat(ids(list)).containsExactly(10L, 30L);
+    }
+
+    @Test
+    void lastIndexBeforeFindsCursorPosition() {
+        PostingList list = list(10, 20, 30);
+
+        assertThat(list.lastIndexBefore(Long.MAX_VALUE)).isEqualTo(2);
+        assertThat(list.lastIndexBefore(30)).isEqualTo(1); // beforeId 자신은 제외
+        assertThat(list.lastIndexBefore(25)).isEqualTo(1);
+        assertThat(list.lastIndexBefore(11)).isEqualTo(0);
+        assertThat(list.lastIndexBefore(10)).isEqualTo(-1);
+        assertThat(new PostingList().lastIndexBefore(5)).isEqualTo(-1);
+    }
+
+    private static PostingList list(long... ids) {
+        PostingList list = new PostingList();
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    private static List<Long> ids(PostingList list) {
+        return IntStream.range(0, list.size()).mapToObj(list::get).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.realtimechatservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🗂️ RoomSearchIndex - 토큰 교집합 + beforeId 커서, 제거, 순번 진행, 한글 검색어와 한영 혼합 본문
+ */
+class RoomSearchIndexTest {
+
+    private static final long ROOM = 1L;
+
+    @Test
+    void intersectsPostingsNewestFirstBeforeCursor() {
+        RoomSearchIndex index = new RoomSearchIndex(ROOM);
+        index.add(1, 1L, Set.of("a", "b"));
+        index.add(2, 2L, Set.of("a"));
+        index.add(3, 3L, Set.of("a", "b", "c"));
+        index.add(4, 4L, Set.of("b"));
+        index.add(5, 5L, Set.of("b", "a"));
+
+        assertThat(index.candidates(Set.of("a", "b"), Long.MAX_VALUE, 10)).containsExactly(5L, 3L, 1L);
+        assertThat(index.candidates(Set.of("a", "b"), 5, 10)).containsExactly(3L, 1L);
+        assertThat(index.candidates(Set.of("a", "b"), 4, 1)).containsExactly(3L);
+        assertThat(index.candidates(Set.of("a", "b"), 1, 10)).isEmpty();
+        assertThat(index.candidates(Set.of("a", "missing"), Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    void removedMessageIsNoLongerCandidateAndFreesEmptyTerms() throws IOException {
+        RoomSearchIndex index = new RoomSearchIndex(ROOM);
+        index.add(1, 1L, Set.of("hello", "world"));
+        index.add(2, 2L, Set.of("hello"));
+        long before = index.bytes();
+
+        index.remove(1, Set.of("hello", "world"));
+
+        assertThat(index.candidates(Set.of("hello"), Long.MAX_VALUE, 10)).containsExactly(2L);
+        assertThat(index.candidates(Set.of("world"), Long.MAX_VALUE, 10)).isEmpty();
+        assertThat(index.bytes()).isLessThan(before);
+        Map<String, PostingList> exported = export(index);
+        assertThat(exported).containsOnlyKeys("hello");
+
+        index.remove(2, Set.of("hello"));
+        assertThat(index.bytes()).isZero();
+    }
+
+    @Test
+    void indexedSeqAdvancesOnlyOverGapFreePrefix() {
+        RoomSearchIndex index = new RoomSearchIndex(ROOM);
+        index.add(1, 1L, Set.of("x"));
+        index.add(3, 3L, Set.of("x")); // 2번보다 먼저 도착
+        assertThat(index.indexedSeq()).isEqualTo(1);
+
+        index.add(2, 2L, Set.of("x"));
+        assertThat(index.indexedSeq()).isEqualTo(3);
+
+        index.add(6, 6L, Set.of("x"));
+        index.markIndexedThrough(5); // 4, 5번은 삭제된 빈 순번
+        assertThat(index.indexedSeq()).isEqualTo(6);
+    }
+
+    @Test
+    void koreanQueryFindsMixedKoreanEnglishMessages() {
+        RoomSearchIndex index = new RoomSearchIndex(ROOM);
+        List<String> contents = List.of(
+                "내일 Zoom 회의실 링크 보낼게요",  // 1: 일치
+                "meeting은 3층 회의실에서!",        // 2: 일치 (영문 바로 뒤 조사, 숫자와 붙은 한글)
+                "회의 의실",                        // 3: 2-gram은 모두 있지만 연속이 아님
+                "OK 알겠습니다",                    // 4
+                "회의실예약 done");                 // 5: 일치 (한글 덩어리 안 부분 일치)
+        for (int i = 0; i < contents.size(); i++) {
+            index.add(i + 1, (long) i + 1, ChatTokenizer.tokens(contents.get(i)));
+        }
+        SearchQuery query = SearchQuery.parse("회의실").orElseThrow();
+
+        long[] candidates = index.candidates(query.tokens(), Long.MAX_VALUE, 10);
+        assertThat(candidates).containsExactly(5L, 3L, 2L, 1L);
+
+        List<Long> hits = new ArrayList<>();
+        for (long id : candidates) {
+            if (query.matches(contents.get((int) id - 1))) {
+                hits.add(id);
+            }
+        }
+        assertThat(hits).containsExactly(5L, 2L, 1L);
+
+        SearchQuery mixed = SearchQuery.parse("zoom 회의").orElseThrow();
+        assertThat(index.candidates(mixed.tokens(), Long.MAX_VALUE, 10)).containsExactly(1L);
+        assertThat(mixed.matches(contents.get(0))).isTrue();
+    }
+
+    private static Map<String, PostingList> export(RoomSearchIndex index) throws IOException {
+        AtomicReference<Map<String, PostingList>> exported = new AtomicReference<>();
+        index.export((roomId, indexedSeq, postings) -> exported.set(Map.copyOf(postings)));
+        return exported.get();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.entity.ChatMessage;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * 🔢 ChatMessageWriter - 방별 순번 발급이 동시 저장/롤백에서도 1, 2, 3 ... 빈틈 없이 이어지는지 확인
+ * - 인메모리 H2(MySQL 호환 모드)에서 실제 트랜잭션과 행 잠금으로 실행 (테스트 트랜잭션 없이 매 저장이 커밋됨)
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(ChatMessageWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChatMessageWriterTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ChatMessageWriter chatMessageWriter;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @MockitoBean
+    private ChatRoomSummaryService chatRoomSummaryService;
+
+    @Test
+    void concurrentSavesAllocateGapFreeSequences() throws Exception {
+        long roomA = 100L;
+        long roomB = 101L;
+        // 카운터를 미리 만들지 않음 → 두 방의 첫 저장부터 여러 스레드가 겹침
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int r = 0; r < ROUNDS; r++) {
+                        if ((thread + r) % 2 == 0) {
+                            chatMessageWriter.save(message(roomA, thread + "-" + r));
+                        } else {
+                            // 두 방에 걸친 배치 (방 ID 순서로 카운터를 잠금)
+                            chatMessageWriter.saveAll(List.of(
+                                    message(roomB, thread + "-" + r + "-b"),
+                                    message(roomA, thread + "-" + r + "-a1"),
+                                    message(roomA, thread + "-" + r + "-a2")));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int singles = THREADS * ROUNDS / 2;
+        int batches = THREADS * ROUNDS - singles;
+        assertThat(seqs(roomA)).containsExactlyElementsOf(range(singles + 2L * batches));
+        assertThat(seqs(roomB)).containsExactlyElementsOf(range(batches));
+    }
+
+    @Test
+    void concurrentFirstWritesOfNewRoomDoNotFail() throws Exception {
+        long room = 500L;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ChatMessage>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return chatMessageWriter.save(message(room, "first-" + thread));
+                }));
+            }
+            start.countDown();
+            for (Future<ChatMessage> future : futures) {
+                future.get(); // 키 중복 등으로 실패하면 ExecutionException
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(seqs(room)).containsExactlyElementsOf(range(THREADS));
+    }
+
+    @Test
+    void batchAssignsConsecutiveSequencesInListOrder() {
+        long room = 200L;
+        chatMessageWriter.save(message(room, "first"));
+
+        List<ChatMessage> saved = chatMessageWriter.saveAll(List.of(
+                message(room, "a"), message(room, "b"), message(room, "c")));
+
+        assertThat(saved).extracting(ChatMessage::getContent).containsExactly("a", "b", "c");
+        assertThat(saved).extracting(ChatMessage::getSeq).containsExactly(2L, 3L, 4L);
+        assertThat(saved).allSatisfy(m -> assertThat(m.getId()).isNotNull());
+    }
+
+    @Test
+    void rolledBackSaveReleasesItsSequence() {
+        long room = 300L;
+        chatMessageWriter.save(message(room, "first"));
+        doThrow(new IllegalStateException("요약 갱신 실패"))
+                .doNothing()
+                .when(chatRoomSummaryService).recordMessages(any());
+
+        assertThatThrownBy(() -> chatMessageWriter.save(message(room, "rolled back")))
+                .isInstanceOf(IllegalStateException.class);
+        ChatMessage next = chatMessageWriter.save(message(room, "next"));
+
+        assertThat(next.getSeq()).isEqualTo(2L);
+        assertThat(seqs(room)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void counterStartsAfterExistingMaxSequence() {
+        long room = 400L;
+        // 순번 카운터가 생기기 전에 저장된 메시지 (카운터 테이블에는 행이 없음)
+        ChatMessage legacy = message(room, "legacy");
+        legacy.setSeq(5L);
+        chatMessageRepository.saveAndFlush(legacy);
+
+        ChatMessage saved = chatMessageWriter.save(message(room, "after counter"));
+
+        assertThat(saved.getSeq()).isEqualTo(6L);
+    }
+
+    private List<Long> seqs(long roomId) {
+        return chatMessageRepository.findSince(roomId, 0L, Limit.of(100_000)).stream()
+                .map(ChatMessageView::getSeq)
+                .toList();
+    }
+
+    private static List<Long> range(long lastInclusive) {
+        return LongStream.rangeClosed(1, lastInclusive).boxed().toList();
+    }
+
+    private static ChatMessage message(long roomId, String content) {
+        return ChatMessage.builder()
+                .roomId(roomId)
+                .userEmail("writer@test.com")
+                .userName("writer")
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.archive.MessageArchive;
+import com.example.realtimechatservice.dto.ChatMessagePageDTO;
+import com.example.realtimechatservice.dto.ChatMessageView;
+import com.example.realtimechatservice.repository.ChatMessageRepository;
+import com.example.realtimechatservice.repository.ChatRoomRepository;
+import com.example.realtimechatservice.repository.ChatRoomSequenceRepository;
+import com.example.realtimechatservice.search.ChatSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🔎 ChatSearchService - 후보 상한(max-candidates)에 걸린 페이지가 빠짐/중복 없이 이어지는지 확인
+ */
+class ChatSearchServiceTest {
+
+    private static final long ROOM = 1L;
+    private static final int MAX_CANDIDATES = 10;
+    private static final int MESSAGES = 30;
+
+    @TempDir
+    Path dir;
+
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final Map<Long, ChatMessageView> stored = new HashMap<>();
+    private ChatSearchService chatSearchService;
+
+    @BeforeEach
+    void setUp() {
+        ChatSearchIndex index = new ChatSearchIndex(chatMessageRepository, mock(ChatRoomRepository.class),
+                mock(ChatRoomSequenceRepository.class), mock(MessageArchive.class), true, dir, 100,
+                DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        // 3의 배수 ID만 "회의실"을 포함, 나머지는 2-gram만 같은 후보 (최종 대조에서 걸러짐)
+        for (long id = 1; id <= MESSAGES; id++) {
+            String content = id % 3 == 0 ? "회의실 예약 #" + id : "회의 의실 " + id;
+            ChatMessageView message = new ChatMessageView(id, ROOM, "u@x.com", "u", content,
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(id), id);
+            stored.put(id, message);
+            index.index(message);
+        }
+        when(chatMessageRepository.findByIds(eq(ROOM), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(1);
+            return ids.stream().map(stored::get).toList();
+        });
+        chatSearchService = new ChatSearchService(index, chatMessageRepository, mock(MessageArchive.class),
+                MAX_CANDIDATES, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void pageCutByCandidateLimitContinuesFromLastScannedId() {
+        ChatMessagePageDTO first = search(null, 5);
+
+        // 후보 30~21번 중 일치 4건 < limit → 살펴본 마지막 후보(21)부터 이어서
+        assertThat(ids(first)).containsExactly(30L, 27L, 24L, 21L);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo(21L);
+
+        List<Long> all = new ArrayList<>(ids(first));
+        ChatMessagePageDTO page = first;
+        while (page.isHasMore()) {
+            page = search(page.getNextCursor(), 5);
+            all.addAll(ids(page));
+        }
+        assertThat(all).containsExactly(30L, 27L, 24L, 21L, 18L, 15L, 12L, 9L, 6L, 3L); // 빠짐 / 중복 없음
+    }
+
+    @Test
+    void fullPageUsesLastHitAsCursorEvenWithinCandidateLimit() {
+        ChatMessagePageDTO first = search(null, 2);
+        ChatMessagePageDTO second = search(first.getNextCursor(), 2);
+
+        assertThat(ids(first)).containsExactly(30L, 27L);
+        assertThat(first.getNextCursor()).isEqualTo(27L);
+        assertThat(ids(second)).containsExactly(24L, 21L);
+        assertThat(second.getNextCursor()).isEqualTo(21L);
+    }
+
+    private ChatMessagePageDTO search(Long before, int limit) {
+        return chatSearchService.search(ROOM, "회의실", before, limit).orElseThrow();
+    }
+
+    private static List<Long> ids(ChatMessagePageDTO page) {
+        return page.getMessages().stream().map(ChatMessageView::getId).toList();
+    }
+}
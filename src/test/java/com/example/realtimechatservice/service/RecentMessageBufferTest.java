@@ -0,0 +1,195 @@
+package com.example.realtimechatservice.service;
+
+import com.example.realtimechatservice.dto.ChatMessageView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 🧺 RecentMessageBuffer - 순번 빈틈 감지, DB 결과와 합치기(prime), 메모리 상한 제거 순서, 보관 대상 방 제한
+ */
+class RecentMessageBufferTest {
+
+    private static final long ROOM = 1L;
+    private static final int CAPACITY = 5;
+    // 본문 "", 이메일 "e", 닉네임 "n" → 메시지 한 건 추정 96 + 2 * 2 = 100 bytes
+    private static final long MESSAGE_BYTES = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void latestReturnsNewestFirstWhenSequencesAreConsecutive() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 1, 2, 3, 4, 5);
+
+        assertThat(ids(buffer.latest(ROOM, 3))).containsExactly(5L, 4L, 3L);
+        assertThat(buffer.latest(ROOM, 10)).isNull(); // 방 전체를 담고 있는지 모름
+        assertThat(buffer.latest(2L, 1)).isNull();
+        assertThat(readCount("hit")).isEqualTo(1);
+        assertThat(readCount("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void latestMissesWhenSequenceGapIsInRange() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 1, 2, 4, 5); // 3번은 다른 노드가 저장해 이 노드에 오지 않음
+
+        assertThat(ids(buffer.latest(ROOM, 2))).containsExactly(5L, 4L);
+        assertThat(buffer.latest(ROOM, 3)).isNull();
+    }
+
+    @Test
+    void sinceReturnsOnlyGapFreeRunAfterSeq() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 1, 2, 4, 5);
+
+        assertThat(ids(buffer.since(ROOM, 3, 10))).containsExactly(4L, 5L);
+        assertThat(ids(buffer.since(ROOM, 0, 2))).containsExactly(1L, 2L);
+        assertThat(buffer.since(ROOM, 1, 10)).isNull(); // 2 다음 3이 빠짐
+        assertThat(ids(buffer.since(ROOM, 5, 10))).isEmpty();
+    }
+
+    @Test
+    void sinceMissesWhenOldestBufferedIsPastRequestedSeq() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 5, 6, 7);
+
+        assertThat(buffer.since(ROOM, 2, 10)).isNull();
+        assertThat(ids(buffer.since(ROOM, 4, 10))).containsExactly(5L, 6L, 7L);
+    }
+
+    @Test
+    void appendIgnoresMessagesNotNewerThanBuffered() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 1, 2, 3);
+
+        buffer.append(message(ROOM, 2)); // 팬아웃으로 다시 받은 메시지
+
+        assertThat(ids(buffer.since(ROOM, 0, 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void primeMergesDatabaseRowsWithNewerAppends() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 4); // DB 조회 중 소비자가 먼저 추가
+
+        buffer.prime(ROOM, List.of(message(ROOM, 3), message(ROOM, 2), message(ROOM, 1)));
+
+        // 1~3(DB) + 4(추가분), capacity보다 적게 읽혔으므로 방 전체 → 요청 수보다 적어도 적중
+        assertThat(ids(buffer.latest(ROOM, CAPACITY))).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(ids(buffer.since(ROOM, 0, 10))).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void primeWithFullPageKeepsNewestCapacityAndIsNotComplete() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 11);
+
+        buffer.prime(ROOM, List.of(message(ROOM, 10), message(ROOM, 9), message(ROOM, 8),
+                message(ROOM, 7), message(ROOM, 6)));
+
+        assertThat(ids(buffer.latest(ROOM, CAPACITY))).containsExactly(11L, 10L, 9L, 8L, 7L);
+        assertThat(buffer.since(ROOM, 0, 10)).isNull(); // 가장 오래된 6번이 밀려남, 그 앞은 모름
+    }
+
+    @Test
+    void primeWithEmptyRoomAnswersEmpty() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+
+        buffer.prime(ROOM, List.of());
+
+        assertThat(buffer.latest(ROOM, CAPACITY)).isEmpty();
+        assertThat(buffer.since(ROOM, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void memoryCapEvictsLeastRecentlyUsedRoomFirst() throws InterruptedException {
+        RecentMessageBuffer buffer = buffer(DataSize.ofBytes(2 * MESSAGE_BYTES + MESSAGE_BYTES / 2));
+        buffer.append(message(1L, 1));
+        Thread.sleep(5);
+        buffer.append(message(2L, 1));
+        Thread.sleep(5);
+        buffer.latest(1L, 1); // 1번 방을 다시 사용 → 2번 방이 가장 오래됨
+        Thread.sleep(5);
+
+        buffer.append(message(3L, 1));
+
+        assertThat(buffer.latest(2L, 1)).isNull();
+        assertThat(ids(buffer.latest(1L, 1))).containsExactly(1L);
+        assertThat(ids(buffer.latest(3L, 1))).containsExactly(1L);
+        assertThat(gauge("chat.recent-buffer.rooms")).isEqualTo(2);
+        assertThat(gauge("chat.recent-buffer.bytes")).isEqualTo(2 * MESSAGE_BYTES);
+    }
+
+    @Test
+    void evictedRoomReleasesItsBytes() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        appendSeqs(buffer, ROOM, 1, 2, 3);
+        appendSeqs(buffer, 2L, 1);
+
+        buffer.evict(ROOM);
+
+        assertThat(buffer.latest(ROOM, 1)).isNull();
+        assertThat(gauge("chat.recent-buffer.bytes")).isEqualTo(MESSAGE_BYTES);
+    }
+
+    @Test
+    void trackOnlyIgnoresOtherRooms() {
+        RecentMessageBuffer buffer = buffer(DataSize.ofMegabytes(1));
+        buffer.trackOnly(roomId -> roomId == ROOM);
+
+        appendSeqs(buffer, ROOM, 1, 2);
+        appendSeqs(buffer, 2L, 1, 2);
+        buffer.prime(3L, List.of());
+
+        assertThat(ids(buffer.latest(ROOM, 2))).containsExactly(2L, 1L);
+        assertThat(buffer.latest(2L, 1)).isNull();
+        assertThat(buffer.since(3L, 0, 10)).isNull();
+        assertThat(gauge("chat.recent-buffer.rooms")).isEqualTo(1);
+    }
+
+    @Test
+    void idleRoomsAreSwept() throws InterruptedException {
+        RecentMessageBuffer buffer = new RecentMessageBuffer(CAPACITY, Duration.ofMillis(1), DataSize.ofMegabytes(1), meterRegistry);
+        appendSeqs(buffer, ROOM, 1);
+        Thread.sleep(5);
+
+        buffer.evictIdleRooms();
+
+        assertThat(gauge("chat.recent-buffer.rooms")).isZero();
+        assertThat(gauge("chat.recent-buffer.bytes")).isZero();
+    }
+
+    private RecentMessageBuffer buffer(DataSize maxMemory) {
+        return new RecentMessageBuffer(CAPACITY, Duration.ofMinutes(10), maxMemory, meterRegistry);
+    }
+
+    /** id = seq */
+    private static void appendSeqs(RecentMessageBuffer buffer, long roomId, long... seqs) {
+        for (long seq : seqs) {
+            buffer.append(message(roomId, seq));
+        }
+    }
+
+    private static ChatMessageView message(long roomId, long seq) {
+        return new ChatMessageView(seq, roomId, "e", "n", "", LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(seq), seq);
+    }
+
+    private double readCount(String result) {
+        return meterRegistry.get("chat.recent-buffer.reads").tag("result", result).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static List<Long> ids(List<ChatMessageView> messages) {
+        return messages.stream().map(ChatMessageView::getId).toList();
+    }
+}